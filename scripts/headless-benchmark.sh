@@ -0,0 +1,38 @@
+#!/usr/bin/env bash
+# Fast-start benchmark JVMs: AOT-processed jar + AppCDS archive + headless profile.
+#
+#   scripts/headless-benchmark.sh build        package with -Paot, extract, train the CDS archive
+#   scripts/headless-benchmark.sh run [args]   launch one benchmark JVM (repeat as often as needed)
+#
+# The AOT jar only runs with the profiles it was built for (AOT_PROFILES, default benchmark,headless).
+# Rebuild after any code, dependency or profile change; a stale archive is ignored by the JVM.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+PROFILES=${AOT_PROFILES:-benchmark,headless}
+KEEP_ALIVE_SECONDS=${KEEP_ALIVE_SECONDS:-300}
+OUT=target/headless
+JAR=ai-paper-benchmark-0.0.1-SNAPSHOT.jar
+
+case "${1:-}" in
+  build)
+    ./mvnw -B -q -Paot -Daot.profiles="$PROFILES" -DskipTests package
+    rm -rf "$OUT"
+    java -Djarmode=tools -jar "target/$JAR" extract --destination "$OUT"
+    # Training run: refresh the context once, dump every loaded class on exit
+    (cd "$OUT" && java -XX:ArchiveClassesAtExit=app.jsa -Xlog:cds=off \
+        -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+        -jar "$JAR" --spring.profiles.active="$PROFILES")
+    ;;
+  run)
+    shift
+    [[ -f "$OUT/app.jsa" ]] || { echo "Run '$0 build' first" >&2; exit 1; }
+    exec java -XX:SharedArchiveFile="$OUT/app.jsa" -Xlog:cds=off \
+        -Dspring.aot.enabled=true -Djdk.httpclient.keepalive.timeout="$KEEP_ALIVE_SECONDS" \
+        -jar "$OUT/$JAR" --spring.profiles.active="$PROFILES" "$@"
+    ;;
+  *)
+    echo "usage: $0 build | run [application args...]" >&2
+    exit 2
+    ;;
+esac
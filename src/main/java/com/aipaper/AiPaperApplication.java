@@ -2,11 +2,19 @@ package com.aipaper;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class AiPaperApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(AiPaperApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(AiPaperApplication.class, args);
+        // Headless runs are over once the runners return; the scheduler threads would keep the JVM alive.
+        if (!(context instanceof WebServerApplicationContext)) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 }
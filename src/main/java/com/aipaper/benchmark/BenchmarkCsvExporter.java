@@ -6,69 +6,277 @@ import org.slf4j.LoggerFactory;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.Closeable;
+import java.io.FileOutputStream;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 
+/**
+ * Appends benchmark rows to the results CSV according to a {@link ResultWriterPolicy}. In async mode
+ * the measuring thread only enqueues the row; a background writer formats it, group-commits and
+ * fsyncs, so disk I/O stays out of the measured calls. A full queue makes producers wait for the
+ * writer instead of dropping rows. {@link #checkpoint()} and {@link #close()} wait until every row
+ * handed in so far is written, and a shutdown hook closes the file if the JVM exits first.
+ */
 public final class BenchmarkCsvExporter implements Closeable {
 
     private static final Logger log = LoggerFactory.getLogger(BenchmarkCsvExporter.class);
 
     static final String HEADER =
-            "Model,Scenario,Accuracy,Latency_ms,TTFT_ms,Prompt_Tokens,Completion_Tokens,Error_Type";
+            "Model,Scenario,Accuracy,Latency_ms,TTFT_ms,Prompt_Tokens,Completion_Tokens,Error_Type,"
+                    + "Tokens_Estimated,Prefill_tok_s,Decode_tok_s";
 
+    private static final long WAIT_NANOS = 100_000;
+    private static final long MIN_IDLE_NANOS = 1_000_000;
+
+    private final String filePath;
+    private final FileOutputStream out;
     private final BufferedWriter writer;
-    private int rowsWritten;
+    private final ResultWriterPolicy policy;
+    private final AtomicInteger rowsWritten;
+
+    private final MpscRing<BenchmarkResult> queue;
+    private final Thread writerThread;
+    private final Thread shutdownHook;
+    private final AtomicLong checkpointsRequested = new AtomicLong();
+    private final LongAdder stalls = new LongAdder();
+    private volatile long checkpointsDone;
+    private volatile boolean closing;
+    private volatile boolean writerParked;
+    private volatile IOException failure;
+    private boolean closed;
 
-    private BenchmarkCsvExporter(BufferedWriter writer, int existingRows) {
-        this.writer = writer;
-        this.rowsWritten = existingRows;
+    // Owned by the writer thread (by the caller in sync mode); read by close() after the join
+    private int pendingRows;
+    private long oldestPendingNanos;
+    private long groupCommits;
+    private long fsyncs;
+    private int maxQueueDepth;
+
+    private BenchmarkCsvExporter(String filePath, FileOutputStream out, ResultWriterPolicy policy, int existingRows) {
+        this.filePath = filePath;
+        this.out = out;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.policy = policy;
+        this.rowsWritten = new AtomicInteger(existingRows);
+        if (policy.async()) {
+            this.queue = new MpscRing<>(policy.queueCapacity());
+            this.writerThread = new Thread(this::runWriter, "benchmark-csv-writer");
+            this.writerThread.setDaemon(true);
+            this.shutdownHook = new Thread(this::closeQuietly, "benchmark-csv-shutdown");
+        } else {
+            this.queue = null;
+            this.writerThread = null;
+            this.shutdownHook = null;
+        }
+    }
+
+    /** Opens the file with the original synchronous, flush-per-row behaviour. */
+    public static BenchmarkCsvExporter open(String filePath) throws IOException {
+        return open(filePath, ResultWriterPolicy.SYNC);
     }
 
     /**
      * Opens the CSV file for incremental writing.
-     * If the file already exists and contains data, new rows are appended.
+     * If the file already exists and contains data, new rows are appended; a file written before
+     * the trailing columns existed is upgraded first.
      * If the file is missing or empty, a fresh header is written.
      */
-    public static BenchmarkCsvExporter open(String filePath) throws IOException {
+    public static BenchmarkCsvExporter open(String filePath, ResultWriterPolicy policy) throws IOException {
         Path path = Path.of(filePath);
         boolean exists = Files.exists(path) && Files.size(path) > 0;
 
+        BenchmarkCsvExporter csv;
         if (exists) {
+            upgradeHeader(path);
             int existingRows = countDataRows(path);
             log.info("Resuming: found {} existing rows in {}", existingRows, filePath);
-            BufferedWriter w = new BufferedWriter(new FileWriter(filePath, true));
-            return new BenchmarkCsvExporter(w, existingRows);
+            csv = new BenchmarkCsvExporter(filePath, new FileOutputStream(filePath, true), policy, existingRows);
+        } else {
+            csv = new BenchmarkCsvExporter(filePath, new FileOutputStream(filePath, false), policy, 0);
+            csv.writer.write(HEADER);
+            csv.writer.newLine();
+            csv.writer.flush();
+            log.info("Created new benchmark file: {}", filePath);
         }
-
-        BufferedWriter w = new BufferedWriter(new FileWriter(filePath, false));
-        w.write(HEADER);
-        w.newLine();
-        w.flush();
-        log.info("Created new benchmark file: {}", filePath);
-        return new BenchmarkCsvExporter(w, 0);
+        if (policy.async()) {
+            csv.writerThread.start();
+            Runtime.getRuntime().addShutdownHook(csv.shutdownHook);
+            log.info("Async result writer: queue {}, group commit every {} rows or {} ms, fsync {}",
+                    csv.queue.capacity(), policy.flushRows(), policy.flushIntervalMs(), policy.fsync());
+        }
+        return csv;
     }
 
+    /** Hands a row to the writer; in async mode this only blocks while the queue is full. */
     public void writeResult(BenchmarkResult r) throws IOException {
-        writer.write(formatRow(r));
-        writer.newLine();
-        writer.flush();
-        rowsWritten++;
+        if (queue == null) {
+            append(r);
+            if (pendingRows >= policy.flushRows()) commit(policy.fsync() == ResultWriterPolicy.Fsync.FLUSH);
+            rowsWritten.incrementAndGet();
+            return;
+        }
+        checkWriter();
+        while (!queue.offer(r)) {
+            stalls.increment();
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(WAIT_NANOS);
+            checkWriter();
+        }
+        rowsWritten.incrementAndGet();
+        if (writerParked && queue.size() >= policy.flushRows()) LockSupport.unpark(writerThread);
+    }
+
+    /**
+     * Blocks until every row handed in so far is written and flushed, and fsynced unless the policy
+     * is {@code NEVER}. Called between model runs, outside any measurement.
+     */
+    public void checkpoint() throws IOException {
+        if (queue == null) {
+            commit(policy.fsync() != ResultWriterPolicy.Fsync.NEVER);
+            return;
+        }
+        long ticket = checkpointsRequested.incrementAndGet();
+        LockSupport.unpark(writerThread);
+        while (checkpointsDone < ticket) {
+            checkWriter();
+            LockSupport.parkNanos(WAIT_NANOS);
+        }
     }
 
     public int getRowsWritten() {
-        return rowsWritten;
+        return rowsWritten.get();
     }
 
     @Override
-    public void close() throws IOException {
-        writer.close();
-        log.info("CSV closed — total rows written this session + prior: {}", rowsWritten);
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            if (queue != null) {
+                removeShutdownHook();
+                closing = true;
+                LockSupport.unpark(writerThread);
+                writerThread.join();
+            } else {
+                commit(policy.fsync() != ResultWriterPolicy.Fsync.NEVER);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while draining " + filePath);
+        } finally {
+            writer.close();
+        }
+        if (queue != null) {
+            log.info("Result writer: {} group commits, {} fsyncs, max queue depth {}/{}, {} producer stalls",
+                    groupCommits, fsyncs, maxQueueDepth, queue.capacity(), stalls.sum());
+        }
+        log.info("CSV closed — total rows written this session + prior: {}", rowsWritten.get());
+        if (failure != null) throw new IOException("Result writer failed for " + filePath, failure);
+    }
+
+    // ---------------------------------------------------------------
+    //  Writer
+    // ---------------------------------------------------------------
+
+    private void runWriter() {
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(policy.flushIntervalMs());
+        try {
+            while (true) {
+                // Read before draining: rows enqueued before close() or checkpoint() are then drained too
+                boolean closingNow = closing;
+                long ticket = checkpointsRequested.get();
+                int drained = drain();
+                long now = System.nanoTime();
+                if (closingNow || ticket > checkpointsDone) {
+                    commit(policy.fsync() != ResultWriterPolicy.Fsync.NEVER);
+                    checkpointsDone = ticket;
+                    if (closingNow) return;
+                } else if (pendingRows >= policy.flushRows()
+                        || (pendingRows > 0 && now - oldestPendingNanos >= intervalNanos)) {
+                    commit(policy.fsync() == ResultWriterPolicy.Fsync.FLUSH);
+                }
+                if (drained == 0) {
+                    long timeout = pendingRows > 0 ? intervalNanos - (now - oldestPendingNanos) : intervalNanos;
+                    park(Math.max(timeout, MIN_IDLE_NANOS));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            failure = e instanceof IOException io ? io : new IOException(e);
+            log.error("Result writer for {} stopped: {}", filePath, e.getMessage());
+        }
+    }
+
+    private void park(long nanos) {
+        writerParked = true;
+        if (!closing && checkpointsRequested.get() == checkpointsDone && queue.size() < policy.flushRows()) {
+            LockSupport.parkNanos(this, nanos);
+        }
+        writerParked = false;
+    }
+
+    private int drain() throws IOException {
+        maxQueueDepth = Math.max(maxQueueDepth, queue.size());
+        int drained = 0;
+        for (BenchmarkResult r; (r = queue.poll()) != null; drained++) {
+            append(r);
+        }
+        return drained;
+    }
+
+    private void append(BenchmarkResult r) throws IOException {
+        if (pendingRows == 0) oldestPendingNanos = System.nanoTime();
+        writer.write(formatRow(r));
+        writer.newLine();
+        pendingRows++;
+    }
+
+    private void commit(boolean fsync) throws IOException {
+        if (pendingRows > 0) {
+            writer.flush();
+            groupCommits++;
+            pendingRows = 0;
+        }
+        if (fsync) {
+            out.getChannel().force(false);
+            fsyncs++;
+        }
+    }
+
+    private void checkWriter() throws IOException {
+        if (failure != null) throw new IOException("Result writer failed for " + filePath, failure);
+        if (closing) throw new IOException("Result writer for " + filePath + " is closed");
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException e) {
+            log.warn("Closing {} on shutdown failed: {}", filePath, e.getMessage());
+        }
+    }
+
+    private void removeShutdownHook() {
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // Already shutting down; this may be the hook itself
+        }
     }
 
     /**
@@ -98,6 +306,30 @@ public final class BenchmarkCsvExporter implements Closeable {
         return counts;
     }
 
+    /**
+     * Rewrites a file whose header is a prefix of {@link #HEADER}, leaving the new columns of its
+     * rows empty (not known for them). Any other header is left alone.
+     */
+    private static void upgradeHeader(Path path) throws IOException {
+        List<String> lines = Files.readAllLines(path);
+        String header = lines.get(0).trim();
+        if (header.equals(HEADER)) return;
+        if (!HEADER.startsWith(header + ",")) {
+            log.warn("{} has an unexpected header; appending rows as {}", path, HEADER);
+            return;
+        }
+        String padding = ",".repeat(HEADER.split(",").length - header.split(",").length);
+        List<String> upgraded = new ArrayList<>(lines.size());
+        upgraded.add(HEADER);
+        for (String line : lines.subList(1, lines.size())) {
+            upgraded.add(line.isBlank() ? line : line + padding);
+        }
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(tmp, upgraded);
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Upgraded {} to the current columns", path);
+    }
+
     private static int countDataRows(Path path) throws IOException {
         int count = 0;
         try (BufferedReader reader = new BufferedReader(new FileReader(path.toFile()))) {
@@ -109,7 +341,7 @@ public final class BenchmarkCsvExporter implements Closeable {
 
     static String formatRow(BenchmarkResult r) {
         return String.format(Locale.US,
-                "%s,%s,%s,%.3f,%.3f,%d,%d,%s",
+                "%s,%s,%s,%.3f,%.3f,%d,%d,%s,%s,%.1f,%.1f",
                 r.model(),
                 r.scenario(),
                 r.accuracy(),
@@ -117,6 +349,9 @@ public final class BenchmarkCsvExporter implements Closeable {
                 r.ttftMs(),
                 r.promptTokens(),
                 r.completionTokens(),
-                r.errorType() != null ? r.errorType() : "");
+                r.errorType() != null ? r.errorType() : "",
+                r.tokensEstimated(),
+                r.prefillTokensPerSecond(),
+                r.decodeTokensPerSecond());
     }
 }
@@ -1,5 +1,9 @@
 package com.aipaper.benchmark;
 
+/**
+ * One measured call. Token counts are the provider's unless {@code tokensEstimated}, in which case
+ * missing figures were filled in locally; Traditional rows use no tokens and report 0.
+ */
 public record BenchmarkResult(
         String model,
         String scenario,
@@ -8,5 +12,22 @@ public record BenchmarkResult(
         double ttftMs,
         long promptTokens,
         long completionTokens,
+        boolean tokensEstimated,
         String errorType
-) {}
+) {
+
+    public long totalTokens() {
+        return promptTokens + completionTokens;
+    }
+
+    /** Prompt tokens per second of time to first token, or -1 without a TTFT. */
+    public double prefillTokensPerSecond() {
+        return ttftMs > 0 && promptTokens > 0 ? promptTokens * 1000.0 / ttftMs : -1;
+    }
+
+    /** Completion tokens per second after the first token, or -1 without a TTFT. */
+    public double decodeTokensPerSecond() {
+        double decodeMs = latencyMs - ttftMs;
+        return ttftMs >= 0 && decodeMs > 0 && completionTokens > 0 ? completionTokens * 1000.0 / decodeMs : -1;
+    }
+}
@@ -9,38 +9,47 @@ import com.aipaper.dto.NormalizedDataResult;
 import com.aipaper.dto.UserProfileResult;
 import com.aipaper.exception.LlmResponseValidationException;
 import com.aipaper.exception.ParameterMismatchException;
-import com.aipaper.repository.MeetingRepository;
-import com.aipaper.repository.UserProfileRepository;
+import com.aipaper.jfr.LlmCallEvent;
+import com.aipaper.jfr.ResponseParseEvent;
+import com.aipaper.parsing.JsonRepairer;
+import com.aipaper.parsing.OutputMode;
+import com.aipaper.parsing.SchemaOutputOptions;
+import com.aipaper.parsing.StreamSchema;
+import com.aipaper.parsing.StreamSchemas;
+import com.aipaper.parsing.StreamingJsonParser;
+import com.aipaper.prompt.PromptIds;
+import com.aipaper.prompt.PromptRegistry;
+import com.aipaper.prompt.RenderedPrompt;
+import com.aipaper.prompt.TokenEstimator;
+import com.aipaper.repository.backend.DataAccessBackend;
+import com.aipaper.repository.backend.DataAccessBackends;
 import com.aipaper.service.LlmProvider;
 import com.aipaper.service.LlmRoutingService;
+import com.aipaper.service.health.CircuitBreakerRegistry;
+import com.aipaper.service.health.ProviderHealthMonitor;
+import com.aipaper.service.routing.LlmTarget;
 import com.aipaper.service.scenario.traditional.TraditionalCommandExecutionService;
 import com.aipaper.service.scenario.traditional.TraditionalDataNormalizationService;
 import com.aipaper.service.scenario.traditional.TraditionalDataRetrievalService;
-import com.aipaper.tools.MeetingBookingTool;
-import com.aipaper.tools.UserProfileQueryTool;
+import com.aipaper.tools.LlmTools;
 import com.aipaper.validation.LlmResponseValidator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.metadata.Usage;
 import org.springframework.ai.chat.model.ChatResponse;
-import org.springframework.ai.ollama.OllamaChatModel;
-import org.springframework.ai.ollama.api.OllamaApi;
-import org.springframework.ai.ollama.api.OllamaOptions;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -48,6 +57,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 @Profile("benchmark")
@@ -63,10 +73,7 @@ public class BenchmarkRunner implements ApplicationRunner {
     private static final int EARLY_STOP_THRESHOLD = 20;
     private static final long DATA_POOL_SEED = 42;
     private static final int CALL_TIMEOUT_SECONDS = 30;
-
-    private static final String JSON_SYSTEM =
-            "You are a precise data API. Always respond with ONLY a raw JSON object. " +
-            "Never include markdown formatting, code fences, or explanations.";
+    private static final String ERROR_REPAIRED = "Repaired";
 
     @Value("${benchmark.iterations:100}")
     private int defaultIterations;
@@ -77,8 +84,38 @@ public class BenchmarkRunner implements ApplicationRunner {
     @Value("${benchmark.ollama-models:}")
     private String ollamaModelsRaw;
 
-    @Value("${llm.ollama.base-url:http://172.31.112.1:11434}")
-    private String ollamaBaseUrl;
+    @Value("${benchmark.prompt-variants:v1}")
+    private String promptVariantsRaw;
+
+    @Value("${benchmark.output-modes:prompt}")
+    private String outputModesRaw;
+
+    @Value("${benchmark.data-access-backends:jpa}")
+    private String dataAccessBackendsRaw;
+
+    @Value("${benchmark.json-repair:true}")
+    private boolean jsonRepair;
+
+    @Value("${benchmark.stream-parsing:false}")
+    private boolean streamParsing;
+
+    @Value("${benchmark.max-preamble-chars:256}")
+    private int maxPreambleChars;
+
+    @Value("${benchmark.writer.async:true}")
+    private boolean writerAsync;
+
+    @Value("${benchmark.writer.queue-capacity:1024}")
+    private int writerQueueCapacity;
+
+    @Value("${benchmark.writer.flush-rows:64}")
+    private int writerFlushRows;
+
+    @Value("${benchmark.writer.flush-interval-ms:1000}")
+    private long writerFlushIntervalMs;
+
+    @Value("${benchmark.writer.fsync:checkpoint}")
+    private String writerFsync;
 
     @Value("${benchmark.gemini.enabled:false}")
     private boolean geminiEnabled;
@@ -98,42 +135,73 @@ public class BenchmarkRunner implements ApplicationRunner {
     @Value("${benchmark.groq.delay-ms:2200}")
     private long groqDelayMs;
 
+    @Value("${llm.gemini.model}")
+    private String geminiModel;
+
+    @Value("${llm.groq.model}")
+    private String groqModel;
+
     private final TraditionalDataRetrievalService traditionalRetrieval;
     private final TraditionalDataNormalizationService traditionalNormalization;
     private final TraditionalCommandExecutionService traditionalCommand;
     private final LlmRoutingService routingService;
-    private final UserProfileRepository userProfileRepo;
-    private final MeetingRepository meetingRepo;
+    private final LlmTools tools;
     private final LlmResponseValidator validator;
     private final ObjectMapper objectMapper;
+    private final CircuitBreakerRegistry breakers;
+    private final ProviderHealthMonitor healthMonitor;
+    private final PromptRegistry prompts;
+    private final JsonRepairer jsonRepairer;
+    private final DataAccessBackends dataAccessBackends;
 
     public BenchmarkRunner(TraditionalDataRetrievalService traditionalRetrieval,
                            TraditionalDataNormalizationService traditionalNormalization,
                            TraditionalCommandExecutionService traditionalCommand,
                            LlmRoutingService routingService,
-                           UserProfileRepository userProfileRepo,
-                           MeetingRepository meetingRepo,
+                           LlmTools tools,
                            LlmResponseValidator validator,
-                           ObjectMapper objectMapper) {
+                           ObjectMapper objectMapper,
+                           CircuitBreakerRegistry breakers,
+                           ProviderHealthMonitor healthMonitor,
+                           PromptRegistry prompts,
+                           JsonRepairer jsonRepairer,
+                           DataAccessBackends dataAccessBackends) {
         this.traditionalRetrieval = traditionalRetrieval;
         this.traditionalNormalization = traditionalNormalization;
         this.traditionalCommand = traditionalCommand;
         this.routingService = routingService;
-        this.userProfileRepo = userProfileRepo;
-        this.meetingRepo = meetingRepo;
+        this.tools = tools;
         this.validator = validator;
         this.objectMapper = objectMapper;
+        this.breakers = breakers;
+        this.healthMonitor = healthMonitor;
+        this.prompts = prompts;
+        this.jsonRepairer = jsonRepairer;
+        this.dataAccessBackends = dataAccessBackends;
     }
 
     @Override
     public void run(ApplicationArguments args) throws Exception {
         List<String> ollamaModels = parseOllamaModels();
+        List<String> promptVariants = parsePromptVariants();
+        List<OutputMode> outputModes = parseOutputModes();
         TestDataPool dataPool = new TestDataPool(DATA_POOL_SEED);
 
         log.info("========================================");
         log.info("  BENCHMARK STARTING");
         log.info("  Iterations: {}", defaultIterations);
         log.info("  Ollama models: {}", ollamaModels);
+        log.info("  Prompt variants: {}", promptVariants);
+        log.info("  Output modes: {}", outputModes);
+        log.info("  Tool persistence: {}", tools.persistence());
+        log.info("  Data-access backends: {}", dataAccessBackendsRaw);
+        for (String variant : promptVariants) {
+            log.info("    {} fixed tokens (est.): retrieval={} normalization={} command={} system={}", variant,
+                    prompts.get(PromptIds.RETRIEVAL, variant).literalTokens(),
+                    prompts.get(PromptIds.NORMALIZATION, variant).literalTokens(),
+                    prompts.get(PromptIds.COMMAND, variant).literalTokens(),
+                    prompts.get(PromptIds.SYSTEM_JSON, variant).literalTokens());
+        }
         log.info("  Output: {}", outputFile);
         log.info("========================================");
 
@@ -143,12 +211,13 @@ public class BenchmarkRunner implements ApplicationRunner {
             completed.forEach((k, v) -> log.info("    {} -> {}", k, v));
         }
 
-        List<ModelRunConfig> runOrder = buildRunOrder(ollamaModels);
+        List<ModelRunConfig> runOrder = buildRunOrder(ollamaModels, promptVariants, outputModes);
         List<BenchmarkResult> sessionResults = new ArrayList<>();
 
-        try (BenchmarkCsvExporter csv = BenchmarkCsvExporter.open(outputFile)) {
+        try (BenchmarkCsvExporter csv = BenchmarkCsvExporter.open(outputFile, writerPolicy())) {
             for (ModelRunConfig cfg : runOrder) {
                 runModelBenchmark(cfg, csv, completed, sessionResults, dataPool);
+                csv.checkpoint();
             }
         }
 
@@ -164,41 +233,91 @@ public class BenchmarkRunner implements ApplicationRunner {
                 .map(String::trim).filter(s -> !s.isEmpty()).toList();
     }
 
-    private List<ModelRunConfig> buildRunOrder(List<String> ollamaModels) {
-        List<ModelRunConfig> order = new ArrayList<>();
+    /**
+     * Variants must define every benchmarked prompt; each one gets its own run per model so
+     * prompt wordings are compared on the same targets and data.
+     */
+    private List<String> parsePromptVariants() {
+        var supported = prompts.variantsCovering(
+                PromptIds.SYSTEM_JSON, PromptIds.RETRIEVAL, PromptIds.NORMALIZATION, PromptIds.COMMAND);
+        List<String> variants = Arrays.stream(promptVariantsRaw.split(","))
+                .map(String::trim).filter(s -> !s.isEmpty()).distinct().toList();
+        for (String v : variants) {
+            if (!supported.contains(v)) {
+                throw new IllegalArgumentException("Prompt variant " + v + " is not defined for all scenarios; "
+                        + "available: " + supported);
+            }
+        }
+        return variants.isEmpty() ? List.of(PromptIds.V1) : variants;
+    }
 
-        // Traditional first — always works, no external dependencies
-        order.add(new ModelRunConfig(MODEL_TRADITIONAL, null, defaultIterations, 0));
+    private List<DataAccessBackend> parseDataAccessBackends() {
+        List<DataAccessBackend> backends = Arrays.stream(dataAccessBackendsRaw.split(","))
+                .map(String::trim).filter(s -> !s.isEmpty()).distinct().map(dataAccessBackends::get).toList();
+        return backends.isEmpty() ? List.of(dataAccessBackends.defaultBackend()) : backends;
+    }
 
-        for (String model : ollamaModels) {
-            ChatClient client = createOllamaClient(model);
-            order.add(new ModelRunConfig("Ollama/" + model, client, defaultIterations, 0));
-        }
+    private ResultWriterPolicy writerPolicy() {
+        if (!writerAsync) return ResultWriterPolicy.SYNC;
+        return new ResultWriterPolicy(true, writerQueueCapacity, writerFlushRows, writerFlushIntervalMs,
+                ResultWriterPolicy.Fsync.valueOf(writerFsync.trim().toUpperCase(Locale.ROOT)));
+    }
+
+    private List<OutputMode> parseOutputModes() {
+        List<OutputMode> modes = Arrays.stream(outputModesRaw.split(","))
+                .map(String::trim).filter(s -> !s.isEmpty()).map(OutputMode::parse).distinct().toList();
+        return modes.isEmpty() ? List.of(OutputMode.PROMPT) : modes;
+    }
 
-        if (geminiEnabled) {
-            order.add(new ModelRunConfig("Gemini",
-                    routingService.getClient(LlmProvider.GEMINI), geminiIterations, geminiDelayMs));
+    private List<ModelRunConfig> buildRunOrder(List<String> ollamaModels, List<String> promptVariants,
+                                               List<OutputMode> outputModes) {
+        List<ModelRunConfig> order = new ArrayList<>();
+
+        // Traditional first — always works, no external dependencies; one run per data-access backend
+        for (DataAccessBackend backend : parseDataAccessBackends()) {
+            order.add(new ModelRunConfig(MODEL_TRADITIONAL + "/" + backend.name(), null, null, null, null,
+                    defaultIterations, 0, backend));
         }
-        if (groqEnabled) {
-            order.add(new ModelRunConfig("Groq",
-                    routingService.getClient(LlmProvider.GROQ), groqIterations, groqDelayMs));
+
+        for (String variant : promptVariants) {
+            for (OutputMode mode : outputModes) {
+                for (String model : ollamaModels) {
+                    LlmTarget target = new LlmTarget(LlmProvider.OLLAMA, model);
+                    order.add(new ModelRunConfig(runLabel("Ollama/" + model, variant, mode), target,
+                            routingService.getClient(target), variant, mode, defaultIterations, 0, null));
+                }
+
+                if (geminiEnabled) {
+                    order.add(new ModelRunConfig(runLabel("Gemini", variant, mode),
+                            new LlmTarget(LlmProvider.GEMINI, geminiModel),
+                            routingService.getClient(LlmProvider.GEMINI), variant, mode,
+                            geminiIterations, geminiDelayMs, null));
+                }
+                if (groqEnabled) {
+                    order.add(new ModelRunConfig(runLabel("Groq", variant, mode),
+                            new LlmTarget(LlmProvider.GROQ, groqModel),
+                            routingService.getClient(LlmProvider.GROQ), variant, mode,
+                            groqIterations, groqDelayMs, null));
+                }
+            }
         }
 
         return order;
     }
 
-    private ChatClient createOllamaClient(String model) {
-        log.info("Creating Ollama ChatClient for model: {}", model);
-        var api = new OllamaApi.Builder().baseUrl(ollamaBaseUrl).build();
-        var chatModel = OllamaChatModel.builder()
-                .ollamaApi(api)
-                .defaultOptions(OllamaOptions.builder()
-                        .model(model).temperature(0.0).build())
-                .build();
-        return ChatClient.create(chatModel);
+    /**
+     * Baseline runs (v1 prompts, prompt-only JSON, buffered parsing) keep the bare label so earlier CSVs still
+     * resume. Streamed parsing judges and times answers differently, so its runs are labelled {@code ~stream}.
+     */
+    private String runLabel(String label, String variant, OutputMode mode) {
+        String withVariant = PromptIds.V1.equals(variant) ? label : label + "#" + variant;
+        String withMode = mode == OutputMode.PROMPT ? withVariant : withVariant + "+" + mode.label();
+        return streamParsing ? withMode + "~stream" : withMode;
     }
 
-    private record ModelRunConfig(String label, ChatClient client, int iterations, long delayMs) {
+    private record ModelRunConfig(String label, LlmTarget target, ChatClient client, String promptVariant,
+                                  OutputMode outputMode, int iterations, long delayMs,
+                                  DataAccessBackend backend) {
         boolean isTraditional() { return client == null; }
     }
 
@@ -225,8 +344,9 @@ public class BenchmarkRunner implements ApplicationRunner {
             return;
         }
 
-        if (!cfg.isTraditional() && !pingOllama()) {
-            log.error("--- {} : Ollama not responding, SKIPPING ---", cfg.label);
+        if (!cfg.isTraditional() && !healthMonitor.isAvailable(cfg.target())) {
+            log.error("--- {} : provider not healthy (circuit {}), SKIPPING ---",
+                    cfg.label, breakers.get(cfg.target()).state());
             return;
         }
 
@@ -295,29 +415,6 @@ public class BenchmarkRunner implements ApplicationRunner {
         }
     }
 
-    /**
-     * Quick 10-second ping to Ollama /api/tags.
-     * If it doesn't respond, the server is down — no point trying LLM calls.
-     */
-    private boolean pingOllama() {
-        try {
-            log.info("Pinging Ollama at {} ...", ollamaBaseUrl);
-            HttpClient http = HttpClient.newBuilder()
-                    .connectTimeout(Duration.ofSeconds(5)).build();
-            HttpRequest req = HttpRequest.newBuilder()
-                    .uri(URI.create(ollamaBaseUrl + "/api/tags"))
-                    .timeout(Duration.ofSeconds(10))
-                    .GET().build();
-            HttpResponse<String> resp = http.send(req, HttpResponse.BodyHandlers.ofString());
-            boolean ok = resp.statusCode() == 200;
-            log.info("Ollama ping: {} (status {})", ok ? "OK" : "FAIL", resp.statusCode());
-            return ok;
-        } catch (Exception e) {
-            log.error("Ollama ping failed: {}", e.getMessage());
-            return false;
-        }
-    }
-
     private void rateLimitSleep(long delayMs) {
         if (delayMs > 0) {
             try { Thread.sleep(delayMs); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
@@ -334,15 +431,15 @@ public class BenchmarkRunner implements ApplicationRunner {
         long start = System.nanoTime();
         try {
             if (cfg.isTraditional()) {
-                UserProfileResult result = traditionalRetrieval.fetchUserByEmail(email);
+                UserProfileResult result = traditionalRetrieval.fetchUserByEmail(cfg.backend, email);
                 double ms = ns2ms(System.nanoTime() - start);
                 validator.validate(result);
                 return ok(cfg.label, SCENARIO_RETRIEVAL, ms);
             }
-            return llmCall(cfg.label, SCENARIO_RETRIEVAL, cfg.client,
-                    retrievalPrompt(email),
-                    new Object[]{new UserProfileQueryTool(userProfileRepo)},
-                    UserProfileResult.class, start, null);
+            return llmCall(cfg, SCENARIO_RETRIEVAL,
+                    prompts.render(PromptIds.RETRIEVAL, cfg.promptVariant, email),
+                    new Object[]{tools.profileQuery()},
+                    StreamSchemas.USER_PROFILE, start, null);
         } catch (Exception e) {
             return fail(cfg.label, SCENARIO_RETRIEVAL, ns2ms(System.nanoTime() - start), e);
         }
@@ -361,9 +458,11 @@ public class BenchmarkRunner implements ApplicationRunner {
                 }
                 return ok(cfg.label, SCENARIO_NORMALIZATION, ms);
             }
-            return llmCall(cfg.label, SCENARIO_NORMALIZATION, cfg.client,
-                    normalizationPrompt(normCase.request()), null,
-                    NormalizedDataResult.class, start,
+            NormalizationRequest norm = normCase.request();
+            return llmCall(cfg, SCENARIO_NORMALIZATION,
+                    prompts.render(PromptIds.NORMALIZATION, cfg.promptVariant, norm.rawDate(), norm.rawAddress()),
+                    null,
+                    StreamSchemas.NORMALIZED_DATA, start,
                     new ExpectedOutcome(normCase.expectedDate(), null));
         } catch (Exception e) {
             return fail(cfg.label, SCENARIO_NORMALIZATION, ns2ms(System.nanoTime() - start), e);
@@ -374,15 +473,15 @@ public class BenchmarkRunner implements ApplicationRunner {
         long start = System.nanoTime();
         try {
             if (cfg.isTraditional()) {
-                MeetingBookingResult result = traditionalCommand.bookMeeting(meetingCase.request());
+                MeetingBookingResult result = traditionalCommand.bookMeeting(cfg.backend, meetingCase.request());
                 double ms = ns2ms(System.nanoTime() - start);
                 validator.validate(result);
                 return ok(cfg.label, SCENARIO_COMMAND, ms);
             }
-            return llmCall(cfg.label, SCENARIO_COMMAND, cfg.client,
-                    commandPrompt(meetingCase.request()),
-                    new Object[]{new MeetingBookingTool(meetingRepo)},
-                    MeetingBookingResult.class, start, null);
+            return llmCall(cfg, SCENARIO_COMMAND,
+                    commandPrompt(cfg.promptVariant, meetingCase.request()),
+                    new Object[]{tools.meetingBooking()},
+                    StreamSchemas.MEETING_BOOKING, start, null);
         } catch (Exception e) {
             return fail(cfg.label, SCENARIO_COMMAND, ns2ms(System.nanoTime() - start), e);
         }
@@ -392,14 +491,37 @@ public class BenchmarkRunner implements ApplicationRunner {
     //  LLM call with timeout
     // ---------------------------------------------------------------
 
-    private <T> BenchmarkResult llmCall(String modelLabel, String scenario,
-                                        ChatClient client, String userPrompt,
-                                        Object[] tools, Class<T> responseType,
+    /** Records the call as an {@link LlmCallEvent} carrying the same tokens and outcome as its CSV row. */
+    private <T> BenchmarkResult llmCall(ModelRunConfig cfg, String scenario,
+                                        RenderedPrompt userPrompt,
+                                        Object[] tools, StreamSchema<T> schema,
                                         long startNanos, ExpectedOutcome expected) throws Exception {
+        LlmCallEvent event = LlmCallEvent.start(cfg.label, cfg.target.provider().name(), cfg.target.model(), scenario);
+        try {
+            BenchmarkResult r = callModel(cfg, scenario, userPrompt, tools, schema, startNanos, expected);
+            event.finish(r.promptTokens(), r.completionTokens(), r.tokensEstimated(), r.accuracy(), r.errorType());
+            return r;
+        } catch (Exception e) {
+            event.finish(0, 0, false, false, e.getClass().getSimpleName());
+            throw e;
+        }
+    }
 
-        ChatClient.ChatClientRequestSpec spec = client.prompt()
-                .system(JSON_SYSTEM).user(userPrompt);
+    private <T> BenchmarkResult callModel(ModelRunConfig cfg, String scenario,
+                                          RenderedPrompt userPrompt,
+                                          Object[] tools, StreamSchema<T> schema,
+                                          long startNanos, ExpectedOutcome expected) throws Exception {
+
+        String modelLabel = cfg.label;
+        RenderedPrompt system = prompts.render(PromptIds.SYSTEM_JSON, cfg.promptVariant);
+        long promptEstimate = system.estimatedTokens() + userPrompt.estimatedTokens();
+        log.debug("[{}] {} prompt {} ~{} tokens", modelLabel, scenario, userPrompt.key(), promptEstimate);
+        ChatClient.ChatClientRequestSpec spec = cfg.client.prompt()
+                .system(system.text()).user(userPrompt.text());
         if (tools != null) spec = spec.tools(tools);
+        if (cfg.outputMode == OutputMode.SCHEMA) {
+            spec = spec.options(SchemaOutputOptions.forProvider(cfg.target.provider(), schema.type()));
+        }
 
         final var finalSpec = spec;
         ExecutorService exec = Executors.newSingleThreadExecutor(r -> {
@@ -408,16 +530,19 @@ public class BenchmarkRunner implements ApplicationRunner {
             return t;
         });
 
-        ChatResponse response;
+        Completion<T> completion;
         try {
-            Future<ChatResponse> future = exec.submit(() -> finalSpec.call().chatResponse());
+            Future<Completion<T>> future = exec.submit(() -> streamParsing
+                    ? streamedCompletion(finalSpec, schema, startNanos, promptEstimate)
+                    : bufferedCompletion(finalSpec, schema, promptEstimate));
             try {
-                response = future.get(CALL_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                completion = future.get(CALL_TIMEOUT_SECONDS, TimeUnit.SECONDS);
             } catch (TimeoutException te) {
                 future.cancel(true);
                 log.warn("[{}] {} TIMEOUT after {}s", modelLabel, scenario, CALL_TIMEOUT_SECONDS);
+                // The prompt was sent; whatever was generated before the cancel is not known
                 return new BenchmarkResult(modelLabel, scenario, false,
-                        ns2ms(System.nanoTime() - startNanos), -1, 0, 0, "TimeoutException");
+                        ns2ms(System.nanoTime() - startNanos), -1, promptEstimate, 0, true, "TimeoutException");
             } catch (java.util.concurrent.ExecutionException ee) {
                 Throwable cause = ee.getCause() != null ? ee.getCause() : ee;
                 throw (cause instanceof Exception ex) ? ex : new RuntimeException(cause);
@@ -427,30 +552,155 @@ public class BenchmarkRunner implements ApplicationRunner {
         }
 
         double latencyMs = ns2ms(System.nanoTime() - startNanos);
-        long[] tokens = extractTokens(response);
-        String content = extractContent(response);
+        TokenUsage tokens = completion.tokens();
+        String content = completion.content();
 
         try {
-            T entity = objectMapper.readValue(content, responseType);
-            validateEntity(scenario, entity);
-
-            if (expected != null && expected.expectedDate() != null
-                    && entity instanceof NormalizedDataResult nr) {
-                if (!nr.normalizedDate().equals(expected.expectedDate())) {
-                    throw new ParameterMismatchException(
-                            "expected " + expected.expectedDate() + " got " + nr.normalizedDate());
-                }
-            }
+            T entity = completion.entity();
+            validator.validate(entity, schema.type());
+            checkExpected(expected, entity);
         } catch (Exception e) {
+            if (jsonRepair && !content.isEmpty()) {
+                BenchmarkResult repaired = tryRepair(modelLabel, scenario, schema, completion, expected, startNanos);
+                if (repaired != null) return repaired;
+            }
             log.warn("[{}] {} — {}: {}\n  Raw: {}",
                     modelLabel, scenario, e.getClass().getSimpleName(), e.getMessage(),
                     content.length() > 300 ? content.substring(0, 300) + "..." : content);
-            return new BenchmarkResult(modelLabel, scenario, false, latencyMs, -1,
-                    tokens[0], tokens[1], e.getClass().getSimpleName());
+            return new BenchmarkResult(modelLabel, scenario, false, latencyMs, completion.ttftMs(),
+                    tokens.promptTokens(), tokens.completionTokens(), tokens.estimated(),
+                    e.getClass().getSimpleName());
+        }
+
+        return new BenchmarkResult(modelLabel, scenario, true, latencyMs, completion.ttftMs(),
+                tokens.promptTokens(), tokens.completionTokens(), tokens.estimated(), "");
+    }
+
+    private static void checkExpected(ExpectedOutcome expected, Object entity) {
+        if (expected != null && expected.expectedDate() != null
+                && entity instanceof NormalizedDataResult nr) {
+            if (!nr.normalizedDate().equals(expected.expectedDate())) {
+                throw new ParameterMismatchException(
+                        "expected " + expected.expectedDate() + " got " + nr.normalizedDate());
+            }
+        }
+    }
+
+    /**
+     * Runs the local repair stage on a failed answer. A repaired answer that validates keeps
+     * {@code Accuracy=false}, so the column stays the model's raw accuracy, and is marked with
+     * Error_Type {@code Repaired}; its latency includes the repair time.
+     */
+    private <T> BenchmarkResult tryRepair(String modelLabel, String scenario, StreamSchema<T> schema,
+                                          Completion<T> completion, ExpectedOutcome expected, long startNanos) {
+        ResponseParseEvent parse = ResponseParseEvent.start(schema.type(), ResponseParseEvent.REPAIR,
+                completion.content().length());
+        try {
+            JsonRepairer.Repaired<T> repaired;
+            try {
+                repaired = jsonRepairer.repair(completion.content(), schema.type());
+                parse.finish(null);
+            } catch (RuntimeException e) {
+                parse.finish(e);
+                throw e;
+            }
+            validator.validate(repaired.value(), schema.type());
+            checkExpected(expected, repaired.value());
+            log.info("[{}] {} repaired locally: {}", modelLabel, scenario, repaired.repairs());
+            TokenUsage tokens = completion.tokens();
+            return new BenchmarkResult(modelLabel, scenario, false, ns2ms(System.nanoTime() - startNanos),
+                    completion.ttftMs(), tokens.promptTokens(), tokens.completionTokens(), tokens.estimated(),
+                    ERROR_REPAIRED);
+        } catch (Exception e) {
+            log.debug("[{}] {} repair failed: {}", modelLabel, scenario, e.getMessage());
+            return null;
+        }
+    }
+
+    /** Raw text seen, token usage, and either the parsed entity or why it could not be produced. */
+    private record Completion<T>(String content, T parsed, Exception failure, TokenUsage tokens, double ttftMs) {
+        T entity() throws Exception {
+            if (failure != null) throw failure;
+            return parsed;
+        }
+    }
+
+    private <T> Completion<T> bufferedCompletion(ChatClient.ChatClientRequestSpec spec, StreamSchema<T> schema,
+                                                 long promptEstimate) {
+        ChatResponse response = spec.call().chatResponse();
+        String raw = response != null && response.getResult() != null && response.getResult().getOutput() != null
+                ? response.getResult().getOutput().getText() : null;
+        TokenUsage tokens = extractTokens(response, promptEstimate, raw != null ? raw : "");
+        String content;
+        try {
+            content = extractContent(response);
+        } catch (Exception e) {
+            return new Completion<>("", null, e, tokens, -1);
+        }
+        ResponseParseEvent parse = ResponseParseEvent.start(schema.type(), ResponseParseEvent.JACKSON, content.length());
+        try {
+            T parsed = objectMapper.readValue(content, schema.type());
+            parse.finish(null);
+            return new Completion<>(content, parsed, null, tokens, -1);
+        } catch (Exception e) {
+            parse.finish(e);
+            return new Completion<>(content, null, e, tokens, -1);
         }
+    }
 
-        return new BenchmarkResult(modelLabel, scenario, true, latencyMs, -1,
-                tokens[0], tokens[1], "");
+    /**
+     * Streams the answer into an incremental parser and cancels generation as soon as the object
+     * is complete or can no longer match the schema. Closing the stream cancels the subscription.
+     * With repair enabled, aborts the repair stage can fix keep reading so it sees the whole answer.
+     */
+    private <T> Completion<T> streamedCompletion(ChatClient.ChatClientRequestSpec spec, StreamSchema<T> schema,
+                                                 long startNanos, long promptEstimate) {
+        StreamingJsonParser<T> parser = new StreamingJsonParser<>(schema, maxPreambleChars);
+        StringBuilder content = new StringBuilder();
+        ChatResponse usageSource = null;
+        double ttftMs = -1;
+
+        try (Stream<ChatResponse> chunks = spec.stream().chatResponse().toStream()) {
+            for (Iterator<ChatResponse> it = chunks.iterator(); it.hasNext(); ) {
+                ChatResponse chunk = it.next();
+                if (hasUsage(chunk)) usageSource = chunk;
+                String text = chunk.getResult() != null && chunk.getResult().getOutput() != null
+                        ? chunk.getResult().getOutput().getText() : null;
+                if (text == null || text.isEmpty()) continue;
+                if (ttftMs < 0) ttftMs = ns2ms(System.nanoTime() - startNanos);
+                content.append(text);
+                StreamingJsonParser.Status status = parser.status() == StreamingJsonParser.Status.NEED_MORE
+                        ? parser.feed(text) : parser.status();
+                if (status == StreamingJsonParser.Status.COMPLETE) break;
+                if (status == StreamingJsonParser.Status.ABORTED && !(jsonRepair && parser.isRepairable())) break;
+            }
+        }
+
+        // Cancelled streams never see the final usage chunk; the estimate then covers what was received
+        TokenUsage tokens = extractTokens(usageSource, promptEstimate, content);
+        // Tokenizing happened while streaming; the event covers the verdict and binding to the DTO
+        ResponseParseEvent parse = ResponseParseEvent.start(schema.type(), ResponseParseEvent.STREAMING,
+                content.length());
+        if (parser.finish() == StreamingJsonParser.Status.ABORTED) {
+            parse.finish(parser.failure());
+            log.debug("Stream aborted after {} of {} chars: {}",
+                    parser.consumed(), content.length(), parser.failure().getMessage());
+            return new Completion<>(content.toString(), null, parser.failure(), tokens, ttftMs);
+        }
+        try {
+            T parsed = parser.result(objectMapper);
+            parse.finish(null);
+            return new Completion<>(content.toString(), parsed, null, tokens, ttftMs);
+        } catch (Exception e) {
+            parse.finish(e);
+            return new Completion<>(content.toString(), null, e, tokens, ttftMs);
+        }
+    }
+
+    private static boolean hasUsage(ChatResponse response) {
+        return response.getMetadata() != null && response.getMetadata().getUsage() != null
+                && response.getMetadata().getUsage().getPromptTokens() != null
+                && response.getMetadata().getUsage().getPromptTokens() > 0;
     }
 
     // ---------------------------------------------------------------
@@ -481,58 +731,29 @@ public class BenchmarkRunner implements ApplicationRunner {
         return text;
     }
 
-    private long[] extractTokens(ChatResponse response) {
-        try {
-            var usage = response.getMetadata().getUsage();
-            return new long[]{
-                    usage.getPromptTokens() != null ? usage.getPromptTokens() : 0,
-                    usage.getCompletionTokens() != null ? usage.getCompletionTokens() : 0
-            };
-        } catch (NullPointerException e) {
-            return new long[]{0, 0};
-        }
-    }
-
-    @SuppressWarnings("unchecked")
-    private <T> void validateEntity(String scenario, T entity) {
-        switch (scenario) {
-            case SCENARIO_RETRIEVAL -> validator.validate((UserProfileResult) entity);
-            case SCENARIO_NORMALIZATION -> validator.validate((NormalizedDataResult) entity);
-            case SCENARIO_COMMAND -> validator.validate((MeetingBookingResult) entity);
-        }
+    /**
+     * Usage as reported by the provider. A count it leaves out (or reports as 0) is estimated from the
+     * rendered prompts or the received text, and the row is flagged. Estimates do not see tool
+     * definitions or tool round trips, so they undercount the tool-calling scenarios.
+     */
+    private static TokenUsage extractTokens(ChatResponse response, long promptEstimate, CharSequence content) {
+        Usage usage = response != null && response.getMetadata() != null ? response.getMetadata().getUsage() : null;
+        Integer prompt = usage != null ? usage.getPromptTokens() : null;
+        Integer completion = usage != null ? usage.getCompletionTokens() : null;
+        boolean promptReported = prompt != null && prompt > 0;
+        boolean completionReported = completion != null && (completion > 0 || content.isEmpty());
+        return new TokenUsage(
+                promptReported ? prompt : promptEstimate,
+                completionReported ? completion : TokenEstimator.estimate(content),
+                !promptReported || !completionReported);
     }
 
     // ---------------------------------------------------------------
     //  Prompts
     // ---------------------------------------------------------------
 
-    private String retrievalPrompt(String email) {
-        return String.format(
-                "Look up the user profile for email: %s. " +
-                "Use the findUserByEmail tool to query the database, then return the result as a JSON object " +
-                "with exactly these fields: email, firstName, lastName, phone, address.",
-                email);
-    }
-
-    private String normalizationPrompt(NormalizationRequest norm) {
-        return String.format(
-                "Normalize the following data and return a JSON object with exactly two fields: " +
-                "\"normalizedDate\" and \"normalizedAddress\".\n\n" +
-                "Rules:\n" +
-                "- normalizedDate: Convert the date to ISO-8601 format (yyyy-MM-dd).\n" +
-                "- normalizedAddress: Capitalize words properly, expand abbreviations " +
-                "(st->Street, ave->Avenue, blvd->Boulevard, dr->Drive, ln->Lane, rd->Road, " +
-                "apt->Apartment, ste->Suite), and keep state codes as 2-letter uppercase.\n\n" +
-                "Input date: %s\nInput address: %s",
-                norm.rawDate(), norm.rawAddress());
-    }
-
-    private String commandPrompt(MeetingBookingRequest m) {
-        return String.format(
-                "Book a meeting with these details using the bookMeeting tool, then return its JSON result.\n\n" +
-                "Title: %s\nOrganizer: %s\nParticipants: %s\n" +
-                "Date: %s\nStart: %s\nEnd: %s\nLocation: %s\n\n" +
-                "Return a JSON object with fields: success, meetingId, message.",
+    private RenderedPrompt commandPrompt(String variant, MeetingBookingRequest m) {
+        return prompts.render(PromptIds.COMMAND, variant,
                 m.title(), m.organizerEmail(), String.join(", ", m.participants()),
                 m.date(), m.startTime(), m.endTime(), m.location());
     }
@@ -542,11 +763,11 @@ public class BenchmarkRunner implements ApplicationRunner {
     // ---------------------------------------------------------------
 
     private BenchmarkResult ok(String model, String scenario, double ms) {
-        return new BenchmarkResult(model, scenario, true, ms, -1, 0, 0, "");
+        return new BenchmarkResult(model, scenario, true, ms, -1, 0, 0, false, "");
     }
 
     private BenchmarkResult fail(String model, String scenario, double ms, Exception e) {
-        return new BenchmarkResult(model, scenario, false, ms, -1, 0, 0,
+        return new BenchmarkResult(model, scenario, false, ms, -1, 0, 0, false,
                 e.getClass().getSimpleName());
     }
 
@@ -566,8 +787,19 @@ public class BenchmarkRunner implements ApplicationRunner {
                     var g = e.getValue();
                     double avgMs = g.stream().mapToDouble(BenchmarkResult::latencyMs).average().orElse(0);
                     long acc = g.stream().filter(BenchmarkResult::accuracy).count();
-                    log.info("  {} — {}ms avg | {}/{} accuracy",
-                            e.getKey(), String.format("%.1f", avgMs), acc, g.size());
+                    long repaired = g.stream().filter(r -> ERROR_REPAIRED.equals(r.errorType())).count();
+                    log.info("  {} — {}ms avg | {}/{} accuracy | {} more usable after repair",
+                            e.getKey(), String.format("%.1f", avgMs), acc, g.size(), repaired);
+                    TokenThroughput t = TokenThroughput.of(g);
+                    if (t.totalTokens() > 0) {
+                        log.info("      {} tokens ({} rows estimated) | prefill {} tok/s | decode {} tok/s"
+                                        + " | {} tokens/success | {} wasted on failures ({}%)",
+                                t.totalTokens(), t.estimatedRows(),
+                                String.format("%.1f", t.prefillTokensPerSecond()),
+                                String.format("%.1f", t.decodeTokensPerSecond()),
+                                String.format("%.1f", t.perSuccess()),
+                                t.wastedTokens(), String.format("%.1f", 100 * t.wastedShare()));
+                    }
                 });
     }
 }
@@ -0,0 +1,285 @@
+package com.aipaper.benchmark;
+
+import com.aipaper.benchmark.TestDataPool.MeetingTestCase;
+import com.aipaper.dto.MeetingBookingRequest;
+import com.aipaper.repository.MeetingRepository;
+import com.aipaper.repository.UserProfileRepository;
+import com.aipaper.repository.reactive.ReactiveMeetingRepository;
+import com.aipaper.repository.reactive.ReactiveUserProfileRepository;
+import com.aipaper.service.booking.MeetingConflictIndex;
+import com.aipaper.tools.MeetingBookingTool;
+import com.aipaper.tools.ReactiveMeetingBookingTool;
+import com.aipaper.tools.ReactiveUserProfileQueryTool;
+import com.aipaper.tools.UserProfileQueryTool;
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+
+/**
+ * Drives the tool database paths (no model in the loop) at rising concurrency: the JPA tools on
+ * one blocking thread per in-flight call, the R2DBC tools as a {@code flatMap} with the same
+ * number of calls in flight. Each row records throughput, latency percentiles, the peak number
+ * of checked-out connections and the JVM's peak thread count.
+ */
+@Component
+@Profile("concurrency-benchmark")
+public class ConcurrencyBenchmarkRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencyBenchmarkRunner.class);
+
+    static final String HEADER =
+            "Mode,Scenario,Concurrency,Requests,Throughput_per_s,P50_ms,P99_ms,Peak_Connections,Peak_Threads,Errors";
+
+    private static final String SCENARIO_RETRIEVAL = "DataRetrieval";
+    private static final String SCENARIO_COMMAND = "CommandExecution";
+    private static final String MODE_JPA = "JPA";
+    private static final String MODE_R2DBC = "R2DBC";
+    private static final long DATA_POOL_SEED = 42;
+    private static final long SAMPLE_INTERVAL_MICROS = 500;
+
+    @Value("${benchmark.concurrency.levels:16,64,256}")
+    private String levelsRaw;
+
+    @Value("${benchmark.concurrency.requests:2000}")
+    private int requests;
+
+    @Value("${benchmark.concurrency.warmup-requests:200}")
+    private int warmupRequests;
+
+    @Value("${benchmark.concurrency.modes:jpa,r2dbc}")
+    private String modesRaw;
+
+    @Value("${benchmark.concurrency.output-file:concurrency_results.csv}")
+    private String outputFile;
+
+    private final UserProfileQueryTool jpaProfiles;
+    private final MeetingBookingTool jpaMeetings;
+    private final ReactiveUserProfileQueryTool reactiveProfiles;
+    private final ReactiveMeetingBookingTool reactiveMeetings;
+    private final DataSource dataSource;
+    private final ConnectionFactory connectionFactory;
+
+    public ConcurrencyBenchmarkRunner(UserProfileRepository userProfileRepo,
+                                      MeetingRepository meetingRepo,
+                                      ReactiveUserProfileRepository reactiveUserProfileRepo,
+                                      ReactiveMeetingRepository reactiveMeetingRepo,
+                                      MeetingConflictIndex meetingConflicts,
+                                      DataSource dataSource,
+                                      ConnectionFactory connectionFactory) {
+        this.jpaProfiles = new UserProfileQueryTool(userProfileRepo);
+        this.jpaMeetings = new MeetingBookingTool(meetingRepo, meetingConflicts);
+        this.reactiveProfiles = new ReactiveUserProfileQueryTool(reactiveUserProfileRepo);
+        this.reactiveMeetings = new ReactiveMeetingBookingTool(reactiveMeetingRepo, meetingConflicts);
+        this.dataSource = dataSource;
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        List<Integer> levels = Arrays.stream(levelsRaw.split(","))
+                .map(String::trim).filter(s -> !s.isEmpty()).map(Integer::parseInt).toList();
+        List<String> modes = Arrays.stream(modesRaw.split(","))
+                .map(s -> s.trim().toUpperCase(Locale.ROOT)).filter(s -> !s.isEmpty()).toList();
+
+        TestDataPool dataPool = new TestDataPool(DATA_POOL_SEED);
+        List<String> emails = new ArrayList<>(requests);
+        List<MeetingBookingRequest> bookings = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            emails.add(dataPool.randomEmail());
+            MeetingTestCase meetingCase = dataPool.randomMeetingCase();
+            bookings.add(meetingCase.request());
+        }
+
+        log.info("========================================");
+        log.info("  CONCURRENCY BENCHMARK STARTING");
+        log.info("  Levels: {}  Requests per run: {}  Modes: {}", levels, requests, modes);
+        log.info("  Output: {}", outputFile);
+        log.info("========================================");
+
+        try (BufferedWriter out = openCsv(Path.of(outputFile))) {
+            for (String mode : modes) {
+                log.info("Warming up {} with {} lookups", mode, warmupRequests);
+                measure(mode, SCENARIO_RETRIEVAL, levels.get(0), Math.min(warmupRequests, requests), emails, bookings);
+            }
+            for (String scenario : List.of(SCENARIO_RETRIEVAL, SCENARIO_COMMAND)) {
+                for (int concurrency : levels) {
+                    for (String mode : modes) {
+                        String row = measure(mode, scenario, concurrency, requests, emails, bookings);
+                        log.info("  {}", row);
+                        out.write(row);
+                        out.newLine();
+                        out.flush();
+                    }
+                }
+            }
+        }
+
+        log.info("========================================");
+        log.info("  CONCURRENCY BENCHMARK COMPLETE — results in {}", outputFile);
+        log.info("========================================");
+    }
+
+    private String measure(String mode, String scenario, int concurrency, int count,
+                           List<String> emails, List<MeetingBookingRequest> bookings) throws Exception {
+        long[] latencies = new long[count];
+        AtomicInteger errors = new AtomicInteger();
+        AtomicInteger peakConnections = new AtomicInteger();
+        IntSupplier inUse = connectionsInUse(mode);
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "connection-sampler");
+            t.setDaemon(true);
+            return t;
+        });
+        sampler.scheduleAtFixedRate(() -> peakConnections.accumulateAndGet(inUse.getAsInt(), Math::max),
+                0, SAMPLE_INTERVAL_MICROS, TimeUnit.MICROSECONDS);
+
+        long start = System.nanoTime();
+        try {
+            if (MODE_R2DBC.equals(mode)) {
+                IntFunction<Mono<String>> call = SCENARIO_COMMAND.equals(scenario)
+                        ? i -> book(bookings.get(i))
+                        : i -> reactiveProfiles.lookup(emails.get(i));
+                runReactive(call, concurrency, count, latencies, errors);
+            } else if (MODE_JPA.equals(mode)) {
+                IntFunction<String> call = SCENARIO_COMMAND.equals(scenario)
+                        ? i -> bookBlocking(bookings.get(i))
+                        : i -> jpaProfiles.findUserByEmail(emails.get(i));
+                runBlocking(call, concurrency, count, latencies, errors);
+            } else {
+                throw new IllegalArgumentException("Unknown concurrency benchmark mode: " + mode);
+            }
+        } finally {
+            sampler.shutdownNow();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        return String.format(Locale.US, "%s,%s,%d,%d,%.1f,%.3f,%.3f,%d,%d,%d",
+                mode, scenario, concurrency, count,
+                count / elapsedSeconds,
+                percentile(latencies, 0.50), percentile(latencies, 0.99),
+                peakConnections.get(), threads.getPeakThreadCount(), errors.get());
+    }
+
+    private void runBlocking(IntFunction<String> call, int concurrency, int count,
+                             long[] latencies, AtomicInteger errors) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        try {
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                pool.execute(() -> {
+                    long t0 = System.nanoTime();
+                    try {
+                        if (isError(call.apply(index))) errors.incrementAndGet();
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[index] = System.nanoTime() - t0;
+                });
+            }
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(1, TimeUnit.HOURS);
+        }
+    }
+
+    private void runReactive(IntFunction<Mono<String>> call, int concurrency, int count,
+                             long[] latencies, AtomicInteger errors) {
+        Flux.range(0, count)
+                .flatMap(index -> Mono.defer(() -> {
+                    long t0 = System.nanoTime();
+                    return call.apply(index)
+                            .doOnNext(reply -> {
+                                if (isError(reply)) errors.incrementAndGet();
+                            })
+                            .onErrorResume(e -> {
+                                errors.incrementAndGet();
+                                return Mono.empty();
+                            })
+                            // Not doFinally: that runs after completion reaches flatMap, so blockLast could
+                            // return before the last samples are written.
+                            .doOnTerminate(() -> latencies[index] = System.nanoTime() - t0);
+                }), concurrency)
+                .blockLast();
+    }
+
+    private Mono<String> book(MeetingBookingRequest r) {
+        return reactiveMeetings.book(r.title(), r.organizerEmail(), String.join(",", r.participants()),
+                r.date(), r.startTime(), r.endTime(), r.location());
+    }
+
+    private String bookBlocking(MeetingBookingRequest r) {
+        return jpaMeetings.bookMeeting(r.title(), r.organizerEmail(), String.join(",", r.participants()),
+                r.date(), r.startTime(), r.endTime(), r.location());
+    }
+
+    private IntSupplier connectionsInUse(String mode) throws SQLException {
+        if (MODE_R2DBC.equals(mode)) {
+            if (connectionFactory instanceof ConnectionPool pool) {
+                return () -> pool.getMetrics().map(PoolMetrics::acquiredSize).orElse(0);
+            }
+        } else if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+            return () -> hikari.getHikariPoolMXBean() != null
+                    ? hikari.getHikariPoolMXBean().getActiveConnections() : 0;
+        }
+        log.warn("No pool metrics for {}; Peak_Connections will read 0", mode);
+        return () -> 0;
+    }
+
+    /** Tools report failures in their JSON reply rather than by throwing. */
+    private static boolean isError(String reply) {
+        return reply == null || reply.contains("\"error\"") || reply.contains("\"success\":false");
+    }
+
+    private static double percentile(long[] sortedNanos, double p) {
+        if (sortedNanos.length == 0) return 0;
+        int index = (int) Math.ceil(p * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static BufferedWriter openCsv(Path path) throws IOException {
+        boolean fresh = !Files.exists(path) || Files.size(path) == 0;
+        BufferedWriter out = Files.newBufferedWriter(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        if (fresh) {
+            out.write(HEADER);
+            out.newLine();
+            out.flush();
+        }
+        return out;
+    }
+}
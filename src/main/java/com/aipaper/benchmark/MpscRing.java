@@ -0,0 +1,72 @@
+package com.aipaper.benchmark;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free ring for many producers and one consumer. Each slot has a sequence number:
+ * producers claim a position with a CAS on {@code tail} and publish by advancing the slot's
+ * sequence; the consumer takes a slot only once it is published, then hands it to the next lap.
+ * Neither side ever blocks; {@link #offer} returns {@code false} when the ring is full.
+ */
+final class MpscRing<E> {
+
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    /** Written by the consumer only; atomic so producers can read a current {@link #size}. */
+    private final AtomicLong head = new AtomicLong();
+
+    MpscRing(int minCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, minCapacity) - 1) << 1;
+        this.elements = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+
+    boolean offer(E element) {
+        long pos = tail.get();
+        while (true) {
+            int slot = (int) pos & mask;
+            long diff = sequences.getAcquire(slot) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    elements[slot] = element;
+                    sequences.setRelease(slot, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /** Consumer only. {@code null} when nothing is published yet. */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        long pos = head.get();
+        int slot = (int) pos & mask;
+        if (sequences.getAcquire(slot) != pos + 1) return null;
+        E element = (E) elements[slot];
+        elements[slot] = null;
+        sequences.setRelease(slot, pos + elements.length);
+        head.setRelease(pos + 1);
+        return element;
+    }
+
+    /** Claimed slots, published or not; exact only when no producer is mid-offer. */
+    int size() {
+        return (int) Math.max(0, tail.get() - head.getAcquire());
+    }
+}
@@ -0,0 +1,30 @@
+package com.aipaper.benchmark;
+
+/**
+ * How benchmark rows reach the disk. With {@code async}, rows are queued for a background writer
+ * and group-committed: the buffer is flushed once {@code flushRows} rows are pending or the oldest
+ * pending row is {@code flushIntervalMs} old, whichever comes first. {@code fsync} decides when a
+ * flush is also forced to stable storage.
+ */
+public record ResultWriterPolicy(boolean async, int queueCapacity, int flushRows, long flushIntervalMs,
+                                 Fsync fsync) {
+
+    public enum Fsync {
+        /** Leave it to the OS; a crash of the machine (not the JVM) can lose flushed rows. */
+        NEVER,
+        /** After each model run and at close. */
+        CHECKPOINT,
+        /** After every group commit. */
+        FLUSH
+    }
+
+    /** The original behaviour: format and flush every row on the measuring thread. */
+    public static final ResultWriterPolicy SYNC = new ResultWriterPolicy(false, 1, 1, 0, Fsync.NEVER);
+
+    public ResultWriterPolicy {
+        if (queueCapacity < 1 || flushRows < 1 || flushIntervalMs < 0) {
+            throw new IllegalArgumentException("benchmark.writer: queue-capacity and flush-rows must be >= 1, "
+                    + "flush-interval-ms >= 0");
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.aipaper.benchmark;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Appends one row per benchmark JVM to {@code benchmark.startup-file}, taken when the context has
+ * started and before the benchmark runners begin. {@code Startup_ms} is JVM start to context started;
+ * {@code Spring_ms} is the part spent inside {@code SpringApplication.run}.
+ */
+@Component
+@Profile({"benchmark", "concurrency-benchmark"})
+public class StartupTimeRecorder implements ApplicationListener<ApplicationStartedEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimeRecorder.class);
+
+    static final String HEADER = "Timestamp,Profiles,Web,AOT,CDS,Startup_ms,Spring_ms,Pre_Spring_ms";
+
+    private final String outputFile;
+
+    public StartupTimeRecorder(@Value("${benchmark.startup-file:startup_results.csv}") String outputFile) {
+        this.outputFile = outputFile;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationStartedEvent event) {
+        RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        long startupMs = runtime.getUptime();
+        long springMs = event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : startupMs;
+        boolean web = event.getSpringApplication().getWebApplicationType() != WebApplicationType.NONE;
+        boolean aot = AotDetector.useGeneratedArtifacts();
+        boolean cds = runtime.getInputArguments().stream()
+                .anyMatch(arg -> arg.startsWith("-XX:SharedArchiveFile"));
+        String profiles = String.join("+", event.getApplicationContext().getEnvironment().getActiveProfiles());
+
+        log.info("Startup: {} ms ({} ms in Spring; web={}, aot={}, cds={})", startupMs, springMs, web, aot, cds);
+
+        String row = String.format(Locale.US, "%s,%s,%s,%s,%s,%d,%d,%d",
+                Instant.now(), profiles, web, aot, cds, startupMs, springMs, Math.max(0, startupMs - springMs));
+        Path path = Path.of(outputFile);
+        try {
+            boolean fresh = !Files.exists(path) || Files.size(path) == 0;
+            try (BufferedWriter out = Files.newBufferedWriter(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (fresh) {
+                    out.write(HEADER);
+                    out.newLine();
+                }
+                out.write(row);
+                out.newLine();
+            }
+        } catch (IOException e) {
+            log.warn("Could not record startup time in {}: {}", outputFile, e.getMessage());
+        }
+    }
+}
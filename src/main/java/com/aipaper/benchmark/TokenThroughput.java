@@ -0,0 +1,44 @@
+package com.aipaper.benchmark;
+
+import java.util.List;
+
+/**
+ * Token figures of a group of rows, for capacity planning in tokens/s. Rates are pooled (total tokens
+ * over total time) rather than averaged per row, and -1 when no row has the timing they need.
+ *
+ * @param perSuccess     all tokens spent, failed attempts included, per accurate result
+ * @param wastedTokens   tokens spent on rows that were not accurate
+ * @param estimatedRows  rows whose counts were estimated locally
+ */
+record TokenThroughput(long totalTokens, double prefillTokensPerSecond, double decodeTokensPerSecond,
+                       double perSuccess, long wastedTokens, long estimatedRows) {
+
+    static TokenThroughput of(List<BenchmarkResult> rows) {
+        long total = 0, wasted = 0, successes = 0, estimated = 0;
+        long prefillTokens = 0, decodeTokens = 0;
+        double prefillMs = 0, decodeMs = 0;
+        for (BenchmarkResult r : rows) {
+            total += r.totalTokens();
+            if (r.accuracy()) successes++;
+            else wasted += r.totalTokens();
+            if (r.tokensEstimated()) estimated++;
+            if (r.prefillTokensPerSecond() >= 0) {
+                prefillTokens += r.promptTokens();
+                prefillMs += r.ttftMs();
+            }
+            if (r.decodeTokensPerSecond() >= 0) {
+                decodeTokens += r.completionTokens();
+                decodeMs += r.latencyMs() - r.ttftMs();
+            }
+        }
+        return new TokenThroughput(total,
+                prefillMs > 0 ? prefillTokens * 1000.0 / prefillMs : -1,
+                decodeMs > 0 ? decodeTokens * 1000.0 / decodeMs : -1,
+                successes > 0 ? (double) total / successes : -1,
+                wasted, estimated);
+    }
+
+    double wastedShare() {
+        return totalTokens > 0 ? (double) wastedTokens / totalTokens : 0;
+    }
+}
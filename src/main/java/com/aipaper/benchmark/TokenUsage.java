@@ -0,0 +1,7 @@
+package com.aipaper.benchmark;
+
+/**
+ * Prompt and completion tokens of one call. {@code estimated} is set when any part comes from
+ * {@link com.aipaper.prompt.TokenEstimator} because the provider did not report it.
+ */
+record TokenUsage(long promptTokens, long completionTokens, boolean estimated) {}
@@ -7,6 +7,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 
 @Configuration
 public class DataInitializer {
@@ -14,6 +16,7 @@ public class DataInitializer {
     private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
 
     @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
     CommandLineRunner seedDatabase(UserProfileRepository repo) {
         return args -> {
             if (repo.count() > 0) {
@@ -0,0 +1,94 @@
+package com.aipaper.config;
+
+import com.aipaper.repository.inmemory.InMemoryUndoLog;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+
+/**
+ * The {@code inmemory} profile runs without a database: repositories live in
+ * {@code com.aipaper.repository.inmemory} and {@code application-inmemory.yml} turns off the
+ * JDBC, JPA and R2DBC auto-configuration. {@code @Transactional} still demarcates units of work:
+ * each transaction binds an {@link InMemoryUndoLog} that rollback replays, and synchronizations
+ * (such as conflict-index rollback) fire as usual.
+ */
+@Configuration
+@Profile("inmemory")
+public class InMemoryPersistenceConfig {
+
+    @Bean
+    public PlatformTransactionManager transactionManager() {
+        return new ResourcelessTransactionManager();
+    }
+
+    static final class ResourcelessTransactionManager extends AbstractPlatformTransactionManager {
+
+        /** The undo log of the transaction this one joins, if any; set on begin for a new one. */
+        private static final class Transaction implements SmartTransactionObject {
+            InMemoryUndoLog log = InMemoryUndoLog.current();
+
+            @Override
+            public boolean isRollbackOnly() {
+                return log != null && log.isRollbackOnly();
+            }
+
+            @Override
+            public void flush() {
+            }
+        }
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Transaction();
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return ((Transaction) transaction).log != null;
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            InMemoryUndoLog log = new InMemoryUndoLog();
+            log.bind();
+            ((Transaction) transaction).log = log;
+        }
+
+        @Override
+        protected Object doSuspend(Object transaction) {
+            ((Transaction) transaction).log = null;
+            return InMemoryUndoLog.unbind();
+        }
+
+        @Override
+        protected void doResume(Object transaction, Object suspendedResources) {
+            ((InMemoryUndoLog) suspendedResources).bind();
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            ((Transaction) status.getTransaction()).log.clear();
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            ((Transaction) status.getTransaction()).log.rollback();
+        }
+
+        /** A failed participant dooms the whole transaction, so the outer commit rolls back instead. */
+        @Override
+        protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+            ((Transaction) status.getTransaction()).log.setRollbackOnly();
+        }
+
+        @Override
+        protected void doCleanupAfterCompletion(Object transaction) {
+            InMemoryUndoLog.unbind();
+        }
+    }
+}
@@ -1,78 +1,103 @@
 package com.aipaper.config;
 
+import com.aipaper.service.LlmProvider;
+import com.aipaper.service.routing.ChatClientRegistry;
+import com.aipaper.service.routing.LlmTarget;
+import com.aipaper.transport.SharedHttpTransport;
 import org.springframework.ai.chat.model.ChatModel;
-import org.springframework.ai.ollama.OllamaChatModel;
 import org.springframework.ai.ollama.api.OllamaApi;
-import org.springframework.ai.ollama.api.OllamaOptions;
-import org.springframework.ai.openai.OpenAiChatModel;
-import org.springframework.ai.openai.OpenAiChatOptions;
 import org.springframework.ai.openai.api.OpenAiApi;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
+import java.time.Duration;
+
+/**
+ * Provider APIs are built on the shared pooled transport with the configured
+ * {@code timeout-seconds} as read timeout. The {@code *ChatModel} beans are the
+ * registry's cached instances for each provider's default model. All of them are lazy, so a
+ * provider that is never called is never built.
+ */
 @Configuration
 public class LlmClientConfig {
 
     @Bean
-    @Qualifier("ollamaChatModel")
-    public ChatModel ollamaChatModel(
+    @Lazy
+    @Qualifier("ollamaApi")
+    public OllamaApi ollamaApi(
             @Value("${llm.ollama.base-url}") String baseUrl,
-            @Value("${llm.ollama.model}") String model) {
+            @Value("${llm.ollama.timeout-seconds}") long timeoutSeconds,
+            SharedHttpTransport transport) {
 
-        var api = new OllamaApi.Builder()
+        Duration readTimeout = Duration.ofSeconds(timeoutSeconds);
+        return new OllamaApi.Builder()
                 .baseUrl(baseUrl)
-                .build();
-
-        return OllamaChatModel.builder()
-                .ollamaApi(api)
-                .defaultOptions(OllamaOptions.builder()
-                        .model(model)
-                        .temperature(0.0)
-                        .build())
+                .restClientBuilder(transport.restClientBuilder(baseUrl, readTimeout))
+                .webClientBuilder(transport.webClientBuilder(baseUrl, readTimeout))
                 .build();
     }
 
     @Bean
-    @Qualifier("geminiChatModel")
-    public ChatModel geminiChatModel(
+    @Lazy
+    @Qualifier("geminiApi")
+    public OpenAiApi geminiApi(
             @Value("${llm.gemini.api-key}") String apiKey,
             @Value("${llm.gemini.base-url}") String baseUrl,
-            @Value("${llm.gemini.model}") String model) {
+            @Value("${llm.gemini.timeout-seconds}") long timeoutSeconds,
+            SharedHttpTransport transport) {
 
-        var api = OpenAiApi.builder()
-                .apiKey(apiKey)
-                .baseUrl(baseUrl)
-                .build();
+        return openAiCompatibleApi(apiKey, baseUrl, Duration.ofSeconds(timeoutSeconds), transport);
+    }
 
-        return OpenAiChatModel.builder()
-                .openAiApi(api)
-                .defaultOptions(OpenAiChatOptions.builder()
-                        .model(model)
-                        .temperature(0.0)
-                        .build())
-                .build();
+    @Bean
+    @Lazy
+    @Qualifier("groqApi")
+    public OpenAiApi groqApi(
+            @Value("${llm.groq.api-key}") String apiKey,
+            @Value("${llm.groq.base-url}") String baseUrl,
+            @Value("${llm.groq.timeout-seconds}") long timeoutSeconds,
+            SharedHttpTransport transport) {
+
+        return openAiCompatibleApi(apiKey, baseUrl, Duration.ofSeconds(timeoutSeconds), transport);
     }
 
     @Bean
+    @Lazy
+    @Qualifier("ollamaChatModel")
+    public ChatModel ollamaChatModel(
+            @Value("${llm.ollama.model}") String model,
+            ChatClientRegistry registry) {
+        return registry.chatModel(new LlmTarget(LlmProvider.OLLAMA, model));
+    }
+
+    @Bean
+    @Lazy
+    @Qualifier("geminiChatModel")
+    public ChatModel geminiChatModel(
+            @Value("${llm.gemini.model}") String model,
+            ChatClientRegistry registry) {
+        return registry.chatModel(new LlmTarget(LlmProvider.GEMINI, model));
+    }
+
+    @Bean
+    @Lazy
     @Qualifier("groqChatModel")
     public ChatModel groqChatModel(
-            @Value("${llm.groq.api-key}") String apiKey,
-            @Value("${llm.groq.base-url}") String baseUrl,
-            @Value("${llm.groq.model}") String model) {
+            @Value("${llm.groq.model}") String model,
+            ChatClientRegistry registry) {
+        return registry.chatModel(new LlmTarget(LlmProvider.GROQ, model));
+    }
 
-        var api = OpenAiApi.builder()
+    private static OpenAiApi openAiCompatibleApi(String apiKey, String baseUrl, Duration readTimeout,
+                                                 SharedHttpTransport transport) {
+        return OpenAiApi.builder()
                 .apiKey(apiKey)
                 .baseUrl(baseUrl)
-                .build();
-
-        return OpenAiChatModel.builder()
-                .openAiApi(api)
-                .defaultOptions(OpenAiChatOptions.builder()
-                        .model(model)
-                        .temperature(0.0)
-                        .build())
+                .restClientBuilder(transport.restClientBuilder(baseUrl, readTimeout))
+                .webClientBuilder(transport.webClientBuilder(baseUrl, readTimeout))
                 .build();
     }
 }
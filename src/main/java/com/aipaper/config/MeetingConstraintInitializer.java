@@ -0,0 +1,93 @@
+package com.aipaper.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+
+/**
+ * Cross-instance guard behind the in-memory conflict index: GiST exclusion constraints that stop two
+ * meetings overlapping in the same room, for the same organizer or for the same attendee. Resources are
+ * compared as {@code lower(trim(..))}, like {@code MeetingConflictIndex}.
+ *
+ * <p>PostgreSQL cannot add an exclusion constraint {@code NOT VALID}, so each one is partial instead: it
+ * only covers meetings numbered past {@code meetings_seq} at creation time. Rows booked earlier (the
+ * benchmark re-books the same slots) are left alone; the in-memory index still sees them. The constraints
+ * follow {@code meetings.conflicts.enabled}: they are dropped again on a start with the flag off, so
+ * bookings that are allowed to overlap do not fail with 409.
+ */
+@Configuration
+@Profile("!inmemory")
+public class MeetingConstraintInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(MeetingConstraintInitializer.class);
+
+    private static final String SLOT = "tsrange(meeting_date + start_time, meeting_date + end_time)";
+
+    /** Created by earlier versions over all rows; replaced by the partial constraints below. */
+    private static final List<String> LEGACY = List.of("meetings_room_no_overlap", "meetings_organizer_no_overlap");
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    CommandLineRunner syncMeetingExclusionConstraints(DataSource dataSource, JdbcTemplate jdbc,
+                                                      @Value("${meetings.conflicts.enabled:false}") boolean enabled) {
+        return args -> {
+            try (Connection connection = dataSource.getConnection()) {
+                if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                    return;
+                }
+            }
+            for (String name : LEGACY) dropConstraint(jdbc, "meetings", name);
+            if (!enabled) {
+                dropConstraint(jdbc, "meetings", "meetings_room_excl");
+                dropConstraint(jdbc, "meetings", "meetings_organizer_excl");
+                dropConstraint(jdbc, "meeting_participants", "meeting_participants_excl");
+                return;
+            }
+
+            jdbc.execute("CREATE EXTENSION IF NOT EXISTS btree_gist");
+            Long since = jdbc.queryForObject("SELECT last_value FROM meetings_seq", Long.class);
+            addConstraint(jdbc, "meetings", "meetings_room_excl",
+                    "EXCLUDE USING gist (lower(trim(location)) WITH =, " + SLOT + " WITH &&) "
+                            + "WHERE (id > " + since + " AND trim(location) <> '')");
+            addConstraint(jdbc, "meetings", "meetings_organizer_excl",
+                    "EXCLUDE USING gist (lower(trim(organizer_email)) WITH =, " + SLOT + " WITH &&) "
+                            + "WHERE (id > " + since + ")");
+            // Emails are stored normalized; the times are copied from the meeting.
+            addConstraint(jdbc, "meeting_participants", "meeting_participants_excl",
+                    "EXCLUDE USING gist (email WITH =, " + SLOT + " WITH &&) "
+                            + "WHERE (meeting_id > " + since + " AND start_time IS NOT NULL)");
+        };
+    }
+
+    private static void addConstraint(JdbcTemplate jdbc, String table, String name, String definition) {
+        if (exists(jdbc, name)) return;
+        try {
+            jdbc.execute("ALTER TABLE " + table + " ADD CONSTRAINT " + name + " " + definition);
+            log.info("Created exclusion constraint {}", name);
+        } catch (RuntimeException e) {
+            log.warn("Could not create {}: {}", name, e.getMessage());
+        }
+    }
+
+    private static void dropConstraint(JdbcTemplate jdbc, String table, String name) {
+        if (!exists(jdbc, name)) return;
+        jdbc.execute("ALTER TABLE " + table + " DROP CONSTRAINT " + name);
+        log.info("Dropped exclusion constraint {} (meetings.conflicts.enabled=false or superseded)", name);
+    }
+
+    private static boolean exists(JdbcTemplate jdbc, String name) {
+        return Boolean.TRUE.equals(jdbc.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ?)", Boolean.class, name));
+    }
+}
@@ -0,0 +1,41 @@
+package com.aipaper.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * Normalizes {@code meetings.organizer_email} of rows booked before it was stored trimmed and lower-cased,
+ * so the organizer calendar queries find them by exact match on {@code idx_meetings_organizer_calendar}.
+ * Once every row is normalized the update matches nothing.
+ */
+@Configuration
+@Profile("!inmemory")
+public class MeetingOrganizerMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(MeetingOrganizerMigration.class);
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    CommandLineRunner normalizeOrganizerEmails(DataSource dataSource, JdbcTemplate jdbc) {
+        return args -> {
+            try (Connection connection = dataSource.getConnection()) {
+                if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                    return;
+                }
+            }
+            int rows = jdbc.update("UPDATE meetings SET organizer_email = lower(trim(organizer_email)) "
+                    + "WHERE organizer_email <> lower(trim(organizer_email))");
+            if (rows > 0) log.info("Normalized organizer email of {} meetings", rows);
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package com.aipaper.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * Backfill of {@code meeting_participants} from the comma-joined {@code meetings.participants} column for
+ * every meeting that has participants but no rows yet. The check is per meeting, so bookings that land
+ * before this runner (the web server is already up) do not hide the legacy meetings, and a rerun inserts
+ * nothing. Meetings booked after the upgrade get their rows from JPA directly.
+ * Rows written before {@code start_time}/{@code end_time} were copied in get them from their meeting.
+ */
+@Configuration
+@Profile("!inmemory")
+public class MeetingParticipantMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(MeetingParticipantMigration.class);
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    CommandLineRunner backfillMeetingParticipants(DataSource dataSource, JdbcTemplate jdbc) {
+        return args -> {
+            try (Connection connection = dataSource.getConnection()) {
+                if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                    return;
+                }
+            }
+            int timed = jdbc.update("""
+                    UPDATE meeting_participants p SET start_time = m.start_time, end_time = m.end_time
+                    FROM meetings m
+                    WHERE p.meeting_id = m.id AND p.start_time IS NULL
+                    """);
+            if (timed > 0) log.info("Backfilled start and end times of {} meeting participants", timed);
+
+            long start = System.nanoTime();
+            int rows = jdbc.update("""
+                    INSERT INTO meeting_participants (id, meeting_id, email, meeting_date, start_time, end_time)
+                    SELECT nextval('meeting_participants_seq'), p.meeting_id, p.email, p.meeting_date,
+                           p.start_time, p.end_time
+                    FROM (
+                        SELECT DISTINCT m.id AS meeting_id, lower(trim(e)) AS email, m.meeting_date,
+                               m.start_time, m.end_time
+                        FROM meetings m
+                        CROSS JOIN LATERAL unnest(string_to_array(m.participants, ',')) AS e
+                        WHERE m.participants IS NOT NULL AND trim(e) <> ''
+                          AND NOT EXISTS (SELECT 1 FROM meeting_participants a WHERE a.meeting_id = m.id)
+                    ) p
+                    """);
+            if (rows == 0) return;
+            log.info("Backfilled {} meeting participants from CSV in {} ms",
+                    rows, (System.nanoTime() - start) / 1_000_000);
+        };
+    }
+}
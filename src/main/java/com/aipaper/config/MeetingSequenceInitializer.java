@@ -0,0 +1,47 @@
+package com.aipaper.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * Moves {@code meetings_seq} past IDs that were assigned by the old identity column. Without this,
+ * databases created before the switch to a pooled sequence would hand out IDs that already exist.
+ * Never moves the sequence backwards, so it is safe on every start.
+ */
+@Configuration
+@Profile("!inmemory")
+public class MeetingSequenceInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(MeetingSequenceInitializer.class);
+
+    /** Must match {@code allocationSize} on {@code Meeting.id}. */
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    CommandLineRunner alignMeetingSequence(DataSource dataSource, JdbcTemplate jdbc) {
+        return args -> {
+            try (Connection connection = dataSource.getConnection()) {
+                if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                    return;
+                }
+            }
+            Long value = jdbc.queryForObject(
+                    "SELECT setval('meetings_seq', GREATEST("
+                            + "(SELECT COALESCE(MAX(id), 0) FROM meetings) + ?, "
+                            + "(SELECT last_value FROM meetings_seq)))",
+                    Long.class, ALLOCATION_SIZE);
+            log.info("meetings_seq aligned at {}", value);
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.aipaper.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes Hibernate second-level cache statistics for the profile regions as
+ * {@code profiles.cache.gets{region,result}} and {@code profiles.cache.puts{region}}.
+ */
+@Component
+@Profile("!inmemory")
+@ConditionalOnProperty(name = "profiles.cache.enabled", havingValue = "true")
+public class ProfileCacheMetrics implements MeterBinder {
+
+    private static final String[] REGIONS = {"user_profiles", "user_profiles_by_email"};
+
+    private final Statistics statistics;
+
+    public ProfileCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : REGIONS) {
+            counter(registry, "profiles.cache.gets", region, "hit", CacheRegionStatistics::getHitCount);
+            counter(registry, "profiles.cache.gets", region, "miss", CacheRegionStatistics::getMissCount);
+            FunctionCounter.builder("profiles.cache.puts", this, m -> m.read(region, CacheRegionStatistics::getPutCount))
+                    .tag("region", region)
+                    .register(registry);
+        }
+    }
+
+    private void counter(MeterRegistry registry, String name, String region, String result,
+                         ToDoubleFunction<CacheRegionStatistics> value) {
+        FunctionCounter.builder(name, this, m -> m.read(region, value))
+                .tag("region", region)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private double read(String region, ToDoubleFunction<CacheRegionStatistics> value) {
+        CacheRegionStatistics stats = statistics.getDomainDataRegionStatistics(region);
+        return stats != null ? value.applyAsDouble(stats) : 0;
+    }
+}
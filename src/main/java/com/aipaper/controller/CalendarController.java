@@ -0,0 +1,62 @@
+package com.aipaper.controller;
+
+import com.aipaper.dto.MeetingPage;
+import com.aipaper.service.booking.MeetingCalendarService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Calendar range views: keyset-paginated lists ({@code cursor} comes from the previous page's
+ * {@code nextCursor}) and a streamed CSV export for large ranges.
+ */
+@RestController
+@RequestMapping("/api/calendar")
+public class CalendarController {
+
+    private final MeetingCalendarService calendar;
+
+    public CalendarController(MeetingCalendarService calendar) {
+        this.calendar = calendar;
+    }
+
+    @GetMapping("/organizers/{email}/meetings")
+    public MeetingPage organizerMeetings(@PathVariable String email,
+                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer size) {
+        return calendar.organizerPage(email, from, to, cursor, size);
+    }
+
+    @GetMapping("/participants/{email}/meetings")
+    public MeetingPage participantMeetings(@PathVariable String email,
+                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) Integer size) {
+        return calendar.participantPage(email, from, to, cursor, size);
+    }
+
+    @GetMapping(value = "/organizers/{email}/meetings/export", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportOrganizerMeetings(
+            @PathVariable String email,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (to.isBefore(from)) throw new IllegalArgumentException("A date range with from <= to is required");
+        StreamingResponseBody body = out -> calendar.exportOrganizerCsv(email, from, to,
+                new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("text/csv")).body(body);
+    }
+}
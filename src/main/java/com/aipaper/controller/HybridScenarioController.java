@@ -0,0 +1,55 @@
+package com.aipaper.controller;
+
+import com.aipaper.dto.MeetingBookingRequest;
+import com.aipaper.dto.MeetingBookingResult;
+import com.aipaper.dto.NormalizationRequest;
+import com.aipaper.dto.NormalizedDataResult;
+import com.aipaper.dto.UserProfileResult;
+import com.aipaper.service.scenario.hybrid.HybridCommandExecutionService;
+import com.aipaper.service.scenario.hybrid.HybridDataNormalizationService;
+import com.aipaper.service.scenario.hybrid.HybridDataRetrievalService;
+import com.aipaper.service.scenario.hybrid.HybridResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Deterministic-first endpoints; {@code provider} is the LLM used when a request escalates.
+ */
+@RestController
+@RequestMapping("/api/hybrid")
+public class HybridScenarioController {
+
+    private final HybridDataRetrievalService retrieval;
+    private final HybridDataNormalizationService normalization;
+    private final HybridCommandExecutionService command;
+
+    public HybridScenarioController(HybridDataRetrievalService retrieval,
+                                    HybridDataNormalizationService normalization,
+                                    HybridCommandExecutionService command) {
+        this.retrieval = retrieval;
+        this.normalization = normalization;
+        this.command = command;
+    }
+
+    @GetMapping("/users")
+    public HybridResult<UserProfileResult> fetchUser(@RequestParam String email,
+                                                     @RequestParam(defaultValue = "ollama") String provider) {
+        return retrieval.fetchUserByEmail(ProviderParam.parse(provider), email);
+    }
+
+    @PostMapping("/normalize")
+    public HybridResult<NormalizedDataResult> normalize(@RequestBody NormalizationRequest request,
+                                                        @RequestParam(defaultValue = "ollama") String provider) {
+        return normalization.normalize(ProviderParam.parse(provider), request);
+    }
+
+    @PostMapping("/meetings")
+    public HybridResult<MeetingBookingResult> bookMeeting(@RequestBody MeetingBookingRequest request,
+                                                          @RequestParam(defaultValue = "ollama") String provider) {
+        return command.bookMeeting(ProviderParam.parse(provider), request);
+    }
+}
@@ -0,0 +1,60 @@
+package com.aipaper.controller;
+
+import com.aipaper.dto.MeetingBookingRequest;
+import com.aipaper.dto.MeetingBookingResult;
+import com.aipaper.dto.NormalizationRequest;
+import com.aipaper.dto.NormalizedDataResult;
+import com.aipaper.dto.UserProfileResult;
+import com.aipaper.service.LlmProvider;
+import com.aipaper.service.scenario.llm.LlmCommandExecutionService;
+import com.aipaper.service.scenario.llm.LlmDataNormalizationService;
+import com.aipaper.service.scenario.llm.LlmDataRetrievalService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * LLM scenario endpoints. {@code provider} pins the call to one provider; without it the call is
+ * routed (and, for read-only scenarios, hedged) across {@code llm.routing.targets}.
+ * Handlers block for the model call, which is cheap when requests run on virtual threads.
+ */
+@RestController
+@RequestMapping("/api/llm")
+public class LlmScenarioController {
+
+    private final LlmDataRetrievalService retrieval;
+    private final LlmDataNormalizationService normalization;
+    private final LlmCommandExecutionService command;
+
+    public LlmScenarioController(LlmDataRetrievalService retrieval,
+                                 LlmDataNormalizationService normalization,
+                                 LlmCommandExecutionService command) {
+        this.retrieval = retrieval;
+        this.normalization = normalization;
+        this.command = command;
+    }
+
+    @GetMapping("/users")
+    public UserProfileResult fetchUser(@RequestParam String email,
+                                       @RequestParam(required = false) String provider) {
+        LlmProvider p = ProviderParam.parse(provider);
+        return p != null ? retrieval.fetchUserByEmail(p, email) : retrieval.fetchUserByEmail(email);
+    }
+
+    @PostMapping("/normalize")
+    public NormalizedDataResult normalize(@RequestBody NormalizationRequest request,
+                                          @RequestParam(required = false) String provider) {
+        LlmProvider p = ProviderParam.parse(provider);
+        return p != null ? normalization.normalize(p, request) : normalization.normalize(request);
+    }
+
+    @PostMapping("/meetings")
+    public MeetingBookingResult bookMeeting(@RequestBody MeetingBookingRequest request,
+                                            @RequestParam(required = false) String provider) {
+        LlmProvider p = ProviderParam.parse(provider);
+        return p != null ? command.bookMeeting(p, request) : command.bookMeeting(request);
+    }
+}
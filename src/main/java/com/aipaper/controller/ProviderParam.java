@@ -0,0 +1,22 @@
+package com.aipaper.controller;
+
+import com.aipaper.service.LlmProvider;
+
+import java.util.Locale;
+
+/**
+ * Case-insensitive {@code provider} query parameter; blank means "let the router choose".
+ */
+final class ProviderParam {
+
+    private ProviderParam() {}
+
+    static LlmProvider parse(String value) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            return LlmProvider.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown provider: " + value);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.aipaper.controller;
+
+import com.aipaper.exception.LlmProviderUnavailableException;
+import com.aipaper.exception.LlmResponseValidationException;
+import com.aipaper.exception.UserNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps scenario failures to RFC 7807 problem responses so load generators can tell client
+ * errors from upstream (LLM) failures by status code alone.
+ */
+@RestControllerAdvice(basePackageClasses = ScenarioExceptionHandler.class)
+public class ScenarioExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ScenarioExceptionHandler.class);
+
+    /** Malformed input: unknown provider, bad date range, unparseable date or time. */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail badRequest(IllegalArgumentException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    @ExceptionHandler(UserNotFoundException.class)
+    public ProblemDetail notFound(UserNotFoundException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
+    }
+
+    /** Raised when the database exclusion constraints reject an overlapping meeting. */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ProblemDetail conflict(DataIntegrityViolationException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMostSpecificCause().getMessage());
+    }
+
+    @ExceptionHandler(LlmResponseValidationException.class)
+    public ProblemDetail invalidLlmResponse(LlmResponseValidationException e) {
+        log.debug("LLM response rejected: {}", e.getMessage());
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_GATEWAY, e.getMessage());
+    }
+
+    @ExceptionHandler(LlmProviderUnavailableException.class)
+    public ProblemDetail providerUnavailable(LlmProviderUnavailableException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+    }
+}
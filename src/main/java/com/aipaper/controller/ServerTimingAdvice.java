@@ -0,0 +1,39 @@
+package com.aipaper.controller;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Locale;
+
+/**
+ * Adds {@code Server-Timing: app;dur=...} and {@code X-Response-Time-Ms} just before the body is
+ * written, i.e. after the handler ran but before headers are committed.
+ */
+@RestControllerAdvice(basePackageClasses = ServerTimingAdvice.class)
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+                                  Class<? extends HttpMessageConverter<?>> converterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servlet
+                && servlet.getServletRequest().getAttribute(RequestTimingFilter.START_ATTRIBUTE) instanceof Long start) {
+            double ms = (System.nanoTime() - start) / 1_000_000.0;
+            String formatted = String.format(Locale.ROOT, "%.3f", ms);
+            response.getHeaders().set("Server-Timing", "app;dur=" + formatted);
+            response.getHeaders().set("X-Response-Time-Ms", formatted);
+        }
+        return body;
+    }
+}
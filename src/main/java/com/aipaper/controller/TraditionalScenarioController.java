@@ -0,0 +1,55 @@
+package com.aipaper.controller;
+
+import com.aipaper.dto.MeetingBookingRequest;
+import com.aipaper.dto.MeetingBookingResult;
+import com.aipaper.dto.NormalizationRequest;
+import com.aipaper.dto.NormalizedDataResult;
+import com.aipaper.dto.UserProfileResult;
+import com.aipaper.service.scenario.traditional.TraditionalCommandExecutionService;
+import com.aipaper.service.scenario.traditional.TraditionalDataNormalizationService;
+import com.aipaper.service.scenario.traditional.TraditionalDataRetrievalService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/traditional")
+public class TraditionalScenarioController {
+
+    private final TraditionalDataRetrievalService retrieval;
+    private final TraditionalDataNormalizationService normalization;
+    private final TraditionalCommandExecutionService command;
+
+    public TraditionalScenarioController(TraditionalDataRetrievalService retrieval,
+                                         TraditionalDataNormalizationService normalization,
+                                         TraditionalCommandExecutionService command) {
+        this.retrieval = retrieval;
+        this.normalization = normalization;
+        this.command = command;
+    }
+
+    @GetMapping("/users")
+    public UserProfileResult fetchUser(@RequestParam String email) {
+        return retrieval.fetchUserByEmail(email);
+    }
+
+    @PostMapping("/normalize")
+    public NormalizedDataResult normalize(@RequestBody NormalizationRequest request) {
+        return normalization.normalize(request);
+    }
+
+    @PostMapping("/meetings")
+    public MeetingBookingResult bookMeeting(@RequestBody MeetingBookingRequest request) {
+        return command.bookMeeting(request);
+    }
+
+    @PostMapping("/meetings/bulk")
+    public List<MeetingBookingResult> bookMeetings(@RequestBody List<MeetingBookingRequest> requests) {
+        return command.bookMeetings(requests);
+    }
+}
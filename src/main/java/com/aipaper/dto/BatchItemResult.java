@@ -0,0 +1,24 @@
+package com.aipaper.dto;
+
+/**
+ * Outcome of one item in a batched LLM call, in input order.
+ * {@code attempts} is 1 when the batch answer was accepted and 2 when the item had to be retried on its own.
+ */
+public record BatchItemResult<T>(
+        int index,
+        T value,
+        String error,
+        int attempts
+) {
+    public static <T> BatchItemResult<T> success(int index, T value, int attempts) {
+        return new BatchItemResult<>(index, value, null, attempts);
+    }
+
+    public static <T> BatchItemResult<T> failure(int index, String error, int attempts) {
+        return new BatchItemResult<>(index, null, error, attempts);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -1,9 +1,10 @@
 package com.aipaper.dto;
 
+import com.aipaper.validation.RequiredWhen;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public record MeetingBookingResult(
         @JsonProperty(required = true, value = "success") boolean success,
-        @JsonProperty(value = "meetingId") Long meetingId,
-        @JsonProperty(value = "message") String message
+        @JsonProperty(value = "meetingId") @RequiredWhen(property = "success", equalTo = "true") Long meetingId,
+        @JsonProperty(value = "message") @RequiredWhen(property = "success", equalTo = "false") String message
 ) {}
@@ -0,0 +1,13 @@
+package com.aipaper.dto;
+
+import com.aipaper.repository.MeetingSummary;
+
+import java.util.List;
+
+/**
+ * One keyset page of a calendar range. {@code nextCursor} is null on the last page.
+ */
+public record MeetingPage(
+        List<MeetingSummary> items,
+        String nextCursor
+) {}
@@ -1,8 +1,9 @@
 package com.aipaper.dto;
 
+import com.aipaper.validation.Format;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public record NormalizedDataResult(
-        @JsonProperty(required = true, value = "normalizedDate") String normalizedDate,
+        @JsonProperty(required = true, value = "normalizedDate") @Format(Format.Kind.ISO_DATE) String normalizedDate,
         @JsonProperty(required = true, value = "normalizedAddress") String normalizedAddress
 ) {}
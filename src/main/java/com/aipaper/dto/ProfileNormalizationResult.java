@@ -0,0 +1,6 @@
+package com.aipaper.dto;
+
+public record ProfileNormalizationResult(
+        UserProfileResult profile,
+        NormalizedDataResult normalized
+) {}
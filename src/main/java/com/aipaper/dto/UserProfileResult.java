@@ -1,9 +1,10 @@
 package com.aipaper.dto;
 
+import com.aipaper.validation.Format;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public record UserProfileResult(
-        @JsonProperty(required = true, value = "email") String email,
+        @JsonProperty(required = true, value = "email") @Format(Format.Kind.EMAIL) String email,
         @JsonProperty(required = true, value = "firstName") String firstName,
         @JsonProperty(required = true, value = "lastName") String lastName,
         @JsonProperty(value = "phone") String phone,
@@ -4,24 +4,38 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 @Entity
-@Table(name = "meetings")
+@Table(name = "meetings", indexes = {
+        @Index(name = "idx_meetings_organizer_calendar", columnList = "organizer_email, meeting_date, start_time, id"),
+        @Index(name = "idx_meetings_calendar", columnList = "meeting_date, start_time, id")
+})
 public class Meeting {
 
+    /** Pooled sequence so Hibernate can assign IDs in memory and batch the inserts. */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "meetings_seq")
+    @SequenceGenerator(name = "meetings_seq", sequenceName = "meetings_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String title;
 
+    /** Trimmed and lower-cased, like attendee emails, so the organizer calendar index matches any spelling. */
     @Column(name = "organizer_email", nullable = false)
     private String organizerEmail;
 
+    /** Comma-joined attendees as booked; {@link #attendees} is the indexed form. */
     @Column(columnDefinition = "TEXT")
     private String participants;
 
+    @OneToMany(mappedBy = "meeting", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<MeetingParticipant> attendees = new ArrayList<>();
+
     @Column(name = "meeting_date", nullable = false)
     private LocalDate meetingDate;
 
@@ -47,12 +61,12 @@ public class Meeting {
     public Meeting(String title, String organizerEmail, String participants,
                    LocalDate meetingDate, LocalTime startTime, LocalTime endTime, String location) {
         this.title = title;
-        this.organizerEmail = organizerEmail;
-        this.participants = participants;
+        setOrganizerEmail(organizerEmail);
         this.meetingDate = meetingDate;
         this.startTime = startTime;
         this.endTime = endTime;
         this.location = location;
+        setParticipants(participants);
     }
 
     public Long getId() { return id; }
@@ -60,15 +74,39 @@ public class Meeting {
     public String getTitle() { return title; }
     public void setTitle(String title) { this.title = title; }
     public String getOrganizerEmail() { return organizerEmail; }
-    public void setOrganizerEmail(String organizerEmail) { this.organizerEmail = organizerEmail; }
+    public void setOrganizerEmail(String organizerEmail) {
+        this.organizerEmail = organizerEmail != null ? MeetingParticipant.normalizeEmail(organizerEmail) : null;
+    }
     public String getParticipants() { return participants; }
-    public void setParticipants(String participants) { this.participants = participants; }
+    public List<MeetingParticipant> getAttendees() { return attendees; }
+
+    /** Also rebuilds {@link #attendees}, one row per distinct address. */
+    public void setParticipants(String participants) {
+        this.participants = participants;
+        attendees.clear();
+        if (participants == null) return;
+        Set<String> seen = new LinkedHashSet<>();
+        for (String p : participants.split(",")) {
+            if (!p.isBlank() && seen.add(MeetingParticipant.normalizeEmail(p))) {
+                attendees.add(new MeetingParticipant(this, p));
+            }
+        }
+    }
     public LocalDate getMeetingDate() { return meetingDate; }
-    public void setMeetingDate(LocalDate meetingDate) { this.meetingDate = meetingDate; }
+    public void setMeetingDate(LocalDate meetingDate) {
+        this.meetingDate = meetingDate;
+        for (MeetingParticipant attendee : attendees) attendee.setMeetingDate(meetingDate);
+    }
     public LocalTime getStartTime() { return startTime; }
-    public void setStartTime(LocalTime startTime) { this.startTime = startTime; }
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+        for (MeetingParticipant attendee : attendees) attendee.setStartTime(startTime);
+    }
     public LocalTime getEndTime() { return endTime; }
-    public void setEndTime(LocalTime endTime) { this.endTime = endTime; }
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+        for (MeetingParticipant attendee : attendees) attendee.setEndTime(endTime);
+    }
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
     public LocalDateTime getCreatedAt() { return createdAt; }
@@ -0,0 +1,66 @@
+package com.aipaper.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Locale;
+
+/**
+ * One attendee of a meeting. {@code meetingDate} is copied from the meeting so that
+ * "agenda of X between two dates" is a range scan on {@code (email, meeting_date)}; the times are
+ * copied too so that PostgreSQL can exclude overlapping bookings per attendee.
+ */
+@Entity
+@Table(name = "meeting_participants",
+        uniqueConstraints = @UniqueConstraint(name = "uk_meeting_participant", columnNames = {"meeting_id", "email"}),
+        indexes = @Index(name = "idx_meeting_participants_email_date", columnList = "email, meeting_date"))
+public class MeetingParticipant {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "meeting_participants_seq")
+    @SequenceGenerator(name = "meeting_participants_seq", sequenceName = "meeting_participants_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "meeting_id", nullable = false)
+    private Meeting meeting;
+
+    /** Trimmed and lower-cased. */
+    @Column(nullable = false)
+    private String email;
+
+    @Column(name = "meeting_date", nullable = false)
+    private LocalDate meetingDate;
+
+    /** Nullable only for rows written before the column existed; the migration backfills them. */
+    @Column(name = "start_time")
+    private LocalTime startTime;
+
+    @Column(name = "end_time")
+    private LocalTime endTime;
+
+    protected MeetingParticipant() {}
+
+    MeetingParticipant(Meeting meeting, String email) {
+        this.meeting = meeting;
+        this.email = normalizeEmail(email);
+        this.meetingDate = meeting.getMeetingDate();
+        this.startTime = meeting.getStartTime();
+        this.endTime = meeting.getEndTime();
+    }
+
+    public static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public Long getId() { return id; }
+    public Meeting getMeeting() { return meeting; }
+    public String getEmail() { return email; }
+    public LocalDate getMeetingDate() { return meetingDate; }
+    public LocalTime getStartTime() { return startTime; }
+    public LocalTime getEndTime() { return endTime; }
+
+    void setMeetingDate(LocalDate meetingDate) { this.meetingDate = meetingDate; }
+    void setStartTime(LocalTime startTime) { this.startTime = startTime; }
+    void setEndTime(LocalTime endTime) { this.endTime = endTime; }
+}
@@ -1,16 +1,28 @@
 package com.aipaper.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import java.time.LocalDateTime;
 
+/**
+ * Cacheable by natural ID (email); the annotations are inert unless
+ * {@code profiles.cache.enabled} turns on the second-level cache.
+ */
 @Entity
 @Table(name = "user_profiles")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user_profiles")
+@NaturalIdCache(region = "user_profiles_by_email")
 public class UserProfile {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String email;
 
@@ -0,0 +1,12 @@
+package com.aipaper.exception;
+
+public class LlmProviderUnavailableException extends RuntimeException {
+
+    public LlmProviderUnavailableException(String message) {
+        super(message);
+    }
+
+    public LlmProviderUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,9 @@
+package com.aipaper.exception;
+
+/** A well-formed lookup for an email that has no profile; a miss, not a bad request. */
+public class UserNotFoundException extends RuntimeException {
+
+    public UserNotFoundException(String email) {
+        super("User not found: " + email);
+    }
+}
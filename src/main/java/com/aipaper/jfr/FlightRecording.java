@@ -0,0 +1,91 @@
+package com.aipaper.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Records the whole run under the {@code jfr} profile: started before the benchmark runners and
+ * written to {@code jfr.file} when the context closes. {@code %t} and {@code %p} in the file name
+ * become the start time and the process id, as with {@code -XX:StartFlightRecording}.
+ */
+@Component
+@Profile("jfr")
+public class FlightRecording implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightRecording.class);
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyy_MM_dd_HH_mm_ss");
+
+    private final String settings;
+    private final String file;
+    private Recording recording;
+    private Path destination;
+
+    public FlightRecording(@Value("${jfr.settings:profile}") String settings,
+                           @Value("${jfr.file:benchmark-%t.jfr}") String file) {
+        this.settings = settings;
+        this.file = file;
+    }
+
+    @Override
+    public synchronized void start() {
+        try {
+            destination = Path.of(file
+                    .replace("%t", LocalDateTime.now().format(FILE_TIME))
+                    .replace("%p", String.valueOf(ProcessHandle.current().pid()))).toAbsolutePath();
+            if (destination.getParent() != null) Files.createDirectories(destination.getParent());
+            recording = new Recording(configuration());
+            recording.setName("aipaper-benchmark");
+            recording.setToDisk(true);
+            recording.setDestination(destination);
+            recording.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot start flight recording to " + file, e);
+        }
+        log.info("Flight recording started ({} settings), written to {} on shutdown", settings, destination);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (recording == null) return;
+        recording.stop();
+        recording.close();
+        recording = null;
+        log.info("Flight recording written to {}", destination);
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return recording != null;
+    }
+
+    /** Started before, and stopped after, every other lifecycle bean. */
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE;
+    }
+
+    /** A JDK configuration name ({@code default}, {@code profile}) or the path of a {@code .jfc} file. */
+    private Configuration configuration() throws IOException {
+        try {
+            Path path = Path.of(settings);
+            return Files.isRegularFile(path) ? Configuration.create(path) : Configuration.getConfiguration(settings);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Invalid JFR settings " + settings + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.aipaper.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One benchmarked scenario call, from prompt rendering to the validated (or rejected) answer.
+ * Carries the same token figures and outcome as the CSV row it produced.
+ */
+@Name("com.aipaper.LlmCall")
+@Label("LLM Call")
+@Category({"AI Paper", "LLM"})
+@Description("Benchmarked scenario call including tool round trips, parsing and validation")
+@StackTrace(false)
+public final class LlmCallEvent extends Event {
+
+    @Label("Run")
+    @Description("Benchmark run label, e.g. Ollama/mistral:7b#v2+schema")
+    private String run;
+
+    @Label("Provider")
+    private String provider;
+
+    @Label("Model")
+    private String model;
+
+    @Label("Scenario")
+    private String scenario;
+
+    @Label("Prompt Tokens")
+    private long promptTokens;
+
+    @Label("Completion Tokens")
+    private long completionTokens;
+
+    @Label("Tokens Estimated")
+    private boolean tokensEstimated;
+
+    @Label("Accurate")
+    private boolean accurate;
+
+    @Label("Error Type")
+    private String errorType;
+
+    public static LlmCallEvent start(String run, String provider, String model, String scenario) {
+        LlmCallEvent event = new LlmCallEvent();
+        event.run = run;
+        event.provider = provider;
+        event.model = model;
+        event.scenario = scenario;
+        event.begin();
+        return event;
+    }
+
+    public void finish(long promptTokens, long completionTokens, boolean tokensEstimated,
+                       boolean accurate, String errorType) {
+        end();
+        if (shouldCommit()) {
+            this.promptTokens = promptTokens;
+            this.completionTokens = completionTokens;
+            this.tokensEstimated = tokensEstimated;
+            this.accurate = accurate;
+            this.errorType = errorType;
+            commit();
+        }
+    }
+}
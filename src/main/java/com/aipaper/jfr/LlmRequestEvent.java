@@ -0,0 +1,74 @@
+package com.aipaper.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One request to a provider's chat model, as seen by the circuit breaker: every tool round trip of
+ * a call is its own request. Streamed requests end on the thread that completes the stream.
+ */
+@Name("com.aipaper.LlmRequest")
+@Label("LLM Request")
+@Category({"AI Paper", "LLM"})
+@Description("Single chat model request, from acquiring the circuit breaker to the last response chunk")
+@StackTrace(false)
+public final class LlmRequestEvent extends Event {
+
+    public static final String OK = "OK";
+    /** A stream the caller cancelled after content had arrived, e.g. once the parser saw a complete object. */
+    public static final String OK_EARLY_STOP = "OK_EARLY_STOP";
+    public static final String ERROR = "ERROR";
+    public static final String CANCELLED = "CANCELLED";
+    public static final String REJECTED = "REJECTED";
+
+    @Label("Provider")
+    private String provider;
+
+    @Label("Model")
+    private String model;
+
+    @Label("Streamed")
+    private boolean streamed;
+
+    @Label("Prompt Tokens")
+    @Description("As reported by the provider; 0 when it reported none")
+    private long promptTokens;
+
+    @Label("Completion Tokens")
+    @Description("As reported by the provider; 0 when it reported none")
+    private long completionTokens;
+
+    @Label("Outcome")
+    @Description("OK, OK_EARLY_STOP, ERROR, CANCELLED before any content, or REJECTED by an open circuit")
+    private String outcome;
+
+    @Label("Error")
+    private String error;
+
+    public static LlmRequestEvent start(String provider, String model, boolean streamed) {
+        LlmRequestEvent event = new LlmRequestEvent();
+        event.provider = provider;
+        event.model = model;
+        event.streamed = streamed;
+        event.begin();
+        return event;
+    }
+
+    public void tokens(Integer promptTokens, Integer completionTokens) {
+        if (promptTokens != null) this.promptTokens = promptTokens;
+        if (completionTokens != null) this.completionTokens = completionTokens;
+    }
+
+    public void finish(String outcome, Throwable error) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            this.error = error != null ? error.getClass().getSimpleName() : null;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.aipaper.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Turning a model's answer into the response DTO: Jackson, the streaming parser or local repair. */
+@Name("com.aipaper.ResponseParse")
+@Label("Response Parse")
+@Category({"AI Paper", "Parsing"})
+@Description("Deserialization of an LLM answer into its response type")
+@StackTrace(false)
+public final class ResponseParseEvent extends Event {
+
+    public static final String JACKSON = "JACKSON";
+    public static final String STREAMING = "STREAMING";
+    public static final String REPAIR = "REPAIR";
+
+    @Label("Type")
+    private String type;
+
+    @Label("Parser")
+    @Description("JACKSON, STREAMING or REPAIR")
+    private String parser;
+
+    @Label("Characters")
+    private long characters;
+
+    @Label("Success")
+    private boolean success;
+
+    @Label("Error")
+    private String error;
+
+    public static ResponseParseEvent start(Class<?> type, String parser, int characters) {
+        ResponseParseEvent event = new ResponseParseEvent();
+        event.type = type.getSimpleName();
+        event.parser = parser;
+        event.characters = characters;
+        event.begin();
+        return event;
+    }
+
+    public void finish(Throwable error) {
+        end();
+        if (shouldCommit()) {
+            this.success = error == null;
+            this.error = error != null ? error.getClass().getSimpleName() : null;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.aipaper.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One {@code LlmResponseValidator} check of a response DTO. */
+@Name("com.aipaper.ResponseValidation")
+@Label("Response Validation")
+@Category({"AI Paper", "Validation"})
+@Description("Annotation-driven validation of a response DTO")
+@StackTrace(false)
+public final class ResponseValidationEvent extends Event {
+
+    @Label("Type")
+    private String type;
+
+    @Label("Valid")
+    private boolean valid;
+
+    @Label("Failure")
+    private String failure;
+
+    public static ResponseValidationEvent start(Class<?> type) {
+        ResponseValidationEvent event = new ResponseValidationEvent();
+        event.type = type != null ? type.getSimpleName() : null;
+        event.begin();
+        return event;
+    }
+
+    public void finish(RuntimeException failure) {
+        end();
+        if (shouldCommit()) {
+            this.valid = failure == null;
+            this.failure = failure != null ? failure.getMessage() : null;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.aipaper.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import reactor.core.publisher.Mono;
+
+/**
+ * One {@code @Tool} invocation by the model. {@code dbTime} is the part spent in repository calls;
+ * the rest is argument parsing, conflict checks and formatting the reply.
+ */
+@Name("com.aipaper.ToolInvocation")
+@Label("Tool Invocation")
+@Category({"AI Paper", "Tools"})
+@Description("Tool callback invoked by the model, with the time spent in the database")
+@StackTrace(false)
+public final class ToolInvocationEvent extends Event {
+
+    @Label("Tool")
+    private String tool;
+
+    @Label("Persistence")
+    private String persistence;
+
+    @Label("DB Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long dbTime;
+
+    @Label("Success")
+    @Description("Whether the reply handed back to the model reports success")
+    private boolean success;
+
+    public static ToolInvocationEvent start(String tool, String persistence) {
+        ToolInvocationEvent event = new ToolInvocationEvent();
+        event.tool = tool;
+        event.persistence = persistence;
+        event.begin();
+        return event;
+    }
+
+    public void addDbTime(long nanos) {
+        dbTime += nanos;
+    }
+
+    /**
+     * Adds the time from subscription to termination (or cancellation) of {@code query} to {@code dbTime}.
+     * Recorded before the result is passed on, so a caller that blocks on it sees the time before {@link #finish()}.
+     */
+    public <T> Mono<T> timeDb(Mono<T> query) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return query.doOnTerminate(() -> addDbTime(System.nanoTime() - start))
+                    .doOnCancel(() -> addDbTime(System.nanoTime() - start));
+        });
+    }
+
+    /** Marks the reply as a hit or a booking; unmarked invocations are recorded as failures. */
+    public void succeeded() {
+        success = true;
+    }
+
+    public void finish() {
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.aipaper.parsing;
+
+/**
+ * Canonical form used to match field-name aliases: {@code first_name}, {@code First-Name} and
+ * {@code firstName} all map to {@code firstname}.
+ */
+final class FieldAliases {
+
+    private FieldAliases() {}
+
+    static String canonical(CharSequence name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c != '_' && c != '-' && c != ' ') sb.append(Character.toLowerCase(c));
+        }
+        return sb.toString();
+    }
+}
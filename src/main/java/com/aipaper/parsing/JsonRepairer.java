@@ -0,0 +1,233 @@
+package com.aipaper.parsing;
+
+import com.aipaper.exception.SchemaValidationException;
+import com.aipaper.service.scenario.traditional.TraditionalDataNormalizationService;
+import com.aipaper.validation.Format;
+import com.aipaper.validation.FormatScanners;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Deterministic, local fix-ups for near-miss JSON answers, tried before a response is counted as a failure.
+ * Text level: single quotes, unquoted keys, Python literals, trailing commas, unterminated strings and missing
+ * closing braces. Tree level: snake_case / kebab-case / case-variant field aliases and {@link Format.Kind#ISO_DATE}
+ * fields in any spelling {@link TraditionalDataNormalizationService#normalizeDate} understands.
+ */
+@Component
+public class JsonRepairer {
+
+    /** Repaired value plus the names of the fixes that were needed. */
+    public record Repaired<T>(T value, List<String> repairs) {}
+
+    private static final Map<String, String> LITERALS = Map.of(
+            "True", "true", "False", "false", "None", "null", "TRUE", "true", "FALSE", "false", "NULL", "null");
+
+    private final ObjectMapper objectMapper;
+    private final TraditionalDataNormalizationService dateNormalizer;
+
+    public JsonRepairer(ObjectMapper objectMapper, TraditionalDataNormalizationService dateNormalizer) {
+        this.objectMapper = objectMapper;
+        this.dateNormalizer = dateNormalizer;
+    }
+
+    /**
+     * Repairs {@code content} into {@code type}. Throws {@link SchemaValidationException} when the text has no
+     * object, still does not parse, or needed no repair at all (the original failure then stands).
+     */
+    public <T> Repaired<T> repair(String content, Class<T> type) {
+        Set<String> repairs = new LinkedHashSet<>();
+        String text = repairText(content, repairs);
+
+        JsonNode tree;
+        try {
+            tree = objectMapper.readTree(text);
+        } catch (Exception e) {
+            throw new SchemaValidationException("JSON still invalid after repair: " + e.getMessage(), e);
+        }
+        if (!(tree instanceof ObjectNode object)) {
+            throw new SchemaValidationException("Repaired JSON is not an object");
+        }
+        if (type.isRecord()) {
+            repairFields(object, type, repairs);
+        }
+        if (repairs.isEmpty()) {
+            throw new SchemaValidationException("Nothing to repair");
+        }
+        try {
+            return new Repaired<>(objectMapper.treeToValue(object, type), List.copyOf(repairs));
+        } catch (Exception e) {
+            throw new SchemaValidationException("Repaired JSON does not map to " + type.getSimpleName()
+                    + ": " + e.getMessage(), e);
+        }
+    }
+
+    // ---------------------------------------------------------------
+    //  Text level
+    // ---------------------------------------------------------------
+
+    static String repairText(String content, Set<String> repairs) {
+        int start = content == null ? -1 : content.indexOf('{');
+        if (start < 0) throw new SchemaValidationException("No JSON object to repair");
+
+        StringBuilder out = new StringBuilder(content.length() + 8);
+        Deque<Character> open = new ArrayDeque<>();
+        char quote = 0;
+        boolean escaped = false;
+
+        for (int i = start; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (quote != 0) {
+                if (escaped) {
+                    escaped = false;
+                    out.append(c);
+                } else if (c == '\\') {
+                    escaped = true;
+                    out.append(c);
+                } else if (c == quote) {
+                    quote = 0;
+                    out.append('"');
+                } else if (c == '"') {
+                    out.append("\\\"");
+                } else if (c == '\n') {
+                    repairs.add("string-newlines");
+                    out.append("\\n");
+                } else {
+                    out.append(c);
+                }
+                continue;
+            }
+            switch (c) {
+                case '"', '\'' -> {
+                    if (c == '\'') repairs.add("single-quotes");
+                    quote = c;
+                    out.append('"');
+                }
+                case '{', '[' -> {
+                    open.push(c);
+                    out.append(c);
+                }
+                case '}', ']' -> {
+                    if (dropTrailingComma(out)) repairs.add("trailing-comma");
+                    if (!open.isEmpty()) open.pop();
+                    out.append(c);
+                    if (open.isEmpty()) return out.toString();
+                }
+                default -> {
+                    if (Character.isLetter(c) || c == '_' || c == '$') {
+                        int end = i;
+                        while (end < content.length() && isIdentifierPart(content.charAt(end))) end++;
+                        String word = content.substring(i, end);
+                        if (isKeyPosition(out) && nextNonSpace(content, end) == ':') {
+                            repairs.add("unquoted-keys");
+                            out.append('"').append(word).append('"');
+                        } else if (LITERALS.containsKey(word)) {
+                            repairs.add("literals");
+                            out.append(LITERALS.get(word));
+                        } else {
+                            out.append(word);
+                        }
+                        i = end - 1;
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+
+        if (quote != 0) {
+            out.append('"');
+            repairs.add("unterminated-string");
+        }
+        if (dropTrailingComma(out)) repairs.add("trailing-comma");
+        if (lastNonSpace(out) == ':') out.append("null");
+        if (!open.isEmpty()) repairs.add("closing-braces");
+        while (!open.isEmpty()) out.append(open.pop() == '{' ? '}' : ']');
+        return out.toString();
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '-';
+    }
+
+    private static boolean isKeyPosition(StringBuilder out) {
+        char last = lastNonSpace(out);
+        return last == '{' || last == ',';
+    }
+
+    private static char nextNonSpace(String s, int from) {
+        for (int i = from; i < s.length(); i++) {
+            if (!Character.isWhitespace(s.charAt(i))) return s.charAt(i);
+        }
+        return 0;
+    }
+
+    private static char lastNonSpace(StringBuilder sb) {
+        for (int i = sb.length() - 1; i >= 0; i--) {
+            if (!Character.isWhitespace(sb.charAt(i))) return sb.charAt(i);
+        }
+        return 0;
+    }
+
+    private static boolean dropTrailingComma(StringBuilder out) {
+        for (int i = out.length() - 1; i >= 0; i--) {
+            char c = out.charAt(i);
+            if (Character.isWhitespace(c)) continue;
+            if (c != ',') return false;
+            out.deleteCharAt(i);
+            return true;
+        }
+        return false;
+    }
+
+    // ---------------------------------------------------------------
+    //  Tree level
+    // ---------------------------------------------------------------
+
+    private void repairFields(ObjectNode object, Class<?> type, Set<String> repairs) {
+        Map<String, String> canonicalToField = new LinkedHashMap<>();
+        List<String> isoDateFields = new ArrayList<>();
+        for (RecordComponent c : type.getRecordComponents()) {
+            JsonProperty property = c.getAccessor().getAnnotation(JsonProperty.class);
+            String name = property != null && !property.value().isEmpty() ? property.value() : c.getName();
+            canonicalToField.put(FieldAliases.canonical(name), name);
+            Format format = c.getAnnotation(Format.class);
+            if (format != null && format.value() == Format.Kind.ISO_DATE) isoDateFields.add(name);
+        }
+
+        List<String> names = new ArrayList<>();
+        for (Iterator<String> it = object.fieldNames(); it.hasNext(); ) names.add(it.next());
+        for (String name : names) {
+            if (canonicalToField.containsValue(name)) continue;
+            String target = canonicalToField.get(FieldAliases.canonical(name));
+            if (target != null && !object.has(target)) {
+                object.set(target, object.remove(name));
+                repairs.add("alias:" + name + "->" + target);
+            }
+        }
+
+        for (String field : isoDateFields) {
+            JsonNode value = object.get(field);
+            if (value == null || !value.isTextual() || FormatScanners.isIsoDate(value.asText())) continue;
+            try {
+                object.put(field, dateNormalizer.normalizeDate(value.asText()));
+                repairs.add("date:" + field);
+            } catch (IllegalArgumentException ignored) {
+                // Not a date we can coerce; validation reports it.
+            }
+        }
+    }
+}
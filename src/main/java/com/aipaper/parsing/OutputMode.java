@@ -0,0 +1,22 @@
+package com.aipaper.parsing;
+
+import java.util.Locale;
+
+/**
+ * How a structured answer is requested from the model.
+ */
+public enum OutputMode {
+
+    /** JSON is requested in the prompt text only. */
+    PROMPT,
+    /** The DTO's JSON schema is also sent as the provider's native constrained-output option. */
+    SCHEMA;
+
+    public static OutputMode parse(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
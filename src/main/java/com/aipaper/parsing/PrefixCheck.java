@@ -0,0 +1,36 @@
+package com.aipaper.parsing;
+
+/**
+ * Decides whether a partially streamed string value can still become valid.
+ * Must return {@code true} for every prefix of an acceptable value.
+ */
+@FunctionalInterface
+public interface PrefixCheck {
+
+    boolean accepts(CharSequence partial);
+
+    /** {@code yyyy-MM-dd}, checked character by character. */
+    PrefixCheck ISO_DATE = partial -> {
+        if (partial.length() > 10) return false;
+        for (int i = 0; i < partial.length(); i++) {
+            char c = partial.charAt(i);
+            boolean ok = (i == 4 || i == 7) ? c == '-' : c >= '0' && c <= '9';
+            if (!ok) return false;
+        }
+        return true;
+    };
+
+    /** Characters allowed by the validator's email pattern, with at most one '@'. */
+    PrefixCheck EMAIL = partial -> {
+        int at = 0;
+        for (int i = 0; i < partial.length(); i++) {
+            char c = partial.charAt(i);
+            if (c == '@') {
+                if (++at > 1 || i == 0) return false;
+            } else if (!(Character.isLetterOrDigit(c) || c == '+' || c == '_' || c == '.' || c == '-')) {
+                return false;
+            }
+        }
+        return true;
+    };
+}
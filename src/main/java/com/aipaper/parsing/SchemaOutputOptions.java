@@ -0,0 +1,49 @@
+package com.aipaper.parsing;
+
+import com.aipaper.service.LlmProvider;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.converter.BeanOutputConverter;
+import org.springframework.ai.ollama.api.OllamaOptions;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.ai.openai.api.ResponseFormat;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-request chat options that constrain decoding to a DTO's JSON schema: Ollama {@code format}
+ * and OpenAI-compatible {@code response_format: json_schema} for Gemini and Groq.
+ * Only the format is set; model and temperature are merged in from the model's defaults.
+ */
+public final class SchemaOutputOptions {
+
+    private static final Map<Class<?>, Map<String, Object>> SCHEMAS = new ConcurrentHashMap<>();
+
+    private SchemaOutputOptions() {}
+
+    public static ChatOptions forProvider(LlmProvider provider, Class<?> type) {
+        Map<String, Object> schema = schemaOf(type);
+        if (provider == LlmProvider.OLLAMA) {
+            return OllamaOptions.builder().format(schema).build();
+        }
+        return OpenAiChatOptions.builder()
+                .responseFormat(ResponseFormat.builder()
+                        .type(ResponseFormat.Type.JSON_SCHEMA)
+                        .jsonSchema(ResponseFormat.JsonSchema.builder()
+                                .name(type.getSimpleName())
+                                .schema(schema)
+                                .build())
+                        .build())
+                .build();
+    }
+
+    /** JSON schema generated from the record, without the {@code $schema} meta key some providers reject. */
+    public static Map<String, Object> schemaOf(Class<?> type) {
+        return SCHEMAS.computeIfAbsent(type, t -> {
+            Map<String, Object> schema = new LinkedHashMap<>(new BeanOutputConverter<>(t).getJsonSchemaMap());
+            schema.remove("$schema");
+            return Map.copyOf(schema);
+        });
+    }
+}
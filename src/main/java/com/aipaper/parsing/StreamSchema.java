@@ -0,0 +1,86 @@
+package com.aipaper.parsing;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.lang.reflect.RecordComponent;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Field names, value kinds and prefix checks a streamed flat JSON object must satisfy.
+ * Derived from a DTO record, honouring {@link JsonProperty} names.
+ */
+public final class StreamSchema<T> {
+
+    public enum ValueKind { STRING, BOOLEAN, NUMBER }
+
+    /** {@code coercible}: a value failing {@code check} may still be fixed by the repair stage. */
+    public record Field(String name, ValueKind kind, PrefixCheck check, boolean coercible) {}
+
+    private final Class<T> type;
+    private final Map<String, Field> fields;
+
+    private StreamSchema(Class<T> type, Map<String, Field> fields) {
+        this.type = type;
+        this.fields = Collections.unmodifiableMap(fields);
+    }
+
+    public static <T extends Record> StreamSchema<T> forRecord(Class<T> type) {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        for (RecordComponent c : type.getRecordComponents()) {
+            // @JsonProperty does not target record components; it propagates to the accessor
+            JsonProperty property = c.getAccessor().getAnnotation(JsonProperty.class);
+            String name = property != null && !property.value().isEmpty() ? property.value() : c.getName();
+            fields.put(name, new Field(name, kindOf(c.getType()), null, false));
+        }
+        return new StreamSchema<>(type, fields);
+    }
+
+    /** Returns a copy that also applies {@code check} to the string value of {@code field}. */
+    public StreamSchema<T> withCheck(String field, PrefixCheck check) {
+        return withCheck(field, check, false);
+    }
+
+    /** Like {@link #withCheck}, but a failing value marks the abort as repairable. */
+    public StreamSchema<T> withCoercibleCheck(String field, PrefixCheck check) {
+        return withCheck(field, check, true);
+    }
+
+    private StreamSchema<T> withCheck(String field, PrefixCheck check, boolean coercible) {
+        Field existing = fields.get(field);
+        if (existing == null || existing.kind() != ValueKind.STRING) {
+            throw new IllegalArgumentException("No string field " + field + " in " + type.getSimpleName());
+        }
+        Map<String, Field> copy = new LinkedHashMap<>(fields);
+        copy.put(field, new Field(field, ValueKind.STRING, check, coercible));
+        return new StreamSchema<>(type, copy);
+    }
+
+    public Class<T> type() { return type; }
+
+    Field field(String name) { return fields.get(name); }
+
+    boolean isFieldPrefix(CharSequence prefix) {
+        String p = prefix.toString();
+        for (String name : fields.keySet()) {
+            if (name.startsWith(p)) return true;
+        }
+        return false;
+    }
+
+    /** Whether {@code prefix} could still be an alias (case, '_' or '-' variant) of a field. */
+    boolean isAliasPrefix(CharSequence prefix) {
+        String p = FieldAliases.canonical(prefix);
+        for (String name : fields.keySet()) {
+            if (FieldAliases.canonical(name).startsWith(p)) return true;
+        }
+        return false;
+    }
+
+    private static ValueKind kindOf(Class<?> javaType) {
+        if (javaType == boolean.class || javaType == Boolean.class) return ValueKind.BOOLEAN;
+        if (javaType.isPrimitive() || Number.class.isAssignableFrom(javaType)) return ValueKind.NUMBER;
+        return ValueKind.STRING;
+    }
+}
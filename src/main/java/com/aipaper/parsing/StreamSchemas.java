@@ -0,0 +1,22 @@
+package com.aipaper.parsing;
+
+import com.aipaper.dto.MeetingBookingResult;
+import com.aipaper.dto.NormalizedDataResult;
+import com.aipaper.dto.UserProfileResult;
+
+/**
+ * Streaming schemas for the scenario result DTOs.
+ */
+public final class StreamSchemas {
+
+    public static final StreamSchema<UserProfileResult> USER_PROFILE =
+            StreamSchema.forRecord(UserProfileResult.class).withCheck("email", PrefixCheck.EMAIL);
+
+    public static final StreamSchema<NormalizedDataResult> NORMALIZED_DATA =
+            StreamSchema.forRecord(NormalizedDataResult.class).withCoercibleCheck("normalizedDate", PrefixCheck.ISO_DATE);
+
+    public static final StreamSchema<MeetingBookingResult> MEETING_BOOKING =
+            StreamSchema.forRecord(MeetingBookingResult.class);
+
+    private StreamSchemas() {}
+}
@@ -0,0 +1,275 @@
+package com.aipaper.parsing;
+
+import com.aipaper.exception.LlmResponseValidationException;
+import com.aipaper.exception.ParameterMismatchException;
+import com.aipaper.exception.SchemaValidationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Push parser for one flat JSON object arriving in arbitrary chunks, e.g. streamed model tokens.
+ * Text before the first '{' (preamble, code fences) is skipped up to a limit; trailing text is never read.
+ * Fields are collected as they complete and the parse aborts as soon as the output can no longer match
+ * the {@link StreamSchema}: an unknown field name (detected on its prefix), a nested value, a string
+ * value failing its {@link PrefixCheck}, malformed JSON, or runaway preamble.
+ * Aborts that the {@link JsonRepairer} could fix once the whole answer is known are flagged
+ * {@link #isRepairable()}. Not thread-safe; use one instance per response.
+ */
+public final class StreamingJsonParser<T> {
+
+    public enum Status { NEED_MORE, COMPLETE, ABORTED }
+
+    private enum State { PREAMBLE, KEY_OR_END, KEY, COLON, VALUE, STRING_VALUE, LITERAL_VALUE, COMMA_OR_END, DONE, ABORTED }
+
+    private static final int MAX_LITERAL_LENGTH = 32;
+
+    private final StreamSchema<T> schema;
+    private final int maxPreambleChars;
+    private final Map<String, Object> values = new LinkedHashMap<>();
+    private final StringBuilder token = new StringBuilder();
+
+    private State state = State.PREAMBLE;
+    private StreamSchema.Field field;
+    private boolean escaped;
+    private int unicodeDigits = -1;
+    private int unicodeValue;
+    private int preambleChars;
+    private long consumed;
+    private LlmResponseValidationException failure;
+    private boolean repairable;
+
+    public StreamingJsonParser(StreamSchema<T> schema, int maxPreambleChars) {
+        this.schema = schema;
+        this.maxPreambleChars = maxPreambleChars;
+    }
+
+    public Status feed(CharSequence chunk) {
+        if (chunk == null) return status();
+        for (int i = 0, n = chunk.length(); i < n && isOpen(); i++) {
+            consumed++;
+            consume(chunk.charAt(i));
+        }
+        return status();
+    }
+
+    /** Signals end of stream; an unfinished object becomes an abort. */
+    public Status finish() {
+        if (isOpen()) {
+            abort(new SchemaValidationException(state == State.PREAMBLE
+                    ? "No JSON object in response"
+                    : "Response ended inside the JSON object"), state != State.PREAMBLE);
+        }
+        return status();
+    }
+
+    public Status status() {
+        return switch (state) {
+            case DONE -> Status.COMPLETE;
+            case ABORTED -> Status.ABORTED;
+            default -> Status.NEED_MORE;
+        };
+    }
+
+    /** Characters read so far, including skipped preamble. */
+    public long consumed() {
+        return consumed;
+    }
+
+    /** The completed object, or the abort reason rethrown. */
+    public T result(ObjectMapper objectMapper) {
+        if (state == State.ABORTED) throw failure;
+        if (state != State.DONE) throw new SchemaValidationException("JSON object is incomplete");
+        try {
+            return objectMapper.convertValue(values, schema.type());
+        } catch (IllegalArgumentException e) {
+            throw new SchemaValidationException(e.getMessage(), e);
+        }
+    }
+
+    public LlmResponseValidationException failure() {
+        return failure;
+    }
+
+    /** True when the abort reason is one the repair stage handles: aliases, coercible values, malformed JSON, truncation. */
+    public boolean isRepairable() {
+        return repairable;
+    }
+
+    private boolean isOpen() {
+        return state != State.DONE && state != State.ABORTED;
+    }
+
+    private void consume(char c) {
+        switch (state) {
+            case PREAMBLE -> {
+                if (c == '{') {
+                    state = State.KEY_OR_END;
+                } else if (!Character.isWhitespace(c) && ++preambleChars > maxPreambleChars) {
+                    abort(new SchemaValidationException("No JSON object within " + maxPreambleChars + " characters"), false);
+                }
+            }
+            case KEY_OR_END -> {
+                if (c == '"') {
+                    token.setLength(0);
+                    state = State.KEY;
+                } else if (c == '}') {
+                    state = State.DONE;
+                } else if (!Character.isWhitespace(c)) {
+                    malformed(c, "field name");
+                }
+            }
+            case KEY -> {
+                if (c == '"') {
+                    field = schema.field(token.toString());
+                    if (field == null) {
+                        unknownField("\"");
+                    } else {
+                        state = State.COLON;
+                    }
+                } else {
+                    token.append(c);
+                    if (c == '\\' || !schema.isFieldPrefix(token)) unknownField("...\"");
+                }
+            }
+            case COLON -> {
+                if (c == ':') {
+                    state = State.VALUE;
+                } else if (!Character.isWhitespace(c)) {
+                    malformed(c, "':'");
+                }
+            }
+            case VALUE -> {
+                if (Character.isWhitespace(c)) return;
+                token.setLength(0);
+                if (c == '"') {
+                    state = State.STRING_VALUE;
+                } else if (c == '{' || c == '[') {
+                    abort(new SchemaValidationException("Field " + field.name() + " must be a scalar"), false);
+                } else {
+                    token.append(c);
+                    state = State.LITERAL_VALUE;
+                }
+            }
+            case STRING_VALUE -> consumeString(c);
+            case LITERAL_VALUE -> {
+                if (c == ',' || c == '}' || Character.isWhitespace(c)) {
+                    if (!storeLiteral()) return;
+                    state = c == ',' ? State.KEY_OR_END : c == '}' ? State.DONE : State.COMMA_OR_END;
+                } else if (token.length() >= MAX_LITERAL_LENGTH) {
+                    malformed(c, "end of value");
+                } else {
+                    token.append(c);
+                }
+            }
+            case COMMA_OR_END -> {
+                if (c == ',') {
+                    state = State.KEY_OR_END;
+                } else if (c == '}') {
+                    state = State.DONE;
+                } else if (!Character.isWhitespace(c)) {
+                    malformed(c, "',' or '}'");
+                }
+            }
+            default -> { }
+        }
+    }
+
+    private void consumeString(char c) {
+        if (unicodeDigits >= 0) {
+            int digit = Character.digit(c, 16);
+            if (digit < 0) {
+                malformed(c, "hex digit");
+                return;
+            }
+            unicodeValue = unicodeValue * 16 + digit;
+            if (++unicodeDigits == 4) {
+                unicodeDigits = -1;
+                appendValueChar((char) unicodeValue);
+            }
+            return;
+        }
+        if (escaped) {
+            escaped = false;
+            switch (c) {
+                case 'n' -> appendValueChar('\n');
+                case 't' -> appendValueChar('\t');
+                case 'r' -> appendValueChar('\r');
+                case 'b' -> appendValueChar('\b');
+                case 'f' -> appendValueChar('\f');
+                case 'u' -> { unicodeDigits = 0; unicodeValue = 0; }
+                default -> appendValueChar(c);
+            }
+            return;
+        }
+        if (c == '\\') {
+            escaped = true;
+        } else if (c == '"') {
+            values.put(field.name(), token.toString());
+            state = State.COMMA_OR_END;
+        } else {
+            appendValueChar(c);
+        }
+    }
+
+    private void appendValueChar(char c) {
+        token.append(c);
+        if (field.check() != null && !field.check().accepts(token)) {
+            abort(new ParameterMismatchException(
+                    "Value of " + field.name() + " cannot become valid: \"" + token + "\""), field.coercible());
+        }
+    }
+
+    /** Literals are decoded per the field kind; strings are passed through for Jackson to coerce. */
+    private boolean storeLiteral() {
+        String literal = token.toString();
+        Object value;
+        if (literal.equals("null")) {
+            value = null;
+        } else if (literal.equals("true") || literal.equals("false")) {
+            value = field.kind() == StreamSchema.ValueKind.STRING ? literal : Boolean.valueOf(literal);
+        } else if (isNumber(literal)) {
+            value = field.kind() == StreamSchema.ValueKind.STRING ? literal
+                    : literal.indexOf('.') < 0 && literal.indexOf('e') < 0 && literal.indexOf('E') < 0
+                    ? (Object) Long.valueOf(literal) : (Object) Double.valueOf(literal);
+        } else {
+            abort(new SchemaValidationException("Invalid literal for " + field.name() + ": " + literal), true);
+            return false;
+        }
+        if (field.kind() == StreamSchema.ValueKind.STRING && field.check() != null && value != null
+                && !field.check().accepts(literal)) {
+            abort(new ParameterMismatchException("Value of " + field.name() + " is invalid: " + literal),
+                    field.coercible());
+            return false;
+        }
+        values.put(field.name(), value);
+        return true;
+    }
+
+    private static boolean isNumber(String s) {
+        try {
+            Double.parseDouble(s);
+            return !s.isEmpty() && (Character.isDigit(s.charAt(0)) || s.charAt(0) == '-');
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private void unknownField(String suffix) {
+        abort(new SchemaValidationException(
+                "Unexpected field \"" + token + suffix + " for " + schema.type().getSimpleName()),
+                schema.isAliasPrefix(token));
+    }
+
+    private void malformed(char c, String expected) {
+        abort(new SchemaValidationException("Malformed JSON at char " + consumed + ": expected " + expected
+                + " but got '" + c + "'"), true);
+    }
+
+    private void abort(LlmResponseValidationException reason, boolean repairable) {
+        this.failure = reason;
+        this.repairable = repairable;
+        state = State.ABORTED;
+    }
+}
@@ -0,0 +1,22 @@
+package com.aipaper.prompt;
+
+/**
+ * Template ids shared by the LLM services and the benchmark.
+ */
+public final class PromptIds {
+
+    public static final String SYSTEM_JSON = "system-json";
+    public static final String RETRIEVAL = "retrieval";
+    public static final String NORMALIZATION = "normalization";
+    public static final String NORMALIZATION_BATCH = "normalization-batch";
+    public static final String COMMAND = "command";
+
+    /** Baseline wording every id provides. */
+    public static final String V1 = "v1";
+    /** Compact wording with the same instructions and field lists. */
+    public static final String V2 = "v2";
+    /** Command v1 plus the explicit validation paragraph used by the booking service. */
+    public static final String V1_GUARDED = "v1-guarded";
+
+    private PromptIds() {}
+}
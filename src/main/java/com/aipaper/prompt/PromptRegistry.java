@@ -0,0 +1,145 @@
+package com.aipaper.prompt;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static com.aipaper.prompt.PromptIds.COMMAND;
+import static com.aipaper.prompt.PromptIds.NORMALIZATION;
+import static com.aipaper.prompt.PromptIds.NORMALIZATION_BATCH;
+import static com.aipaper.prompt.PromptIds.RETRIEVAL;
+import static com.aipaper.prompt.PromptIds.SYSTEM_JSON;
+import static com.aipaper.prompt.PromptIds.V1;
+import static com.aipaper.prompt.PromptIds.V1_GUARDED;
+import static com.aipaper.prompt.PromptIds.V2;
+
+/**
+ * Single home for every prompt sent to a model. Templates are compiled at startup and looked up
+ * by id and variant, so services and the benchmark send byte-identical text for the same variant.
+ */
+@Component
+public class PromptRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(PromptRegistry.class);
+
+    private final Map<String, PromptTemplate> templates = new LinkedHashMap<>();
+
+    public PromptRegistry(MeterRegistry meterRegistry) {
+        registerDefaults();
+        templates.values().forEach(t -> {
+            Gauge.builder("llm.prompt.tokens.estimated", t, PromptTemplate::literalTokens)
+                    .tag("prompt", t.id())
+                    .tag("variant", t.variant())
+                    .register(meterRegistry);
+            log.debug("Prompt {} compiled: {} fixed tokens (est.), parameters {}",
+                    t.key(), t.literalTokens(), t.parameters());
+        });
+    }
+
+    private void registerDefaults() {
+        register(SYSTEM_JSON, V1,
+                "You are a precise data API. Always respond with ONLY a raw JSON object. " +
+                "Never include markdown formatting, code fences, or explanations.");
+        register(SYSTEM_JSON, V2,
+                "Respond with one raw JSON object only. No markdown, code fences or prose.");
+
+        register(RETRIEVAL, V1,
+                "Look up the user profile for email: {{email}}. " +
+                "Use the findUserByEmail tool to query the database, then return the result as a JSON object " +
+                "with exactly these fields: email, firstName, lastName, phone, address.");
+        register(RETRIEVAL, V2,
+                "Call findUserByEmail for {{email}}. " +
+                "Return JSON with exactly: email, firstName, lastName, phone, address.");
+
+        register(NORMALIZATION, V1,
+                "Normalize the following data and return a JSON object with exactly two fields: " +
+                "\"normalizedDate\" and \"normalizedAddress\".\n\n" +
+                "Rules:\n" +
+                "- normalizedDate: Convert the date to ISO-8601 format (yyyy-MM-dd).\n" +
+                "- normalizedAddress: Capitalize words properly, expand abbreviations " +
+                "(st->Street, ave->Avenue, blvd->Boulevard, dr->Drive, ln->Lane, rd->Road, " +
+                "apt->Apartment, ste->Suite), and keep state codes as 2-letter uppercase.\n\n" +
+                "Input date: {{rawDate}}\nInput address: {{rawAddress}}");
+        register(NORMALIZATION, V2,
+                "Return JSON with exactly \"normalizedDate\" (yyyy-MM-dd) and \"normalizedAddress\" " +
+                "(title case; st/ave/blvd/dr/ln/rd/apt/ste -> Street/Avenue/Boulevard/Drive/Lane/Road/Apartment/Suite; " +
+                "state as 2 uppercase letters).\n" +
+                "Date: {{rawDate}}\nAddress: {{rawAddress}}");
+
+        register(NORMALIZATION_BATCH, V1,
+                "Normalize every item below and return a JSON array with exactly {{count}} objects, one per item. " +
+                "Each object has exactly three fields: \"index\" (copied from the item), " +
+                "\"normalizedDate\" and \"normalizedAddress\".\n\n" +
+                "Rules:\n" +
+                "- normalizedDate: Convert the date to ISO-8601 format (yyyy-MM-dd).\n" +
+                "- normalizedAddress: Capitalize words properly, expand abbreviations " +
+                "(st->Street, ave->Avenue, blvd->Boulevard, dr->Drive, ln->Lane, rd->Road, " +
+                "apt->Apartment, ste->Suite), and keep state codes as 2-letter uppercase.\n\n" +
+                "Items, one JSON object per line:\n{{items}}");
+
+        String bookingDetails =
+                "Title: {{title}}\nOrganizer: {{organizerEmail}}\nParticipants: {{participants}}\n" +
+                "Date: {{date}}\nStart: {{startTime}}\nEnd: {{endTime}}\nLocation: {{location}}\n\n";
+        register(COMMAND, V1,
+                "Book a meeting with these details using the bookMeeting tool, then return its JSON result.\n\n" +
+                bookingDetails +
+                "Return a JSON object with fields: success, meetingId, message.");
+        register(COMMAND, V1_GUARDED,
+                "Book a meeting with these details using the bookMeeting tool, then return its JSON result.\n\n" +
+                bookingDetails +
+                "If any parameter is invalid (bad email, invalid date/time, end before start), " +
+                "do NOT call the tool; instead return " +
+                "{\"success\":false, \"meetingId\":null, \"message\":\"<reason>\"}.\n" +
+                "Return a JSON object with fields: success, meetingId, message.");
+        register(COMMAND, V2,
+                "Call bookMeeting with title={{title}}; organizer={{organizerEmail}}; " +
+                "participants={{participants}}; date={{date}}; start={{startTime}}; end={{endTime}}; " +
+                "location={{location}}. Return its JSON: success, meetingId, message.");
+    }
+
+    private void register(String id, String variant, String source) {
+        PromptTemplate template = PromptTemplate.compile(id, variant, source);
+        if (templates.putIfAbsent(template.key(), template) != null) {
+            throw new IllegalStateException("Duplicate prompt " + template.key());
+        }
+    }
+
+    public PromptTemplate get(String id, String variant) {
+        PromptTemplate template = templates.get(id + "/" + variant);
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown prompt " + id + "/" + variant
+                    + "; available: " + templates.keySet());
+        }
+        return template;
+    }
+
+    public RenderedPrompt render(String id, String variant, Object... args) {
+        return get(id, variant).render(args);
+    }
+
+    /** Variants that define every one of the given ids, i.e. can be benchmarked end to end. */
+    public Set<String> variantsCovering(String... ids) {
+        Set<String> variants = new TreeSet<>();
+        templates.values().forEach(t -> variants.add(t.variant()));
+        variants.removeIf(v -> {
+            for (String id : ids) {
+                if (!templates.containsKey(id + "/" + v)) return true;
+            }
+            return false;
+        });
+        return variants;
+    }
+
+    public Collection<PromptTemplate> all() {
+        return Collections.unmodifiableCollection(templates.values());
+    }
+}
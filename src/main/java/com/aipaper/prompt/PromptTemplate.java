@@ -0,0 +1,103 @@
+package com.aipaper.prompt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A prompt template compiled once into literal segments and positional placeholders.
+ * Placeholders use {@code {{name}}} so literal JSON braces need no escaping; arguments are
+ * bound in the order the placeholders first appear.
+ */
+public final class PromptTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String id;
+    private final String variant;
+    private final String[] segments;
+    private final int[] slots;
+    private final List<String> parameters;
+    private final int literalLength;
+    private final int literalTokens;
+
+    private PromptTemplate(String id, String variant, String[] segments, int[] slots, List<String> parameters) {
+        this.id = id;
+        this.variant = variant;
+        this.segments = segments;
+        this.slots = slots;
+        this.parameters = List.copyOf(parameters);
+        int length = 0;
+        StringBuilder literal = new StringBuilder();
+        for (String s : segments) {
+            length += s.length();
+            literal.append(s).append(' ');
+        }
+        this.literalLength = length;
+        this.literalTokens = TokenEstimator.estimate(literal);
+    }
+
+    public static PromptTemplate compile(String id, String variant, String source) {
+        List<String> segments = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        List<String> parameters = new ArrayList<>();
+        int pos = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, pos);
+            if (open < 0) break;
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in prompt " + id + "/" + variant);
+            }
+            String name = source.substring(open + OPEN.length(), close).trim();
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Empty placeholder in prompt " + id + "/" + variant);
+            }
+            int slot = parameters.indexOf(name);
+            if (slot < 0) {
+                slot = parameters.size();
+                parameters.add(name);
+            }
+            segments.add(source.substring(pos, open));
+            slots.add(slot);
+            pos = close + CLOSE.length();
+        }
+        segments.add(source.substring(pos));
+        return new PromptTemplate(id, variant, segments.toArray(String[]::new),
+                slots.stream().mapToInt(Integer::intValue).toArray(), parameters);
+    }
+
+    /** Fills placeholders positionally, in {@link #parameters()} order. Null arguments render as {@code none}. */
+    public RenderedPrompt render(Object... args) {
+        if (args.length != parameters.size()) {
+            throw new IllegalArgumentException("Prompt " + key() + " expects " + parameters
+                    + " but got " + args.length + " argument(s)");
+        }
+        String[] values = new String[args.length];
+        int length = literalLength;
+        for (int i = 0; i < args.length; i++) {
+            values[i] = args[i] != null ? args[i].toString() : "none";
+        }
+        for (int slot : slots) length += values[slot].length();
+
+        StringBuilder sb = new StringBuilder(length);
+        int argTokens = 0;
+        for (int i = 0; i < slots.length; i++) {
+            sb.append(segments[i]).append(values[slots[i]]);
+            argTokens += TokenEstimator.estimate(values[slots[i]]);
+        }
+        sb.append(segments[segments.length - 1]);
+        return new RenderedPrompt(key(), sb.toString(), literalTokens + argTokens);
+    }
+
+    public String id() { return id; }
+
+    public String variant() { return variant; }
+
+    public String key() { return id + "/" + variant; }
+
+    public List<String> parameters() { return parameters; }
+
+    /** Estimated tokens of the fixed text, excluding arguments. */
+    public int literalTokens() { return literalTokens; }
+}
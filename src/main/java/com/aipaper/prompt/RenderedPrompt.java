@@ -0,0 +1,7 @@
+package com.aipaper.prompt;
+
+/**
+ * A filled-in template together with its estimated token cost.
+ */
+public record RenderedPrompt(String key, String text, int estimatedTokens) {
+}
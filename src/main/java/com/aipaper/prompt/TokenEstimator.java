@@ -0,0 +1,34 @@
+package com.aipaper.prompt;
+
+/**
+ * Local, tokenizer-free estimate of BPE token counts.
+ * Words cost one token per four characters (rounded up), every other visible character costs one.
+ * Good enough to compare prompt variants and budget context windows; not a billing figure.
+ */
+public final class TokenEstimator {
+
+    private static final int CHARS_PER_WORD_TOKEN = 4;
+
+    private TokenEstimator() {}
+
+    public static int estimate(CharSequence text) {
+        if (text == null) return 0;
+        int tokens = 0;
+        int run = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                run++;
+                continue;
+            }
+            tokens += wordTokens(run);
+            run = 0;
+            if (!Character.isWhitespace(c)) tokens++;
+        }
+        return tokens + wordTokens(run);
+    }
+
+    private static int wordTokens(int run) {
+        return (run + CHARS_PER_WORD_TOKEN - 1) / CHARS_PER_WORD_TOKEN;
+    }
+}
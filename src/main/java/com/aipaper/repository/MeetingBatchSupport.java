@@ -0,0 +1,8 @@
+package com.aipaper.repository;
+
+/** Batch-write support mixed into {@link MeetingRepository}. */
+public interface MeetingBatchSupport {
+
+    /** Writes pending inserts and detaches them, so a long import does not grow the persistence context. */
+    void flushAndClear();
+}
@@ -1,16 +1,91 @@
 package com.aipaper.repository;
 
 import com.aipaper.entity.Meeting;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface MeetingRepository extends JpaRepository<Meeting, Long> {
+public interface MeetingRepository extends JpaRepository<Meeting, Long>, MeetingBatchSupport {
 
+    /** Organizer emails are stored normalized; the argument is normalized the same way. */
+    @Query("select m from Meeting m where m.organizerEmail = lower(trim(:organizerEmail))")
     List<Meeting> findByOrganizerEmail(String organizerEmail);
 
     List<Meeting> findByMeetingDate(LocalDate meetingDate);
+
+    /**
+     * Meetings the given address attends between two dates (inclusive), in time order.
+     * Served by the {@code (email, meeting_date)} index on {@code meeting_participants}.
+     */
+    @Query("""
+            select m from Meeting m join m.attendees a
+            where a.email = lower(trim(:email)) and a.meetingDate between :from and :to
+            order by m.meetingDate, m.startTime
+            """)
+    List<Meeting> findAgenda(String email, LocalDate from, LocalDate to);
+
+    /** Number of meetings the given address attends on one day. */
+    @Query("select count(a) from MeetingParticipant a where a.email = lower(trim(:email)) and a.meetingDate = :date")
+    long countAttendance(String email, LocalDate date);
+
+    /**
+     * Keyset page of an organizer's meetings in {@code [from, to]}, ordered by date, start time
+     * and ID, starting strictly after the given position. Served by {@code idx_meetings_organizer_calendar}.
+     */
+    @Query("""
+            select m.id as id, m.title as title, m.organizerEmail as organizerEmail,
+                   m.meetingDate as meetingDate, m.startTime as startTime, m.endTime as endTime,
+                   m.location as location
+            from Meeting m
+            where m.organizerEmail = lower(trim(:email)) and m.meetingDate between :from and :to
+              and (m.meetingDate, m.startTime, m.id) > (:afterDate, :afterTime, :afterId)
+            order by m.meetingDate, m.startTime, m.id
+            """)
+    List<MeetingSummary> findOrganizerPage(String email, LocalDate from, LocalDate to,
+                                           LocalDate afterDate, LocalTime afterTime, long afterId, Limit limit);
+
+    /** Keyset page of the meetings an address attends; the participant side uses the (email, meeting_date) index. */
+    @Query("""
+            select m.id as id, m.title as title, m.organizerEmail as organizerEmail,
+                   m.meetingDate as meetingDate, m.startTime as startTime, m.endTime as endTime,
+                   m.location as location
+            from MeetingParticipant a join a.meeting m
+            where a.email = lower(trim(:email)) and a.meetingDate between :from and :to
+              and (a.meetingDate, m.startTime, m.id) > (:afterDate, :afterTime, :afterId)
+            order by a.meetingDate, m.startTime, m.id
+            """)
+    List<MeetingSummary> findParticipantPage(String email, LocalDate from, LocalDate to,
+                                             LocalDate afterDate, LocalTime afterTime, long afterId, Limit limit);
+
+    /** Whole organizer range as a cursor-backed stream for exports; consume inside a transaction. */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select m.id as id, m.title as title, m.organizerEmail as organizerEmail,
+                   m.meetingDate as meetingDate, m.startTime as startTime, m.endTime as endTime,
+                   m.location as location
+            from Meeting m
+            where m.organizerEmail = lower(trim(:email)) and m.meetingDate between :from and :to
+            order by m.meetingDate, m.startTime, m.id
+            """)
+    Stream<MeetingSummary> streamOrganizerRange(String email, LocalDate from, LocalDate to);
+
+    /** Streams every meeting; must be consumed inside a transaction. */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Meeting> streamAllBy();
 }
@@ -0,0 +1,22 @@
+package com.aipaper.repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/** Closed projection for calendar list views; selects only these columns. */
+public interface MeetingSummary {
+
+    Long getId();
+
+    String getTitle();
+
+    String getOrganizerEmail();
+
+    LocalDate getMeetingDate();
+
+    LocalTime getStartTime();
+
+    LocalTime getEndTime();
+
+    String getLocation();
+}
@@ -1,7 +1,9 @@
 package com.aipaper.repository;
 
+import com.aipaper.dto.UserProfileResult;
 import com.aipaper.entity.UserProfile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,4 +14,9 @@ public interface UserProfileRepository extends JpaRepository<UserProfile, Long>
     Optional<UserProfile> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    /** Reads straight into the DTO: no managed entity, no dirty-checking snapshot. */
+    @Query("select new com.aipaper.dto.UserProfileResult(u.email, u.firstName, u.lastName, u.phone, u.address) "
+            + "from UserProfile u where u.email = :email")
+    Optional<UserProfileResult> findResultByEmail(String email);
 }
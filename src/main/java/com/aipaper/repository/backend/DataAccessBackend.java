@@ -0,0 +1,25 @@
+package com.aipaper.repository.backend;
+
+import com.aipaper.dto.UserProfileResult;
+import com.aipaper.entity.Meeting;
+
+import java.util.Optional;
+
+/**
+ * Data access used by the traditional retrieval and booking paths. Implementations differ only in
+ * how they talk to the database, so benchmarking them side by side separates ORM cost from
+ * database cost.
+ */
+public interface DataAccessBackend {
+
+    /** Short label used in benchmark results, e.g. {@code JPA}. */
+    String name();
+
+    Optional<UserProfileResult> findProfile(String email);
+
+    /**
+     * Inserts a validated, not yet persisted meeting together with its attendee rows and returns the
+     * generated ID. Runs in the caller's transaction.
+     */
+    long insertMeeting(Meeting meeting);
+}
@@ -0,0 +1,37 @@
+package com.aipaper.repository.backend;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/** Looks up backends by name ({@code jpa}, {@code jdbc}, {@code mapper}); the default comes from {@code traditional.data-access}. */
+@Component
+public class DataAccessBackends {
+
+    private final Map<String, DataAccessBackend> byName = new LinkedHashMap<>();
+    private final DataAccessBackend defaultBackend;
+
+    public DataAccessBackends(List<DataAccessBackend> backends,
+                              @Value("${traditional.data-access:jpa}") String defaultName) {
+        for (DataAccessBackend backend : backends) {
+            byName.put(backend.name().toLowerCase(Locale.ROOT), backend);
+        }
+        this.defaultBackend = get(defaultName);
+    }
+
+    public DataAccessBackend get(String name) {
+        DataAccessBackend backend = byName.get(name.trim().toLowerCase(Locale.ROOT));
+        if (backend == null) {
+            throw new IllegalArgumentException("Unknown data-access backend " + name + "; available: " + byName.keySet());
+        }
+        return backend;
+    }
+
+    public DataAccessBackend defaultBackend() {
+        return defaultBackend;
+    }
+}
@@ -0,0 +1,39 @@
+package com.aipaper.repository.backend;
+
+import com.aipaper.dto.UserProfileResult;
+import com.aipaper.entity.Meeting;
+import com.aipaper.repository.MeetingRepository;
+import com.aipaper.repository.UserProfileRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/** The in-memory repositories of the {@code inmemory} profile, which replace every database backend. */
+@Component
+@Profile("inmemory")
+public class InMemoryDataAccess implements DataAccessBackend {
+
+    private final UserProfileRepository profiles;
+    private final MeetingRepository meetings;
+
+    public InMemoryDataAccess(UserProfileRepository profiles, MeetingRepository meetings) {
+        this.profiles = profiles;
+        this.meetings = meetings;
+    }
+
+    @Override
+    public String name() {
+        return "INMEMORY";
+    }
+
+    @Override
+    public Optional<UserProfileResult> findProfile(String email) {
+        return profiles.findResultByEmail(email);
+    }
+
+    @Override
+    public long insertMeeting(Meeting meeting) {
+        return meetings.save(meeting).getId();
+    }
+}
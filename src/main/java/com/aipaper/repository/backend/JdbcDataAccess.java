@@ -0,0 +1,90 @@
+package com.aipaper.repository.backend;
+
+import com.aipaper.dto.UserProfileResult;
+import com.aipaper.entity.Meeting;
+import com.aipaper.entity.MeetingParticipant;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Hand-written SQL over {@link JdbcTemplate}: positional prepared statements and manual row
+ * reading, no entity state at all. IDs are drawn from the same sequences Hibernate uses; a raw
+ * {@code nextval} is the high end of a pooled block, so it never collides with Hibernate's IDs.
+ */
+@Component
+@Profile("!inmemory")
+public class JdbcDataAccess implements DataAccessBackend {
+
+    private static final String SELECT_PROFILE =
+            "SELECT email, first_name, last_name, phone, address FROM user_profiles WHERE email = ?";
+
+    private static final String INSERT_MEETING =
+            "INSERT INTO meetings (id, title, organizer_email, participants, meeting_date, start_time, end_time, "
+                    + "location, created_at) VALUES (nextval('meetings_seq'), ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_PARTICIPANT =
+            "INSERT INTO meeting_participants (id, meeting_id, email, meeting_date, start_time, end_time) "
+                    + "VALUES (nextval('meeting_participants_seq'), ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbc;
+
+    public JdbcDataAccess(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public String name() {
+        return "JDBC";
+    }
+
+    @Override
+    public Optional<UserProfileResult> findProfile(String email) {
+        List<UserProfileResult> rows = jdbc.query(SELECT_PROFILE, (rs, n) -> new UserProfileResult(
+                rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5)), email);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    @Override
+    public long insertMeeting(Meeting m) {
+        KeyHolder key = new GeneratedKeyHolder();
+        jdbc.update(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT_MEETING, new String[]{"id"});
+            ps.setString(1, m.getTitle());
+            ps.setString(2, m.getOrganizerEmail());
+            ps.setString(3, m.getParticipants());
+            ps.setDate(4, Date.valueOf(m.getMeetingDate()));
+            ps.setTime(5, Time.valueOf(m.getStartTime()));
+            ps.setTime(6, Time.valueOf(m.getEndTime()));
+            ps.setString(7, m.getLocation());
+            ps.setTimestamp(8, Timestamp.valueOf(LocalDateTime.now()));
+            return ps;
+        }, key);
+        long id = key.getKeyAs(Long.class);
+
+        List<MeetingParticipant> attendees = m.getAttendees();
+        if (!attendees.isEmpty()) {
+            Date date = Date.valueOf(m.getMeetingDate());
+            Time start = Time.valueOf(m.getStartTime());
+            Time end = Time.valueOf(m.getEndTime());
+            jdbc.batchUpdate(INSERT_PARTICIPANT, attendees, attendees.size(), (ps, a) -> {
+                ps.setLong(1, id);
+                ps.setString(2, a.getEmail());
+                ps.setDate(3, date);
+                ps.setTime(4, start);
+                ps.setTime(5, end);
+            });
+        }
+        return id;
+    }
+}
@@ -0,0 +1,64 @@
+package com.aipaper.repository.backend;
+
+import com.aipaper.dto.UserProfileResult;
+import com.aipaper.entity.Meeting;
+import com.aipaper.entity.UserProfile;
+import com.aipaper.repository.MeetingRepository;
+import com.aipaper.repository.UserProfileRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/** Spring Data JPA / Hibernate. */
+@Component
+@Profile("!inmemory")
+public class JpaDataAccess implements DataAccessBackend {
+
+    private final UserProfileRepository profiles;
+    private final MeetingRepository meetings;
+    private final SessionFactory sessionFactory;
+    private final boolean cacheEnabled;
+
+    public JpaDataAccess(UserProfileRepository profiles,
+                         MeetingRepository meetings,
+                         EntityManagerFactory entityManagerFactory,
+                         @Value("${profiles.cache.enabled:false}") boolean cacheEnabled) {
+        this.profiles = profiles;
+        this.meetings = meetings;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.cacheEnabled = cacheEnabled;
+    }
+
+    @Override
+    public String name() {
+        return "JPA";
+    }
+
+    /**
+     * With the second-level cache on, resolves the email through the natural-ID cache; a hit never
+     * touches a connection. Otherwise reads through a constructor-expression projection.
+     */
+    @Override
+    public Optional<UserProfileResult> findProfile(String email) {
+        if (!cacheEnabled) {
+            return profiles.findResultByEmail(email);
+        }
+        UserProfile user;
+        try (Session session = sessionFactory.openSession()) {
+            session.setDefaultReadOnly(true);
+            user = session.bySimpleNaturalId(UserProfile.class).load(email);
+        }
+        return Optional.ofNullable(user).map(u -> new UserProfileResult(
+                u.getEmail(), u.getFirstName(), u.getLastName(), u.getPhone(), u.getAddress()));
+    }
+
+    @Override
+    public long insertMeeting(Meeting meeting) {
+        return meetings.save(meeting).getId();
+    }
+}
@@ -0,0 +1,90 @@
+package com.aipaper.repository.backend;
+
+import com.aipaper.dto.UserProfileResult;
+import com.aipaper.entity.Meeting;
+import com.aipaper.entity.MeetingParticipant;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.DataClassRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lightweight SQL mapper: named parameters, reflective record mapping ({@link DataClassRowMapper},
+ * {@code first_name} to {@code firstName}) and metadata-driven {@link SimpleJdbcInsert}. Sits between
+ * hand-written JDBC and a full ORM, like jOOQ or MyBatis would.
+ */
+@Component
+@Profile("!inmemory")
+public class MapperDataAccess implements DataAccessBackend {
+
+    private static final RowMapper<UserProfileResult> PROFILE = new DataClassRowMapper<>(UserProfileResult.class);
+
+    private final NamedParameterJdbcTemplate named;
+    private final SimpleJdbcInsert meetingInsert;
+
+    public MapperDataAccess(JdbcTemplate jdbc) {
+        this.named = new NamedParameterJdbcTemplate(jdbc);
+        this.meetingInsert = new SimpleJdbcInsert(jdbc).withTableName("meetings")
+                .usingColumns("id", "title", "organizer_email", "participants", "meeting_date",
+                        "start_time", "end_time", "location", "created_at");
+    }
+
+    @Override
+    public String name() {
+        return "MAPPER";
+    }
+
+    @Override
+    public Optional<UserProfileResult> findProfile(String email) {
+        List<UserProfileResult> rows = named.query(
+                "SELECT email, first_name, last_name, phone, address FROM user_profiles WHERE email = :email",
+                new MapSqlParameterSource("email", email), PROFILE);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    @Override
+    public long insertMeeting(Meeting m) {
+        long id = nextval("meetings_seq");
+        meetingInsert.execute(new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("title", m.getTitle())
+                .addValue("organizer_email", m.getOrganizerEmail())
+                .addValue("participants", m.getParticipants())
+                .addValue("meeting_date", m.getMeetingDate())
+                .addValue("start_time", m.getStartTime())
+                .addValue("end_time", m.getEndTime())
+                .addValue("location", m.getLocation())
+                .addValue("created_at", LocalDateTime.now()));
+
+        List<MeetingParticipant> attendees = m.getAttendees();
+        if (!attendees.isEmpty()) {
+            SqlParameterSource[] rows = new SqlParameterSource[attendees.size()];
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = new MapSqlParameterSource()
+                        .addValue("meetingId", id)
+                        .addValue("email", attendees.get(i).getEmail())
+                        .addValue("meetingDate", m.getMeetingDate())
+                        .addValue("startTime", m.getStartTime())
+                        .addValue("endTime", m.getEndTime());
+            }
+            named.batchUpdate("INSERT INTO meeting_participants (id, meeting_id, email, meeting_date, start_time, "
+                    + "end_time) VALUES (nextval('meeting_participants_seq'), :meetingId, :email, :meetingDate, "
+                    + ":startTime, :endTime)", rows);
+        }
+        return id;
+    }
+
+    private long nextval(String sequence) {
+        Long value = named.getJdbcTemplate().queryForObject("SELECT nextval('" + sequence + "')", Long.class);
+        return value != null ? value : 0L;
+    }
+}
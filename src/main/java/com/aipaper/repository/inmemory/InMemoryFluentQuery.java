@@ -0,0 +1,184 @@
+package com.aipaper.repository.inmemory;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.OffsetScrollPosition;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * {@link FluentQuery.FetchableFluentQuery} over the rows matched by an example. Every call re-reads the
+ * repository, like a query that is executed per terminal operation. Rows are always fully loaded, so
+ * {@link #project(Collection)} has nothing to narrow. Results are mapped to {@link #as(Class)} types as
+ * Spring Data does: interfaces become projection proxies, other classes are built through their constructor.
+ */
+final class InMemoryFluentQuery<S, R> implements FluentQuery.FetchableFluentQuery<R> {
+
+    private static final SpelAwareProxyProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+    private final Supplier<List<S>> matches;
+    private final Sort sort;
+    private final int limit;
+    private final Function<Object, R> mapping;
+
+    @SuppressWarnings("unchecked")
+    InMemoryFluentQuery(Supplier<List<S>> matches) {
+        this(matches, Sort.unsorted(), 0, row -> (R) row);
+    }
+
+    private InMemoryFluentQuery(Supplier<List<S>> matches, Sort sort, int limit, Function<Object, R> mapping) {
+        this.matches = matches;
+        this.sort = sort;
+        this.limit = limit;
+        this.mapping = mapping;
+    }
+
+    @Override
+    public FetchableFluentQuery<R> sortBy(Sort sort) {
+        return new InMemoryFluentQuery<>(matches, this.sort.and(sort), limit, mapping);
+    }
+
+    @Override
+    public FetchableFluentQuery<R> limit(int limit) {
+        Assert.isTrue(limit >= 0, "Limit must not be negative");
+        return new InMemoryFluentQuery<>(matches, sort, limit, mapping);
+    }
+
+    @Override
+    public <P> FetchableFluentQuery<P> as(Class<P> resultType) {
+        return new InMemoryFluentQuery<>(matches, sort, limit, row -> project(row, resultType));
+    }
+
+    @Override
+    public FetchableFluentQuery<R> project(Collection<String> properties) {
+        return this;
+    }
+
+    @Override
+    public R oneValue() {
+        List<S> rows = sorted(sort, 2);
+        if (rows.size() > 1) throw new IncorrectResultSizeDataAccessException(1, rows.size());
+        return rows.isEmpty() ? null : mapping.apply(rows.get(0));
+    }
+
+    @Override
+    public R firstValue() {
+        List<S> rows = sorted(sort, 1);
+        return rows.isEmpty() ? null : mapping.apply(rows.get(0));
+    }
+
+    @Override
+    public List<R> all() {
+        return sorted(sort, limit).stream().map(mapping).toList();
+    }
+
+    @Override
+    public Window<R> scroll(ScrollPosition position) {
+        Sort order = withIdTiebreak(sort);
+        List<S> rows = sorted(order, 0);
+        Window<S> window;
+        if (position instanceof OffsetScrollPosition offset) {
+            int from = (int) Math.min(offset.isInitial() ? 0 : offset.getOffset() + 1, rows.size());
+            List<S> range = rows.subList(from, rows.size());
+            List<S> content = take(range, false);
+            window = Window.from(content, OffsetScrollPosition.positionFunction(from), content.size() < range.size());
+        } else if (position instanceof KeysetScrollPosition keyset) {
+            Comparator<Map<String, Object>> byKeys = InMemoryJpaRepository.comparator(order, Map::get);
+            List<S> range = keyset.isInitial() ? rows : rows.stream()
+                    .filter(row -> {
+                        int c = byKeys.compare(keysOf(row, order), keyset.getKeys());
+                        return keyset.scrollsForward() ? c > 0 : c < 0;
+                    })
+                    .toList();
+            List<S> content = take(range, keyset.scrollsBackward());
+            IntFunction<ScrollPosition> positions = i -> keyset.scrollsBackward()
+                    ? ScrollPosition.backward(keysOf(content.get(i), order))
+                    : ScrollPosition.forward(keysOf(content.get(i), order));
+            window = Window.from(content, positions, content.size() < range.size());
+        } else {
+            throw new IllegalArgumentException("Unsupported scroll position " + position);
+        }
+        return window.map(mapping);
+    }
+
+    @Override
+    public Page<R> page(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(all());
+        }
+        List<S> rows = sorted(sort.and(pageable.getSort()), 0);
+        return InMemoryJpaRepository.page(rows, pageable).map(mapping);
+    }
+
+    @Override
+    public Stream<R> stream() {
+        return all().stream();
+    }
+
+    @Override
+    public long count() {
+        return matches.get().size();
+    }
+
+    @Override
+    public boolean exists() {
+        return !matches.get().isEmpty();
+    }
+
+    /** Up to {@code limit} rows (all when unlimited), taken from the end when scrolling backward. */
+    private List<S> take(List<S> rows, boolean backward) {
+        if (limit <= 0 || rows.size() <= limit) return rows;
+        return backward ? rows.subList(rows.size() - limit, rows.size()) : rows.subList(0, limit);
+    }
+
+    private List<S> sorted(Sort order, int max) {
+        List<S> rows = new ArrayList<>(matches.get());
+        Comparator<S> comparator = InMemoryJpaRepository.comparator(order);
+        if (comparator != null) rows.sort(comparator);
+        return max > 0 && rows.size() > max ? rows.subList(0, max) : rows;
+    }
+
+    /** Keyset scrolling needs a total order, so the ID is appended unless the sort already has it. */
+    private static Sort withIdTiebreak(Sort sort) {
+        return sort.getOrderFor("id") != null ? sort : sort.and(Sort.by("id"));
+    }
+
+    private static Map<String, Object> keysOf(Object row, Sort order) {
+        BeanWrapperImpl bean = new BeanWrapperImpl(row);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order o : order) keys.put(o.getProperty(), bean.getPropertyValue(o.getProperty()));
+        return keys;
+    }
+
+    private static <P> P project(Object row, Class<P> type) {
+        if (type.isInstance(row)) return type.cast(row);
+        if (type.isInterface()) return PROJECTIONS.createProjection(type, row);
+        Constructor<P> constructor = BeanUtils.getResolvableConstructor(type);
+        String[] names = BeanUtils.getParameterNames(constructor);
+        BeanWrapperImpl bean = new BeanWrapperImpl(row);
+        Object[] args = new Object[names.length];
+        for (int i = 0; i < names.length; i++) args[i] = bean.getPropertyValue(names[i]);
+        return BeanUtils.instantiateClass(constructor, args);
+    }
+}
@@ -0,0 +1,380 @@
+package com.aipaper.repository.inmemory;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link JpaRepository} contract over a {@link ConcurrentHashMap} keyed by ID. Reads are lock-free;
+ * writes are serialized on the repository so that subclasses can keep their secondary indexes and
+ * uniqueness checks consistent with the rows. IDs come from an {@link AtomicLong}, like a sequence.
+ * Saved instances are stored as-is, much like managed entities in a persistence context.
+ * Inside a transaction every insert, replacement and delete is recorded in the {@link InMemoryUndoLog} and
+ * reverted on rollback; changes made to a stored instance in place are not, as it is the row itself.
+ * Query-by-example compares the probe's bean properties with {@link ExampleMatcher} semantics: nested beans are
+ * matched property by property, collections (the {@code @OneToMany} side) are not matched, as in Spring Data JPA.
+ */
+abstract class InMemoryJpaRepository<T> implements JpaRepository<T, Long> {
+
+    protected final ConcurrentHashMap<Long, T> rows = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    protected abstract Long idOf(T entity);
+
+    protected abstract void assignId(T entity, long id);
+
+    /** Rejects the entity the way the table's constraints would; called before it is stored. */
+    protected abstract void check(T entity);
+
+    protected abstract void index(T entity);
+
+    protected abstract void unindex(long id);
+
+    // ---------------------------------------------------------------
+    //  Writes
+    // ---------------------------------------------------------------
+
+    @Override
+    public <S extends T> S save(S entity) {
+        synchronized (this) {
+            check(entity);
+            Long id = idOf(entity);
+            if (id == null) {
+                id = ids.incrementAndGet();
+                assignId(entity, id);
+            } else {
+                ids.accumulateAndGet(id, Math::max);
+                unindex(id);
+            }
+            T previous = rows.put(id, entity);
+            index(entity);
+            long key = id;
+            if (previous == null) {
+                InMemoryUndoLog.record(() -> restore(key, entity, null));
+            } else if (previous != entity) {
+                InMemoryUndoLog.record(() -> restore(key, entity, previous));
+            }
+            return entity;
+        }
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        for (S entity : entities) saved.add(save(entity));
+        return saved;
+    }
+
+    @Override
+    public <S extends T> S saveAndFlush(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends T> List<S> saveAllAndFlush(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        synchronized (this) {
+            T removed = rows.remove(id);
+            if (removed != null) {
+                unindex(id);
+                InMemoryUndoLog.record(() -> restore(id, null, removed));
+            }
+        }
+    }
+
+    /** Puts {@code previous} (or nothing) back in place of {@code current}, bypassing the constraint checks. */
+    private void restore(long id, T current, T previous) {
+        synchronized (this) {
+            if (rows.get(id) != current) return;
+            if (current != null) {
+                rows.remove(id);
+                unindex(id);
+            }
+            if (previous != null) {
+                rows.put(id, previous);
+                index(previous);
+            }
+        }
+    }
+
+    @Override
+    public void delete(T entity) {
+        Long id = idOf(entity);
+        if (id != null) deleteById(id);
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        for (Long id : ids) deleteById(id);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        for (T entity : entities) delete(entity);
+    }
+
+    @Override
+    public void deleteAll() {
+        synchronized (this) {
+            for (Long id : List.copyOf(rows.keySet())) deleteById(id);
+        }
+    }
+
+    @Override
+    public void deleteAllInBatch(Iterable<T> entities) {
+        deleteAll(entities);
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        deleteAllById(ids);
+    }
+
+    @Override
+    public void deleteAllInBatch() {
+        deleteAll();
+    }
+
+    // ---------------------------------------------------------------
+    //  Reads
+    // ---------------------------------------------------------------
+
+    @Override
+    public Optional<T> findById(Long id) {
+        return Optional.ofNullable(rows.get(id));
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return rows.containsKey(id);
+    }
+
+    @Override
+    public long count() {
+        return rows.size();
+    }
+
+    @Override
+    public List<T> findAll() {
+        return findAll(Sort.by("id"));
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<Long> ids) {
+        return StreamSupport.stream(ids.spliterator(), false)
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public List<T> findAll(Sort sort) {
+        List<T> all = new ArrayList<>(rows.values());
+        Comparator<T> order = comparator(sort);
+        if (order != null) all.sort(order);
+        return all;
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        return page(findAll(pageable.getSortOr(Sort.by("id"))), pageable);
+    }
+
+    @Override
+    public T getReferenceById(Long id) {
+        return findById(id).orElseThrow(() -> new EntityNotFoundException("No row with id " + id));
+    }
+
+    @Override
+    @Deprecated
+    public T getById(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    @Deprecated
+    public T getOne(Long id) {
+        return getReferenceById(id);
+    }
+
+    /** One page of {@code all}, which is already in page order. */
+    static <E> Page<E> page(List<E> all, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(all);
+        }
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new PageImpl<>(all.subList(from, to), pageable, all.size());
+    }
+
+    /** Orders by bean properties, nulls last; {@code null} for an unsorted request. */
+    static <E> Comparator<E> comparator(Sort sort) {
+        return comparator(sort, (entity, property) -> new BeanWrapperImpl(entity).getPropertyValue(property));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <E> Comparator<E> comparator(Sort sort, BiFunction<E, String, Object> property) {
+        Comparator<E> result = null;
+        for (Sort.Order order : sort) {
+            Comparator<Comparable> values = Comparator.nullsLast(Comparator.naturalOrder());
+            Comparator<E> next = Comparator.comparing(
+                    entity -> (Comparable) property.apply(entity, order.getProperty()),
+                    order.isAscending() ? values : values.reversed());
+            result = result == null ? next : result.thenComparing(next);
+        }
+        return result;
+    }
+
+    // ---------------------------------------------------------------
+    //  Query by example
+    // ---------------------------------------------------------------
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        List<S> matches = matching(example);
+        if (matches.size() > 1) throw new IncorrectResultSizeDataAccessException(1, matches.size());
+        return matches.stream().findFirst();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) {
+        return findAll(example, Sort.by("id"));
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        List<S> matches = new ArrayList<>(matching(example));
+        Comparator<S> order = comparator(sort);
+        if (order != null) matches.sort(order);
+        return matches;
+    }
+
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        return page(findAll(example, pageable.getSortOr(Sort.by("id"))), pageable);
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        return matching(example).size();
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        return rows.values().stream().anyMatch(entity -> matches(example, entity));
+    }
+
+    @Override
+    public <S extends T, R> R findBy(Example<S> example,
+                                     Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        return queryFunction.apply(new InMemoryFluentQuery<S, S>(() -> matching(example)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <S extends T> List<S> matching(Example<S> example) {
+        return rows.values().stream()
+                .filter(entity -> matches(example, entity))
+                .map(entity -> (S) entity)
+                .toList();
+    }
+
+    private static boolean matches(Example<?> example, Object entity) {
+        if (!example.getProbeType().isInstance(entity)) return false;
+        ExampleMatcher matcher = example.getMatcher();
+        List<Boolean> results = new ArrayList<>();
+        compare(matcher, new BeanWrapperImpl(example.getProbe()), new BeanWrapperImpl(entity), "", results);
+        // No constrained property means no predicate: every row matches, in either mode.
+        return matcher.isAllMatching()
+                ? !results.contains(Boolean.FALSE)
+                : results.isEmpty() || results.contains(Boolean.TRUE);
+    }
+
+    /** Appends one result per constrained property of {@code probe}, descending into nested beans. */
+    private static void compare(ExampleMatcher matcher, BeanWrapper probe, BeanWrapper candidate, String prefix,
+                                List<Boolean> results) {
+        for (PropertyDescriptor descriptor : probe.getPropertyDescriptors()) {
+            String name = descriptor.getName();
+            String path = prefix + name;
+            Class<?> type = descriptor.getPropertyType();
+            if (descriptor.getReadMethod() == null || "class".equals(name) || matcher.isIgnoredPath(path)
+                    || type == null || Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)) {
+                continue;
+            }
+            ExampleMatcher.PropertySpecifier specifier = matcher.getPropertySpecifiers().getForPath(path);
+            Optional<Object> expected = Optional.ofNullable(probe.getPropertyValue(name));
+            if (specifier != null) expected = specifier.transformValue(expected);
+            Object actual = candidate.getPropertyValue(name);
+
+            if (expected.isEmpty()) {
+                if (matcher.getNullHandler() == ExampleMatcher.NullHandler.INCLUDE) results.add(actual == null);
+            } else if (!BeanUtils.isSimpleProperty(type)) {
+                if (actual == null) {
+                    results.add(false);
+                } else {
+                    compare(matcher, new BeanWrapperImpl(expected.get()), new BeanWrapperImpl(actual), path + ".",
+                            results);
+                }
+            } else {
+                results.add(matchesValue(matcher, specifier, expected.get(), actual));
+            }
+        }
+    }
+
+    private static boolean matchesValue(ExampleMatcher matcher, ExampleMatcher.PropertySpecifier specifier,
+                                        Object expected, Object actual) {
+        if (!(expected instanceof String text)) return expected.equals(actual);
+        if (!(actual instanceof String value)) return false;
+
+        ExampleMatcher.StringMatcher how = specifier != null && specifier.getStringMatcher() != null
+                ? specifier.getStringMatcher() : matcher.getDefaultStringMatcher();
+        boolean ignoreCase = specifier != null && specifier.getIgnoreCase() != null
+                ? specifier.getIgnoreCase() : matcher.isIgnoreCaseEnabled();
+        if (how == ExampleMatcher.StringMatcher.REGEX) {
+            return Pattern.compile(text, ignoreCase ? Pattern.CASE_INSENSITIVE : 0).matcher(value).matches();
+        }
+        if (ignoreCase) {
+            text = text.toLowerCase(Locale.ROOT);
+            value = value.toLowerCase(Locale.ROOT);
+        }
+        return switch (how) {
+            case STARTING -> value.startsWith(text);
+            case ENDING -> value.endsWith(text);
+            case CONTAINING -> value.contains(text);
+            default -> value.equals(text);
+        };
+    }
+}
@@ -0,0 +1,221 @@
+package com.aipaper.repository.inmemory;
+
+import com.aipaper.entity.Meeting;
+import com.aipaper.entity.MeetingParticipant;
+import com.aipaper.repository.MeetingRepository;
+import com.aipaper.repository.MeetingSummary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Meetings with ordered {@code (meeting_date, start_time, id)} indexes: one over all meetings, one per
+ * organizer and one per attendee. They play the parts of {@code idx_meetings_calendar},
+ * {@code idx_meetings_organizer_calendar} and {@code idx_meeting_participants_email_date}, so range
+ * and keyset queries are sub-map views that come back in the same order as the SQL versions.
+ */
+@Repository
+@Profile("inmemory")
+public class InMemoryMeetingRepository extends InMemoryJpaRepository<Meeting> implements MeetingRepository {
+
+    private record Key(LocalDate date, LocalTime start, long id) implements Comparable<Key> {
+        static Key first(LocalDate date) {
+            return new Key(date, LocalTime.MIN, Long.MIN_VALUE);
+        }
+
+        static Key last(LocalDate date) {
+            return new Key(date, LocalTime.MAX, Long.MAX_VALUE);
+        }
+
+        @Override
+        public int compareTo(Key o) {
+            int c = date.compareTo(o.date);
+            if (c == 0) c = start.compareTo(o.start);
+            return c != 0 ? c : Long.compare(id, o.id);
+        }
+    }
+
+    /** Where a row was indexed; the entity itself may have been changed since. */
+    private record Indexed(Key key, String organizer, Set<String> attendees) {}
+
+    /** Detached copy of the projected columns, like the rows Spring Data builds for the JPQL projection. */
+    private static final class Summary implements MeetingSummary {
+        private final Long id;
+        private final String title;
+        private final String organizerEmail;
+        private final LocalDate meetingDate;
+        private final LocalTime startTime;
+        private final LocalTime endTime;
+        private final String location;
+
+        private Summary(Meeting m) {
+            this.id = m.getId();
+            this.title = m.getTitle();
+            this.organizerEmail = m.getOrganizerEmail();
+            this.meetingDate = m.getMeetingDate();
+            this.startTime = m.getStartTime();
+            this.endTime = m.getEndTime();
+            this.location = m.getLocation();
+        }
+
+        static Summary of(Meeting m) {
+            return new Summary(m);
+        }
+
+        @Override public Long getId() { return id; }
+        @Override public String getTitle() { return title; }
+        @Override public String getOrganizerEmail() { return organizerEmail; }
+        @Override public LocalDate getMeetingDate() { return meetingDate; }
+        @Override public LocalTime getStartTime() { return startTime; }
+        @Override public LocalTime getEndTime() { return endTime; }
+        @Override public String getLocation() { return location; }
+    }
+
+    private final ConcurrentSkipListMap<Key, Meeting> byDate = new ConcurrentSkipListMap<>();
+    private final Map<String, ConcurrentSkipListMap<Key, Meeting>> byOrganizer = new ConcurrentHashMap<>();
+    private final Map<String, ConcurrentSkipListMap<Key, Meeting>> byAttendee = new ConcurrentHashMap<>();
+    private final Map<Long, Indexed> indexed = new ConcurrentHashMap<>();
+
+    @Override
+    public List<Meeting> findByOrganizerEmail(String organizerEmail) {
+        return List.copyOf(slot(byOrganizer, normalize(organizerEmail)).values());
+    }
+
+    @Override
+    public List<Meeting> findByMeetingDate(LocalDate meetingDate) {
+        return List.copyOf(range(byDate, meetingDate, meetingDate).values());
+    }
+
+    @Override
+    public List<Meeting> findAgenda(String email, LocalDate from, LocalDate to) {
+        return List.copyOf(range(slot(byAttendee, normalize(email)), from, to).values());
+    }
+
+    @Override
+    public long countAttendance(String email, LocalDate date) {
+        return range(slot(byAttendee, normalize(email)), date, date).size();
+    }
+
+    @Override
+    public List<MeetingSummary> findOrganizerPage(String email, LocalDate from, LocalDate to,
+                                                  LocalDate afterDate, LocalTime afterTime, long afterId,
+                                                  Limit limit) {
+        return page(slot(byOrganizer, normalize(email)), from, to, new Key(afterDate, afterTime, afterId), limit);
+    }
+
+    @Override
+    public List<MeetingSummary> findParticipantPage(String email, LocalDate from, LocalDate to,
+                                                    LocalDate afterDate, LocalTime afterTime, long afterId,
+                                                    Limit limit) {
+        return page(slot(byAttendee, normalize(email)), from, to, new Key(afterDate, afterTime, afterId), limit);
+    }
+
+    @Override
+    public Stream<MeetingSummary> streamOrganizerRange(String email, LocalDate from, LocalDate to) {
+        return range(slot(byOrganizer, normalize(email)), from, to).values().stream().map(Summary::of);
+    }
+
+    @Override
+    public Stream<Meeting> streamAllBy() {
+        return rows.values().stream();
+    }
+
+    /** Nothing is pending or attached. */
+    @Override
+    public void flushAndClear() {
+    }
+
+    // ---------------------------------------------------------------
+    //  Index maintenance
+    // ---------------------------------------------------------------
+
+    @Override
+    protected Long idOf(Meeting entity) {
+        return entity.getId();
+    }
+
+    @Override
+    protected void assignId(Meeting entity, long id) {
+        entity.setId(id);
+    }
+
+    @Override
+    protected void check(Meeting m) {
+        if (m.getTitle() == null || m.getOrganizerEmail() == null || m.getMeetingDate() == null
+                || m.getStartTime() == null || m.getEndTime() == null) {
+            throw new DataIntegrityViolationException(
+                    "meetings: title, organizer_email, meeting_date, start_time and end_time are required");
+        }
+    }
+
+    @Override
+    protected void index(Meeting m) {
+        Key key = new Key(m.getMeetingDate(), m.getStartTime(), m.getId());
+        Set<String> attendees = m.getAttendees().stream()
+                .map(MeetingParticipant::getEmail)
+                .collect(Collectors.toUnmodifiableSet());
+        byDate.put(key, m);
+        byOrganizer.computeIfAbsent(m.getOrganizerEmail(), k -> new ConcurrentSkipListMap<>()).put(key, m);
+        for (String email : attendees) {
+            byAttendee.computeIfAbsent(email, k -> new ConcurrentSkipListMap<>()).put(key, m);
+        }
+        indexed.put(m.getId(), new Indexed(key, m.getOrganizerEmail(), attendees));
+    }
+
+    @Override
+    protected void unindex(long id) {
+        Indexed old = indexed.remove(id);
+        if (old == null) return;
+        byDate.remove(old.key());
+        byOrganizer.get(old.organizer()).remove(old.key());
+        for (String email : old.attendees()) {
+            byAttendee.get(email).remove(old.key());
+        }
+    }
+
+    // ---------------------------------------------------------------
+    //  Range helpers
+    // ---------------------------------------------------------------
+
+    private static NavigableMap<Key, Meeting> slot(Map<String, ConcurrentSkipListMap<Key, Meeting>> index,
+                                                   String email) {
+        NavigableMap<Key, Meeting> meetings = email != null ? index.get(email) : null;
+        return meetings != null ? meetings : Collections.emptyNavigableMap();
+    }
+
+    private static NavigableMap<Key, Meeting> range(NavigableMap<Key, Meeting> meetings,
+                                                    LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) return Collections.emptyNavigableMap();
+        return meetings.subMap(Key.first(from), true, Key.last(to), true);
+    }
+
+    /** Rows of {@code [from, to]} strictly after {@code after}, like the row-value predicate in SQL. */
+    private static List<MeetingSummary> page(NavigableMap<Key, Meeting> meetings, LocalDate from, LocalDate to,
+                                             Key after, Limit limit) {
+        Key low = Key.first(from);
+        Key high = Key.last(to);
+        boolean lowInclusive = after.compareTo(low) < 0;
+        if (!lowInclusive) low = after;
+        if (low.compareTo(high) > 0) return List.of();
+        Stream<MeetingSummary> rows = meetings.subMap(low, lowInclusive, high, true).values().stream()
+                .map(Summary::of);
+        return (limit.isLimited() ? rows.limit(limit.max()) : rows).toList();
+    }
+
+    private static String normalize(String email) {
+        return email != null ? MeetingParticipant.normalizeEmail(email) : null;
+    }
+}
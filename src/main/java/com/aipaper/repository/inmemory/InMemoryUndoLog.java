@@ -0,0 +1,51 @@
+package com.aipaper.repository.inmemory;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Inverse operations for the writes the in-memory repositories made in the current transaction, replayed
+ * newest first on rollback. The {@code inmemory} transaction manager binds one log per transaction to the
+ * thread; writes made outside a transaction, or on another thread, are not recorded.
+ */
+public final class InMemoryUndoLog {
+
+    private final Deque<Runnable> undo = new ArrayDeque<>();
+    private boolean rollbackOnly;
+
+    /** The log bound to the calling thread, or {@code null} outside a transaction. */
+    public static InMemoryUndoLog current() {
+        return (InMemoryUndoLog) TransactionSynchronizationManager.getResource(InMemoryUndoLog.class);
+    }
+
+    static void record(Runnable inverse) {
+        InMemoryUndoLog log = current();
+        if (log != null) log.undo.push(inverse);
+    }
+
+    public void bind() {
+        TransactionSynchronizationManager.bindResource(InMemoryUndoLog.class, this);
+    }
+
+    public static InMemoryUndoLog unbind() {
+        return (InMemoryUndoLog) TransactionSynchronizationManager.unbindResourceIfPossible(InMemoryUndoLog.class);
+    }
+
+    public void rollback() {
+        while (!undo.isEmpty()) undo.pop().run();
+    }
+
+    public void setRollbackOnly() {
+        rollbackOnly = true;
+    }
+
+    public boolean isRollbackOnly() {
+        return rollbackOnly;
+    }
+
+    public void clear() {
+        undo.clear();
+    }
+}
@@ -0,0 +1,71 @@
+package com.aipaper.repository.inmemory;
+
+import com.aipaper.dto.UserProfileResult;
+import com.aipaper.entity.UserProfile;
+import com.aipaper.repository.UserProfileRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Repository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Profiles with a hash index on email; email stays unique and case-sensitive, as in {@code user_profiles}. */
+@Repository
+@Profile("inmemory")
+public class InMemoryUserProfileRepository extends InMemoryJpaRepository<UserProfile> implements UserProfileRepository {
+
+    private final Map<String, UserProfile> byEmail = new ConcurrentHashMap<>();
+    /** Email each row was indexed under; the entity itself may have been changed since. */
+    private final Map<Long, String> indexedEmail = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<UserProfile> findByEmail(String email) {
+        return Optional.ofNullable(byEmail.get(email));
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return byEmail.containsKey(email);
+    }
+
+    @Override
+    public Optional<UserProfileResult> findResultByEmail(String email) {
+        return findByEmail(email).map(u -> new UserProfileResult(
+                u.getEmail(), u.getFirstName(), u.getLastName(), u.getPhone(), u.getAddress()));
+    }
+
+    @Override
+    protected Long idOf(UserProfile entity) {
+        return entity.getId();
+    }
+
+    @Override
+    protected void assignId(UserProfile entity, long id) {
+        entity.setId(id);
+    }
+
+    @Override
+    protected void check(UserProfile entity) {
+        if (entity.getEmail() == null || entity.getFirstName() == null || entity.getLastName() == null) {
+            throw new DataIntegrityViolationException("user_profiles: email, first_name and last_name are required");
+        }
+        UserProfile holder = byEmail.get(entity.getEmail());
+        if (holder != null && !holder.getId().equals(entity.getId())) {
+            throw new DataIntegrityViolationException("user_profiles: duplicate email " + entity.getEmail());
+        }
+    }
+
+    @Override
+    protected void index(UserProfile entity) {
+        byEmail.put(entity.getEmail(), entity);
+        indexedEmail.put(entity.getId(), entity.getEmail());
+    }
+
+    @Override
+    protected void unindex(long id) {
+        String email = indexedEmail.remove(id);
+        if (email != null) byEmail.remove(email);
+    }
+}
@@ -0,0 +1,18 @@
+package com.aipaper.repository.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/** R2DBC view of {@code user_profiles}; the schema itself stays owned by the JPA entity. */
+@Table("user_profiles")
+public record ProfileRow(
+        @Id Long id,
+        String email,
+        String firstName,
+        String lastName,
+        String phone,
+        String address,
+        LocalDateTime createdAt
+) {}
@@ -0,0 +1,75 @@
+package com.aipaper.repository.reactive;
+
+import com.aipaper.entity.Meeting;
+import com.aipaper.entity.MeetingParticipant;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking meeting writes over {@link DatabaseClient}. The meeting and its participant rows
+ * go in one R2DBC transaction; IDs come from the same sequences Hibernate draws from, like
+ * {@link com.aipaper.repository.backend.JdbcDataAccess}.
+ */
+@Repository
+@Profile("!inmemory")
+public class ReactiveMeetingRepository {
+
+    private static final String INSERT_MEETING =
+            "INSERT INTO meetings (id, title, organizer_email, participants, meeting_date, start_time, end_time, "
+                    + "location, created_at) VALUES (nextval('meetings_seq'), :title, :organizer, :participants, "
+                    + ":date, :start, :end, :location, :createdAt)";
+
+    private static final String INSERT_PARTICIPANT =
+            "INSERT INTO meeting_participants (id, meeting_id, email, meeting_date, start_time, end_time) "
+                    + "VALUES (nextval('meeting_participants_seq'), :meetingId, :email, :date, :start, :end)";
+
+    private final DatabaseClient db;
+    private final TransactionalOperator tx;
+
+    public ReactiveMeetingRepository(DatabaseClient db, ReactiveTransactionManager transactionManager) {
+        this.db = db;
+        this.tx = TransactionalOperator.create(transactionManager);
+    }
+
+    /** Emits the new meeting ID once the meeting and its participants are committed. */
+    public Mono<Long> insert(Meeting m) {
+        DatabaseClient.GenericExecuteSpec spec = db.sql(INSERT_MEETING)
+                .bind("title", m.getTitle())
+                .bind("organizer", m.getOrganizerEmail())
+                .bind("date", m.getMeetingDate())
+                .bind("start", m.getStartTime())
+                .bind("end", m.getEndTime())
+                .bind("createdAt", LocalDateTime.now());
+        spec = m.getParticipants() != null
+                ? spec.bind("participants", m.getParticipants()) : spec.bindNull("participants", String.class);
+        spec = m.getLocation() != null
+                ? spec.bind("location", m.getLocation()) : spec.bindNull("location", String.class);
+
+        return spec.filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .flatMap(id -> insertParticipants(id, m).thenReturn(id))
+                .as(tx::transactional);
+    }
+
+    private Mono<Void> insertParticipants(long meetingId, Meeting m) {
+        return Flux.fromIterable(m.getAttendees())
+                .map(MeetingParticipant::getEmail)
+                .concatMap(email -> db.sql(INSERT_PARTICIPANT)
+                        .bind("meetingId", meetingId)
+                        .bind("email", email)
+                        .bind("date", m.getMeetingDate())
+                        .bind("start", m.getStartTime())
+                        .bind("end", m.getEndTime())
+                        .fetch()
+                        .rowsUpdated())
+                .then();
+    }
+}
@@ -0,0 +1,17 @@
+package com.aipaper.repository.reactive;
+
+import com.aipaper.dto.UserProfileResult;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveUserProfileRepository extends R2dbcRepository<ProfileRow, Long> {
+
+    Mono<ProfileRow> findByEmail(String email);
+
+    /** Same DTO read as the JPA repository, without holding a thread while the row arrives. */
+    @Query("SELECT email, first_name, last_name, phone, address FROM user_profiles WHERE email = :email")
+    Mono<UserProfileResult> findResultByEmail(String email);
+}
@@ -1,8 +1,12 @@
 package com.aipaper.service;
 
+import com.aipaper.service.routing.LlmTarget;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.model.ChatResponse;
 
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
 public interface LlmRoutingService {
 
     String call(LlmProvider provider, String userMessage);
@@ -12,4 +16,34 @@ public interface LlmRoutingService {
     <T> T callWithStructuredOutput(LlmProvider provider, String userMessage, Class<T> responseType);
 
     ChatClient getClient(LlmProvider provider);
+
+    /** The provider/model pair that {@link #getClient(LlmProvider)} resolves to. */
+    LlmTarget targetFor(LlmProvider provider);
+
+    ChatClient getClient(LlmTarget target);
+
+    /**
+     * Runs {@code call} against the currently fastest healthy target, falling back to the
+     * next-ranked target when it throws, for at most {@code maxAttempts} targets.
+     * Use {@code maxAttempts = 1} for calls with side effects that must not be repeated.
+     */
+    default <T> T callBalanced(Function<ChatClient, T> call, int maxAttempts) {
+        return callRouted((target, client) -> call.apply(client), maxAttempts);
+    }
+
+    /**
+     * Like {@link #callBalanced(Function, int)}, but also hands the call the target it landed on,
+     * for callers whose request shape depends on the model (e.g. its context window).
+     */
+    <T> T callRouted(BiFunction<LlmTarget, ChatClient, T> call, int maxAttempts);
+
+    default <T> T callBalanced(Function<ChatClient, T> call) {
+        return callBalanced(call, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Like {@link #callBalanced(Function)}, but when hedging is enabled a duplicate request is
+     * sent to the next-ranked target if the first one is slow. Only for side-effect-free calls.
+     */
+    <T> T callHedged(Function<ChatClient, T> call);
 }
@@ -0,0 +1,104 @@
+package com.aipaper.service.booking;
+
+import com.aipaper.dto.MeetingPage;
+import com.aipaper.repository.MeetingRepository;
+import com.aipaper.repository.MeetingSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Calendar range reads. Pages use keyset pagination, so page N costs the same as page 1 however many
+ * meetings an organizer has; exports stream rows instead of materializing the range.
+ */
+@Service
+public class MeetingCalendarService {
+
+    private final MeetingRepository repository;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public MeetingCalendarService(MeetingRepository repository,
+                                  @Value("${meetings.calendar.default-page-size:50}") int defaultPageSize,
+                                  @Value("${meetings.calendar.max-page-size:500}") int maxPageSize) {
+        this.repository = repository;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Transactional(readOnly = true)
+    public MeetingPage organizerPage(String email, LocalDate from, LocalDate to, String cursor, Integer size) {
+        checkRange(from, to);
+        MeetingCursor after = cursor != null ? MeetingCursor.decode(cursor) : MeetingCursor.before(from);
+        int limit = pageSize(size);
+        List<MeetingSummary> rows = repository.findOrganizerPage(email, from, to,
+                after.date(), after.startTime(), after.id(), Limit.of(limit + 1));
+        return page(rows, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public MeetingPage participantPage(String email, LocalDate from, LocalDate to, String cursor, Integer size) {
+        checkRange(from, to);
+        MeetingCursor after = cursor != null ? MeetingCursor.decode(cursor) : MeetingCursor.before(from);
+        int limit = pageSize(size);
+        List<MeetingSummary> rows = repository.findParticipantPage(email, from, to,
+                after.date(), after.startTime(), after.id(), Limit.of(limit + 1));
+        return page(rows, limit);
+    }
+
+    /** Writes the organizer's meetings in {@code [from, to]} as CSV, one row at a time. */
+    @Transactional(readOnly = true)
+    public long exportOrganizerCsv(String email, LocalDate from, LocalDate to, Writer out) {
+        checkRange(from, to);
+        long[] count = {0};
+        try (Stream<MeetingSummary> rows = repository.streamOrganizerRange(email, from, to)) {
+            out.write("id,title,date,start_time,end_time,location\n");
+            rows.forEach(m -> {
+                try {
+                    out.write(m.getId() + "," + csv(m.getTitle()) + "," + m.getMeetingDate() + ","
+                            + m.getStartTime() + "," + m.getEndTime() + "," + csv(m.getLocation()) + "\n");
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count[0];
+    }
+
+    /** Fetches one extra row to learn whether another page exists without a count query. */
+    private static MeetingPage page(List<MeetingSummary> rows, int limit) {
+        if (rows.size() <= limit) return new MeetingPage(rows, null);
+        List<MeetingSummary> items = rows.subList(0, limit);
+        return new MeetingPage(List.copyOf(items), MeetingCursor.after(items.get(limit - 1)).encode());
+    }
+
+    private int pageSize(Integer size) {
+        if (size == null) return defaultPageSize;
+        if (size < 1) throw new IllegalArgumentException("Page size must be positive");
+        return Math.min(size, maxPageSize);
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("A date range with from <= to is required");
+        }
+    }
+
+    private static String csv(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
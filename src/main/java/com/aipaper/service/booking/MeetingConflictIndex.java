@@ -0,0 +1,267 @@
+package com.aipaper.service.booking;
+
+import com.aipaper.entity.Meeting;
+import com.aipaper.repository.MeetingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * In-memory interval index of booked time per resource (person or room) and date, used to reject
+ * double bookings without querying the meetings table.
+ *
+ * <p>Each (resource, date) slot is a {@link TreeMap} of disjoint half-open intervals keyed by start
+ * time, so an overlap query is one {@code floorEntry} and one {@code higherEntry}: O(log n).
+ * Overlapping rows that already exist in the database are coalesced while loading; intervals added
+ * through {@link #reserve} are disjoint by construction and can be released again if the booking
+ * transaction rolls back.
+ *
+ * <p>The index only sees bookings made by this JVM. The PostgreSQL exclusion constraints created by
+ * {@code MeetingConstraintInitializer} are the durable guard across instances.
+ */
+@Component
+public class MeetingConflictIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(MeetingConflictIndex.class);
+
+    public enum ResourceType { PERSON, ROOM }
+
+    /** One resource already taken for an overlapping interval. */
+    public record Conflict(ResourceType type, String resource, LocalDate date,
+                           LocalTime start, LocalTime end, Long meetingId) {
+        public String describe() {
+            return (type == ResourceType.ROOM ? "Room " : "") + resource + " is already booked "
+                    + start + "-" + end + " on " + date
+                    + (meetingId != null ? " (meeting " + meetingId + ")" : "");
+        }
+    }
+
+    private record SlotKey(ResourceType type, String resource, LocalDate date) {}
+
+    private static final class Interval {
+        final LocalTime start;
+        LocalTime end;
+        volatile Long meetingId;
+
+        Interval(LocalTime start, LocalTime end, Long meetingId) {
+            this.start = start;
+            this.end = end;
+            this.meetingId = meetingId;
+        }
+    }
+
+    /** Outcome of {@link #reserve}; bind the generated ID once the meeting has been saved. */
+    public static final class Reservation {
+        private static final Reservation NONE = new Reservation(List.of(), List.of(), List.of(), null);
+
+        private final List<Conflict> conflicts;
+        private final List<SlotKey> keys;
+        private final List<Interval> intervals;
+        private final MeetingConflictIndex owner;
+
+        private Reservation(List<Conflict> conflicts, List<SlotKey> keys, List<Interval> intervals,
+                            MeetingConflictIndex owner) {
+            this.conflicts = conflicts;
+            this.keys = keys;
+            this.intervals = intervals;
+            this.owner = owner;
+        }
+
+        public boolean hasConflicts() {
+            return !conflicts.isEmpty();
+        }
+
+        public List<Conflict> conflicts() {
+            return conflicts;
+        }
+
+        public String describeConflicts() {
+            return String.join("; ", conflicts.stream().map(Conflict::describe).toList());
+        }
+
+        public void bind(Long meetingId) {
+            for (Interval interval : intervals) interval.meetingId = meetingId;
+        }
+
+        /** Frees the reserved intervals; call when the meeting was not saved after all. */
+        public void release() {
+            if (owner != null) owner.release(this);
+        }
+    }
+
+    private final MeetingRepository repository;
+    private final TransactionTemplate readOnly;
+    private final boolean enabled;
+    /** Guarded by {@code this}. */
+    private final Map<SlotKey, TreeMap<LocalTime, Interval>> slots = new HashMap<>();
+    private volatile boolean loaded;
+
+    public MeetingConflictIndex(MeetingRepository repository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${meetings.conflicts.enabled:false}") boolean enabled) {
+        this.repository = repository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Loads existing meetings once, before runners (including the benchmark) start booking. */
+    @EventListener(ContextRefreshedEvent.class)
+    public void load() {
+        if (!enabled || loaded) return;
+        loaded = true;
+        long start = System.nanoTime();
+        AtomicInteger count = new AtomicInteger();
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<Meeting> meetings = repository.streamAllBy()) {
+                meetings.forEach(m -> {
+                    synchronized (this) {
+                        for (SlotKey key : keysOf(m)) coalesce(key, m);
+                    }
+                    count.incrementAndGet();
+                });
+            }
+        });
+        int slotCount;
+        synchronized (this) {
+            slotCount = slots.size();
+        }
+        log.info("Meeting conflict index loaded {} meetings into {} slots in {} ms",
+                count.get(), slotCount, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Checks the meeting's organizer, participants and room for overlaps and, if there are none,
+     * reserves its interval for all of them atomically. Inside a transaction the reservation is
+     * released automatically on rollback.
+     */
+    public Reservation reserve(Meeting meeting) {
+        if (!enabled) return Reservation.NONE;
+        List<SlotKey> keys = keysOf(meeting);
+        Reservation reservation;
+        synchronized (this) {
+            List<Conflict> conflicts = new ArrayList<>();
+            for (SlotKey key : keys) {
+                Interval hit = overlap(slots.get(key), meeting.getStartTime(), meeting.getEndTime());
+                if (hit != null) {
+                    conflicts.add(new Conflict(key.type(), key.resource(), key.date(),
+                            hit.start, hit.end, hit.meetingId));
+                }
+            }
+            if (!conflicts.isEmpty()) {
+                return new Reservation(List.copyOf(conflicts), List.of(), List.of(), null);
+            }
+            List<Interval> added = new ArrayList<>(keys.size());
+            for (SlotKey key : keys) {
+                Interval interval = new Interval(meeting.getStartTime(), meeting.getEndTime(), meeting.getId());
+                slots.computeIfAbsent(key, k -> new TreeMap<>()).put(interval.start, interval);
+                added.add(interval);
+            }
+            reservation = new Reservation(List.of(), keys, added, this);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) reservation.release();
+                }
+            });
+        }
+        return reservation;
+    }
+
+    /** Overlapping bookings for one resource, without reserving anything. */
+    public List<Conflict> findConflicts(ResourceType type, String resource, LocalDate date,
+                                        LocalTime start, LocalTime end) {
+        SlotKey key = new SlotKey(type, normalize(resource), date);
+        synchronized (this) {
+            Interval hit = overlap(slots.get(key), start, end);
+            return hit == null ? List.of()
+                    : List.of(new Conflict(type, key.resource(), date, hit.start, hit.end, hit.meetingId));
+        }
+    }
+
+    private synchronized void release(Reservation reservation) {
+        for (int i = 0; i < reservation.keys.size(); i++) {
+            SlotKey key = reservation.keys.get(i);
+            TreeMap<LocalTime, Interval> slot = slots.get(key);
+            Interval interval = reservation.intervals.get(i);
+            if (slot != null && slot.get(interval.start) == interval) {
+                slot.remove(interval.start);
+                if (slot.isEmpty()) slots.remove(key);
+            }
+        }
+    }
+
+    /** [start, end) overlaps iff the interval starting at or before start runs past it, or the next one starts before end. */
+    private static Interval overlap(TreeMap<LocalTime, Interval> slot, LocalTime start, LocalTime end) {
+        if (slot == null) return null;
+        Map.Entry<LocalTime, Interval> before = slot.floorEntry(start);
+        if (before != null && before.getValue().end.isAfter(start)) return before.getValue();
+        Map.Entry<LocalTime, Interval> after = slot.higherEntry(start);
+        if (after != null && after.getKey().isBefore(end)) return after.getValue();
+        return null;
+    }
+
+    /** Inserts a persisted meeting, merging it with any intervals it overlaps. */
+    private void coalesce(SlotKey key, Meeting m) {
+        TreeMap<LocalTime, Interval> slot = slots.computeIfAbsent(key, k -> new TreeMap<>());
+        LocalTime start = m.getStartTime();
+        LocalTime end = m.getEndTime();
+        Long meetingId = m.getId();
+        Interval hit;
+        while ((hit = overlap(slot, start, end)) != null) {
+            slot.remove(hit.start);
+            if (hit.start.isBefore(start)) {
+                start = hit.start;
+                meetingId = hit.meetingId;
+            }
+            if (hit.end.isAfter(end)) end = hit.end;
+        }
+        slot.put(start, new Interval(start, end, meetingId));
+    }
+
+    private static List<SlotKey> keysOf(Meeting m) {
+        Set<String> people = new LinkedHashSet<>();
+        if (m.getOrganizerEmail() != null) people.add(normalize(m.getOrganizerEmail()));
+        if (m.getParticipants() != null) {
+            for (String p : m.getParticipants().split(",")) {
+                if (!p.isBlank()) people.add(normalize(p));
+            }
+        }
+        List<SlotKey> keys = new ArrayList<>(people.size() + 1);
+        for (String person : people) keys.add(new SlotKey(ResourceType.PERSON, person, m.getMeetingDate()));
+        if (m.getLocation() != null && !m.getLocation().isBlank()) {
+            keys.add(new SlotKey(ResourceType.ROOM, normalize(m.getLocation()), m.getMeetingDate()));
+        }
+        return keys;
+    }
+
+    private static String normalize(String resource) {
+        return resource.trim().toLowerCase(Locale.ROOT);
+    }
+}
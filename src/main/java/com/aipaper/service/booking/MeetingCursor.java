@@ -0,0 +1,40 @@
+package com.aipaper.service.booking;
+
+import com.aipaper.repository.MeetingSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in calendar order {@code (meeting_date, start_time, id)}: the next page holds the
+ * rows strictly after it. Encoded as an opaque URL-safe token.
+ */
+public record MeetingCursor(LocalDate date, LocalTime startTime, long id) {
+
+    /** Position just before every meeting on or after {@code from}; meeting IDs start at 1. */
+    public static MeetingCursor before(LocalDate from) {
+        return new MeetingCursor(from, LocalTime.MIN, 0);
+    }
+
+    public static MeetingCursor after(MeetingSummary last) {
+        return new MeetingCursor(last.getMeetingDate(), last.getStartTime(), last.getId());
+    }
+
+    public String encode() {
+        String raw = date + "|" + startTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MeetingCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3) throw new IllegalArgumentException("Invalid cursor");
+            return new MeetingCursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
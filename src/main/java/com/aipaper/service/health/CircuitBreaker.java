@@ -0,0 +1,120 @@
+package com.aipaper.service.health;
+
+import com.aipaper.service.routing.LlmTarget;
+
+/**
+ * Closed/open/half-open breaker for one provider/model.
+ *
+ * <p>Opens after {@code failureThreshold} consecutive live failures or a failed health probe.
+ * After {@code openNanos} (or a successful probe) it lets a single trial call through in
+ * HALF_OPEN; the trial's outcome closes or re-opens it.
+ */
+public final class CircuitBreaker {
+
+    /** Receives every state change. */
+    interface TransitionListener {
+        void onTransition(CircuitBreaker breaker, CircuitState from, CircuitState to);
+    }
+
+    private final LlmTarget target;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final TransitionListener listener;
+
+    private CircuitState state = CircuitState.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    CircuitBreaker(LlmTarget target, int failureThreshold, long openNanos, TransitionListener listener) {
+        this.target = target;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openNanos;
+        this.listener = listener;
+    }
+
+    public LlmTarget target() {
+        return target;
+    }
+
+    public synchronized CircuitState state() {
+        return state;
+    }
+
+    /** True if a call may be attempted right now, without reserving a half-open trial. */
+    public synchronized boolean isCallPermitted() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> System.nanoTime() - openedAt >= openNanos;
+            case HALF_OPEN -> !trialInFlight;
+        };
+    }
+
+    /**
+     * Reserves permission for one call. In HALF_OPEN only one trial call is admitted at a time.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == CircuitState.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            transition(CircuitState.HALF_OPEN);
+        }
+        switch (state) {
+            case CLOSED:
+                return true;
+            case HALF_OPEN:
+                if (trialInFlight) return false;
+                trialInFlight = true;
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        if (state != CircuitState.CLOSED) {
+            transition(CircuitState.CLOSED);
+        }
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        trialInFlight = false;
+        if (state == CircuitState.HALF_OPEN
+                || (state == CircuitState.CLOSED && consecutiveFailures >= failureThreshold)) {
+            open();
+        }
+    }
+
+    /** Ends a call without an outcome (e.g. cancelled), freeing the half-open trial slot. */
+    public synchronized void release() {
+        trialInFlight = false;
+    }
+
+    /** A failed probe means the backend is down for every caller: open immediately. */
+    synchronized void onProbeFailure() {
+        if (state != CircuitState.OPEN) {
+            open();
+        }
+    }
+
+    /** A successful probe shortens the open period; a live trial call still decides closing. */
+    synchronized void onProbeSuccess() {
+        if (state == CircuitState.OPEN) {
+            trialInFlight = false;
+            transition(CircuitState.HALF_OPEN);
+        }
+    }
+
+    private void open() {
+        openedAt = System.nanoTime();
+        transition(CircuitState.OPEN);
+    }
+
+    private void transition(CircuitState to) {
+        CircuitState from = state;
+        if (from == to) return;
+        state = to;
+        listener.onTransition(this, from, to);
+    }
+}
@@ -0,0 +1,75 @@
+package com.aipaper.service.health;
+
+import com.aipaper.service.LlmProvider;
+import com.aipaper.service.routing.LlmTarget;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@link CircuitBreaker} per provider/model, created on first use.
+ * Exposes {@code llm.circuit.state} (0 closed, 1 half-open, 2 open) and
+ * {@code llm.circuit.transitions} tagged with the from/to states.
+ */
+@Component
+public class CircuitBreakerRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreakerRegistry.class);
+
+    private final ConcurrentMap<LlmTarget, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final int failureThreshold;
+    private final long openNanos;
+    private final MeterRegistry meterRegistry;
+
+    public CircuitBreakerRegistry(@Value("${llm.circuit.failure-threshold:5}") int failureThreshold,
+                                  @Value("${llm.circuit.open-seconds:30}") long openSeconds,
+                                  MeterRegistry meterRegistry) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.SECONDS.toNanos(openSeconds);
+        this.meterRegistry = meterRegistry;
+    }
+
+    public CircuitBreaker get(LlmTarget target) {
+        return breakers.computeIfAbsent(target, this::create);
+    }
+
+    public Collection<CircuitBreaker> all() {
+        return breakers.values();
+    }
+
+    public List<CircuitBreaker> forProvider(LlmProvider provider) {
+        return breakers.values().stream().filter(b -> b.target().provider() == provider).toList();
+    }
+
+    private CircuitBreaker create(LlmTarget target) {
+        CircuitBreaker breaker = new CircuitBreaker(target, failureThreshold, openNanos, this::onTransition);
+        Gauge.builder("llm.circuit.state", breaker, b -> b.state().gaugeValue())
+                .tag("provider", target.provider().name())
+                .tag("model", target.model())
+                .register(meterRegistry);
+        return breaker;
+    }
+
+    private void onTransition(CircuitBreaker breaker, CircuitState from, CircuitState to) {
+        LlmTarget target = breaker.target();
+        if (to == CircuitState.OPEN) {
+            log.warn("Circuit {} {} -> {}", target.label(), from, to);
+        } else {
+            log.info("Circuit {} {} -> {}", target.label(), from, to);
+        }
+        meterRegistry.counter("llm.circuit.transitions",
+                "provider", target.provider().name(),
+                "model", target.model(),
+                "from", from.name(),
+                "to", to.name()).increment();
+    }
+}
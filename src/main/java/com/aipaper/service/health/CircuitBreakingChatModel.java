@@ -0,0 +1,143 @@
+package com.aipaper.service.health;
+
+import com.aipaper.exception.LlmProviderUnavailableException;
+import com.aipaper.jfr.LlmRequestEvent;
+import com.aipaper.service.LlmProvider;
+import com.aipaper.service.routing.LlmTarget;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+
+/**
+ * Wraps a provider's {@link ChatModel} so every call made through any {@link
+ * org.springframework.ai.chat.client.ChatClient} built on it is gated by the breaker
+ * of the requested model and feeds its outcome back.
+ * While the breaker is open, calls fail immediately with {@link LlmProviderUnavailableException}.
+ * Each request, rejected ones included, is recorded as an {@link LlmRequestEvent}.
+ */
+public class CircuitBreakingChatModel implements ChatModel {
+
+    private final LlmProvider provider;
+    private final ChatModel delegate;
+    private final CircuitBreakerRegistry breakers;
+
+    public CircuitBreakingChatModel(LlmProvider provider, ChatModel delegate, CircuitBreakerRegistry breakers) {
+        this.provider = provider;
+        this.delegate = delegate;
+        this.breakers = breakers;
+        // Register the default model up front so the health monitor probes it from the start.
+        breakerFor(null);
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        CircuitBreaker breaker = breakerFor(prompt != null ? prompt.getOptions() : null);
+        LlmRequestEvent event = acquire(breaker, false);
+        try {
+            ChatResponse response = delegate.call(prompt);
+            breaker.onSuccess();
+            recordUsage(event, response);
+            event.finish(LlmRequestEvent.OK, null);
+            return response;
+        } catch (RuntimeException e) {
+            if (isCancellation(e)) {
+                breaker.release();
+                event.finish(LlmRequestEvent.CANCELLED, e);
+            } else {
+                breaker.onFailure();
+                event.finish(LlmRequestEvent.ERROR, e);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return Flux.defer(() -> {
+            CircuitBreaker breaker = breakerFor(prompt != null ? prompt.getOptions() : null);
+            LlmRequestEvent event = acquire(breaker, true);
+            Throwable[] failure = new Throwable[1];
+            boolean[] received = new boolean[1];
+            return delegate.stream(prompt)
+                    .doOnNext(chunk -> {
+                        recordUsage(event, chunk);
+                        if (!received[0]) received[0] = hasText(chunk);
+                    })
+                    .doOnError(e -> failure[0] = e)
+                    .doFinally(signal -> {
+                        if (signal == SignalType.ON_COMPLETE) {
+                            breaker.onSuccess();
+                            event.finish(LlmRequestEvent.OK, null);
+                        } else if (signal == SignalType.ON_ERROR) {
+                            breaker.onFailure();
+                            event.finish(LlmRequestEvent.ERROR, failure[0]);
+                        } else if (received[0]) {
+                            // The caller had what it needed (e.g. the parser saw a complete object) and stopped early.
+                            breaker.onSuccess();
+                            event.finish(LlmRequestEvent.OK_EARLY_STOP, null);
+                        } else {
+                            breaker.release();
+                            event.finish(LlmRequestEvent.CANCELLED, null);
+                        }
+                    });
+        });
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        return delegate.getDefaultOptions();
+    }
+
+    public ChatModel getDelegate() {
+        return delegate;
+    }
+
+    private LlmRequestEvent acquire(CircuitBreaker breaker, boolean streamed) {
+        LlmRequestEvent event = LlmRequestEvent.start(provider.name(), breaker.target().model(), streamed);
+        if (!breaker.tryAcquire()) {
+            LlmProviderUnavailableException e = new LlmProviderUnavailableException(
+                    "Circuit open for " + breaker.target().label() + " — failing fast");
+            event.finish(LlmRequestEvent.REJECTED, e);
+            throw e;
+        }
+        return event;
+    }
+
+    /** Streams report usage on their last chunk(s); earlier chunks carry none or zeros. */
+    private static void recordUsage(LlmRequestEvent event, ChatResponse response) {
+        Usage usage = response != null && response.getMetadata() != null ? response.getMetadata().getUsage() : null;
+        if (usage != null && usage.getPromptTokens() != null && usage.getPromptTokens() > 0) {
+            event.tokens(usage.getPromptTokens(), usage.getCompletionTokens());
+        }
+    }
+
+    private static boolean hasText(ChatResponse response) {
+        return response != null && response.getResult() != null && response.getResult().getOutput() != null
+                && StringUtils.hasLength(response.getResult().getOutput().getText());
+    }
+
+    private CircuitBreaker breakerFor(ChatOptions requestOptions) {
+        String model = requestOptions != null ? requestOptions.getModel() : null;
+        if (model == null && delegate.getDefaultOptions() != null) {
+            model = delegate.getDefaultOptions().getModel();
+        }
+        return breakers.get(new LlmTarget(provider, model != null ? model : "default"));
+    }
+
+    private static boolean isCancellation(Throwable e) {
+        if (Thread.currentThread().isInterrupted()) return true;
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof InterruptedException) return true;
+            if (t instanceof InterruptedIOException && !(t instanceof SocketTimeoutException)) return true;
+        }
+        return false;
+    }
+}
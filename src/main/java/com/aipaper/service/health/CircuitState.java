@@ -0,0 +1,17 @@
+package com.aipaper.service.health;
+
+public enum CircuitState {
+    CLOSED(0),
+    HALF_OPEN(1),
+    OPEN(2);
+
+    private final int gaugeValue;
+
+    CircuitState(int gaugeValue) {
+        this.gaugeValue = gaugeValue;
+    }
+
+    public int gaugeValue() {
+        return gaugeValue;
+    }
+}
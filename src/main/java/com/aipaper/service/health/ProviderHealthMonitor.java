@@ -0,0 +1,136 @@
+package com.aipaper.service.health;
+
+import com.aipaper.service.LlmProvider;
+import com.aipaper.service.routing.LlmTarget;
+import com.aipaper.transport.SharedHttpTransport;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Periodically probes every provider that has a breaker and feeds the result into the breakers.
+ *
+ * <p>Ollama is probed via {@code /api/tags}; each model breaker is tripped when the model is not
+ * pulled on the server. OpenAI-compatible providers are probed via their models endpoint with
+ * the configured API key. Probes go through the same pooled connections as model calls,
+ * so a successful probe also keeps those connections warm.
+ */
+@Component
+public class ProviderHealthMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ProviderHealthMonitor.class);
+
+    private record Endpoint(String baseUrl, String healthPath, String apiKey) {}
+
+    private final CircuitBreakerRegistry breakers;
+    private final ObjectMapper objectMapper;
+    private final Map<LlmProvider, Endpoint> endpoints = new EnumMap<>(LlmProvider.class);
+    private final Duration probeTimeout;
+    private final SharedHttpTransport transport;
+
+    public ProviderHealthMonitor(CircuitBreakerRegistry breakers,
+                                 ObjectMapper objectMapper,
+                                 SharedHttpTransport transport,
+                                 @Value("${llm.health.probe-timeout-seconds:5}") long probeTimeoutSeconds,
+                                 @Value("${llm.ollama.base-url}") String ollamaBaseUrl,
+                                 @Value("${llm.ollama.health-path:/api/tags}") String ollamaHealthPath,
+                                 @Value("${llm.gemini.base-url}") String geminiBaseUrl,
+                                 @Value("${llm.gemini.health-path:/models}") String geminiHealthPath,
+                                 @Value("${llm.gemini.api-key}") String geminiApiKey,
+                                 @Value("${llm.groq.base-url}") String groqBaseUrl,
+                                 @Value("${llm.groq.health-path:/v1/models}") String groqHealthPath,
+                                 @Value("${llm.groq.api-key}") String groqApiKey) {
+        this.breakers = breakers;
+        this.objectMapper = objectMapper;
+        this.probeTimeout = Duration.ofSeconds(probeTimeoutSeconds);
+        this.transport = transport;
+        endpoints.put(LlmProvider.OLLAMA, new Endpoint(ollamaBaseUrl, ollamaHealthPath, null));
+        endpoints.put(LlmProvider.GEMINI, new Endpoint(geminiBaseUrl, geminiHealthPath, geminiApiKey));
+        endpoints.put(LlmProvider.GROQ, new Endpoint(groqBaseUrl, groqHealthPath, groqApiKey));
+    }
+
+    @Scheduled(initialDelayString = "${llm.health.initial-delay-ms:0}",
+               fixedDelayString = "${llm.health.probe-interval-ms:15000}")
+    public void probeAll() {
+        Set<LlmProvider> providers = new HashSet<>();
+        breakers.all().forEach(b -> providers.add(b.target().provider()));
+        providers.forEach(this::probe);
+    }
+
+    /**
+     * Probes one provider now and updates its breakers.
+     * Returns true if the provider answered and, for Ollama, at least one registered model is pulled.
+     */
+    public boolean probe(LlmProvider provider) {
+        Endpoint endpoint = endpoints.get(provider);
+        List<CircuitBreaker> providerBreakers = breakers.forProvider(provider);
+        try {
+            HttpRequest.Builder req = HttpRequest.newBuilder()
+                    .uri(URI.create(endpoint.baseUrl() + endpoint.healthPath()))
+                    .timeout(probeTimeout)
+                    .GET();
+            if (endpoint.apiKey() != null) {
+                req.header("Authorization", "Bearer " + endpoint.apiKey());
+            }
+            HttpClient http = transport.httpClient(endpoint.baseUrl());
+            HttpResponse<String> resp = http.send(req.build(), HttpResponse.BodyHandlers.ofString());
+            if (resp.statusCode() != 200) {
+                log.debug("{} probe: status {}", provider, resp.statusCode());
+                providerBreakers.forEach(CircuitBreaker::onProbeFailure);
+                return false;
+            }
+            if (provider == LlmProvider.OLLAMA) {
+                return applyOllamaModels(resp.body(), providerBreakers);
+            }
+            providerBreakers.forEach(CircuitBreaker::onProbeSuccess);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            log.debug("{} probe failed: {}", provider, e.getMessage());
+            providerBreakers.forEach(CircuitBreaker::onProbeFailure);
+            return false;
+        }
+    }
+
+    /** Probes the target's provider and reports whether the target's breaker currently admits calls. */
+    public boolean isAvailable(LlmTarget target) {
+        CircuitBreaker breaker = breakers.get(target);
+        probe(target.provider());
+        return breaker.isCallPermitted();
+    }
+
+    private boolean applyOllamaModels(String body, List<CircuitBreaker> providerBreakers) throws Exception {
+        Set<String> pulled = new HashSet<>();
+        for (JsonNode m : objectMapper.readTree(body).path("models")) {
+            pulled.add(m.path("name").asText());
+        }
+        boolean anyAvailable = providerBreakers.isEmpty();
+        for (CircuitBreaker breaker : providerBreakers) {
+            String model = breaker.target().model();
+            if (pulled.contains(model) || pulled.contains(model + ":latest")) {
+                breaker.onProbeSuccess();
+                anyAvailable = true;
+            } else {
+                breaker.onProbeFailure();
+            }
+        }
+        return anyAvailable;
+    }
+}
@@ -1,30 +1,50 @@
 package com.aipaper.service.impl;
 
+import com.aipaper.exception.LlmProviderUnavailableException;
 import com.aipaper.service.LlmProvider;
 import com.aipaper.service.LlmRoutingService;
+import com.aipaper.service.routing.ChatClientRegistry;
+import com.aipaper.service.routing.HedgedCallExecutor;
+import com.aipaper.service.routing.LatencyAwareRoutingPolicy;
+import com.aipaper.service.routing.LlmTarget;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.chat.model.ChatResponse;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 @Service
 public class LlmRoutingServiceImpl implements LlmRoutingService {
 
-    private final Map<LlmProvider, ChatClient> clients;
+    private static final Logger log = LoggerFactory.getLogger(LlmRoutingServiceImpl.class);
+
+    private final Map<LlmProvider, LlmTarget> defaultTargets;
+    private final ChatClientRegistry clientRegistry;
+    private final LatencyAwareRoutingPolicy routingPolicy;
+    private final HedgedCallExecutor hedgedCallExecutor;
 
     public LlmRoutingServiceImpl(
-            @Qualifier("ollamaChatModel") ChatModel ollama,
-            @Qualifier("geminiChatModel") ChatModel gemini,
-            @Qualifier("groqChatModel") ChatModel groq) {
-
-        this.clients = new EnumMap<>(LlmProvider.class);
-        this.clients.put(LlmProvider.OLLAMA, ChatClient.builder(ollama).build());
-        this.clients.put(LlmProvider.GEMINI, ChatClient.builder(gemini).build());
-        this.clients.put(LlmProvider.GROQ, ChatClient.builder(groq).build());
+            @Value("${llm.ollama.model}") String ollamaModel,
+            @Value("${llm.gemini.model}") String geminiModel,
+            @Value("${llm.groq.model}") String groqModel,
+            ChatClientRegistry clientRegistry,
+            LatencyAwareRoutingPolicy routingPolicy,
+            HedgedCallExecutor hedgedCallExecutor) {
+
+        this.defaultTargets = new EnumMap<>(LlmProvider.class);
+        this.defaultTargets.put(LlmProvider.OLLAMA, new LlmTarget(LlmProvider.OLLAMA, ollamaModel));
+        this.defaultTargets.put(LlmProvider.GEMINI, new LlmTarget(LlmProvider.GEMINI, geminiModel));
+        this.defaultTargets.put(LlmProvider.GROQ, new LlmTarget(LlmProvider.GROQ, groqModel));
+
+        this.clientRegistry = clientRegistry;
+        this.routingPolicy = routingPolicy;
+        this.hedgedCallExecutor = hedgedCallExecutor;
     }
 
     @Override
@@ -56,10 +76,57 @@ public class LlmRoutingServiceImpl implements LlmRoutingService {
 
     @Override
     public ChatClient getClient(LlmProvider provider) {
-        ChatClient client = clients.get(provider);
-        if (client == null) {
+        return clientRegistry.client(targetFor(provider));
+    }
+
+    @Override
+    public LlmTarget targetFor(LlmProvider provider) {
+        LlmTarget target = defaultTargets.get(provider);
+        if (target == null) {
             throw new IllegalArgumentException("No client configured for provider: " + provider);
         }
-        return client;
+        return target;
+    }
+
+    @Override
+    public ChatClient getClient(LlmTarget target) {
+        return clientRegistry.client(target);
+    }
+
+    @Override
+    public <T> T callRouted(BiFunction<LlmTarget, ChatClient, T> call, int maxAttempts) {
+        RuntimeException lastFailure = null;
+        int attempts = 0;
+
+        for (LlmTarget target : routingPolicy.rank()) {
+            if (attempts >= maxAttempts) break;
+            if (!routingPolicy.tryBegin(target)) continue;
+            attempts++;
+
+            long start = System.nanoTime();
+            try {
+                T result = call.apply(target, getClient(target));
+                routingPolicy.complete(target, System.nanoTime() - start, true);
+                return result;
+            } catch (RuntimeException e) {
+                routingPolicy.complete(target, System.nanoTime() - start, false);
+                log.warn("Routed call to {} failed ({}), trying next target",
+                        target.label(), e.getClass().getSimpleName());
+                lastFailure = e;
+            }
+        }
+
+        if (lastFailure != null) {
+            throw lastFailure;
+        }
+        throw new LlmProviderUnavailableException("No LLM target has rate-limit budget left");
+    }
+
+    @Override
+    public <T> T callHedged(Function<ChatClient, T> call) {
+        if (!hedgedCallExecutor.isEnabled()) {
+            return callBalanced(call);
+        }
+        return hedgedCallExecutor.execute(routingPolicy.rank(), target -> call.apply(getClient(target)));
     }
 }
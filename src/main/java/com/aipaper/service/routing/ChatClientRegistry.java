@@ -0,0 +1,89 @@
+package com.aipaper.service.routing;
+
+import com.aipaper.service.LlmProvider;
+import com.aipaper.service.health.CircuitBreakerRegistry;
+import com.aipaper.service.health.CircuitBreakingChatModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.ollama.OllamaChatModel;
+import org.springframework.ai.ollama.api.OllamaApi;
+import org.springframework.ai.ollama.api.OllamaOptions;
+import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches one circuit-breaking {@link ChatModel} and one {@link ChatClient} per provider/model.
+ * All models of a provider share that provider's API instance and therefore its pooled HTTP client;
+ * the API bean is only created when the provider's first model is.
+ */
+@Component
+public class ChatClientRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatClientRegistry.class);
+
+    private record Entry(ChatModel model, ChatClient client) {}
+
+    private final ObjectProvider<OllamaApi> ollamaApi;
+    private final ObjectProvider<OpenAiApi> geminiApi;
+    private final ObjectProvider<OpenAiApi> groqApi;
+    private final CircuitBreakerRegistry breakers;
+    private final ConcurrentMap<LlmTarget, Entry> entries = new ConcurrentHashMap<>();
+
+    public ChatClientRegistry(@Qualifier("ollamaApi") ObjectProvider<OllamaApi> ollamaApi,
+                              @Qualifier("geminiApi") ObjectProvider<OpenAiApi> geminiApi,
+                              @Qualifier("groqApi") ObjectProvider<OpenAiApi> groqApi,
+                              CircuitBreakerRegistry breakers) {
+        this.ollamaApi = ollamaApi;
+        this.geminiApi = geminiApi;
+        this.groqApi = groqApi;
+        this.breakers = breakers;
+    }
+
+    public ChatClient client(LlmTarget target) {
+        return entry(target).client();
+    }
+
+    public ChatModel chatModel(LlmTarget target) {
+        return entry(target).model();
+    }
+
+    private Entry entry(LlmTarget target) {
+        return entries.computeIfAbsent(target, this::create);
+    }
+
+    private Entry create(LlmTarget target) {
+        log.info("Creating ChatClient for {}", target.label());
+        ChatModel model = new CircuitBreakingChatModel(target.provider(), createModel(target), breakers);
+        return new Entry(model, ChatClient.create(model));
+    }
+
+    private ChatModel createModel(LlmTarget target) {
+        if (target.provider() == LlmProvider.OLLAMA) {
+            return OllamaChatModel.builder()
+                    .ollamaApi(ollamaApi.getObject())
+                    .defaultOptions(OllamaOptions.builder()
+                            .model(target.model())
+                            .temperature(0.0)
+                            .build())
+                    .build();
+        }
+        return OpenAiChatModel.builder()
+                .openAiApi((target.provider() == LlmProvider.GEMINI ? geminiApi : groqApi).getObject())
+                .defaultOptions(OpenAiChatOptions.builder()
+                        .model(target.model())
+                        .temperature(0.0)
+                        // Report token usage on streamed responses too
+                        .streamUsage(true)
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,278 @@
+package com.aipaper.service.routing;
+
+import com.aipaper.exception.LlmProviderUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Sends a duplicate request to the next-ranked target when the primary has not answered
+ * by a configurable percentile of its recent latency, takes the first successful response
+ * and cancels the other call.
+ *
+ * <p>Only side-effect-free calls may be hedged: both requests can run to completion.
+ * Hedges are paid for from a budget that accrues {@code budget-ratio} credits per call,
+ * so at most that fraction of calls is duplicated over time. A {@code holdout-ratio} of
+ * calls is never hedged and serves as the baseline for the reported p99 improvement.
+ */
+@Component
+public class HedgedCallExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(HedgedCallExecutor.class);
+
+    private static final int REPORT_WINDOW = 1024;
+
+    private final LatencyAwareRoutingPolicy routingPolicy;
+    private final boolean enabled;
+    private final double percentile;
+    private final int minSamples;
+    private final long minDelayNanos;
+    private final double budgetRatio;
+    private final double maxBurst;
+    private final double holdoutRatio;
+    private final ExecutorService executor;
+
+    private final Counter callsCounter;
+    private final Counter hedgedCounter;
+    private final Counter winsCounter;
+    private final LatencyWindow effectiveLatencies = new LatencyWindow(REPORT_WINDOW);
+    private final LatencyWindow holdoutLatencies = new LatencyWindow(REPORT_WINDOW);
+
+    private double credits;
+
+    public HedgedCallExecutor(LatencyAwareRoutingPolicy routingPolicy,
+                              @Value("${llm.hedging.enabled:false}") boolean enabled,
+                              @Value("${llm.hedging.percentile:0.9}") double percentile,
+                              @Value("${llm.hedging.min-samples:20}") int minSamples,
+                              @Value("${llm.hedging.min-delay-ms:50}") long minDelayMs,
+                              @Value("${llm.hedging.budget-ratio:0.1}") double budgetRatio,
+                              @Value("${llm.hedging.max-burst:5}") double maxBurst,
+                              @Value("${llm.hedging.holdout-ratio:0.05}") double holdoutRatio,
+                              MeterRegistry meterRegistry) {
+        this.routingPolicy = routingPolicy;
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minSamples = minSamples;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMs);
+        this.budgetRatio = budgetRatio;
+        this.maxBurst = maxBurst;
+        this.holdoutRatio = holdoutRatio;
+
+        AtomicInteger threadIds = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "llm-hedge-" + threadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        this.callsCounter = meterRegistry.counter("llm.hedge.calls");
+        this.hedgedCounter = meterRegistry.counter("llm.hedge.fired");
+        this.winsCounter = meterRegistry.counter("llm.hedge.wins");
+        Gauge.builder("llm.hedge.rate", this, e -> e.report().hedgeRate()).register(meterRegistry);
+        Gauge.builder("llm.hedge.p99.effective", this, e -> e.report().p99EffectiveMs())
+                .baseUnit("milliseconds").register(meterRegistry);
+        Gauge.builder("llm.hedge.p99.holdout", this, e -> e.report().p99HoldoutMs())
+                .baseUnit("milliseconds").register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public HedgingReport report() {
+        return new HedgingReport(
+                (long) callsCounter.count(),
+                (long) hedgedCounter.count(),
+                (long) winsCounter.count(),
+                effectiveLatencies.percentileMs(0.99, 1),
+                holdoutLatencies.percentileMs(0.99, 1));
+    }
+
+    /**
+     * Runs {@code call} on the first target in {@code ranked} that has budget,
+     * hedging onto the next one if the primary is slow.
+     */
+    public <T> T execute(List<LlmTarget> ranked, Function<LlmTarget, T> call) {
+        Iterator<LlmTarget> candidates = ranked.iterator();
+        LlmTarget primaryTarget = reserveNext(candidates);
+        if (primaryTarget == null) {
+            throw new LlmProviderUnavailableException("No LLM target has rate-limit budget left");
+        }
+
+        callsCounter.increment();
+        depositCredit();
+        boolean holdout = ThreadLocalRandom.current().nextDouble() < holdoutRatio;
+
+        long start = System.nanoTime();
+        CompletionService<T> completions = new ExecutorCompletionService<>(executor);
+        Attempt<T> primary = new Attempt<>(primaryTarget, call);
+        primary.future = completions.submit(primary);
+        Attempt<T> hedge = null;
+        boolean hedged = false;
+
+        try {
+            long delayNanos = holdout ? 0 : hedgeDelayNanos(primaryTarget);
+            Future<T> done = delayNanos > 0 ? completions.poll(delayNanos, TimeUnit.NANOSECONDS) : null;
+
+            if (done == null && delayNanos > 0 && withdrawCredit()) {
+                LlmTarget hedgeTarget = reserveNext(candidates);
+                if (hedgeTarget != null) {
+                    hedge = new Attempt<>(hedgeTarget, call);
+                    hedge.future = completions.submit(hedge);
+                    hedged = true;
+                    hedgedCounter.increment();
+                    log.debug("Hedging {} onto {} after {}ms", primaryTarget.label(), hedgeTarget.label(),
+                            TimeUnit.NANOSECONDS.toMillis(delayNanos));
+                } else {
+                    refundCredit();
+                }
+            }
+            if (done == null) {
+                done = completions.take();
+            }
+
+            T result;
+            Future<T> winner = done;
+            try {
+                result = done.get();
+            } catch (ExecutionException first) {
+                if (hedge == null) {
+                    // Primary failed before a hedge was sent: fall back like a balanced call.
+                    LlmTarget fallbackTarget = reserveNext(candidates);
+                    if (fallbackTarget == null) throw unwrap(first);
+                    hedge = new Attempt<>(fallbackTarget, call);
+                    hedge.future = completions.submit(hedge);
+                    hedged = false;
+                }
+                winner = completions.take();
+                try {
+                    result = winner.get();
+                } catch (ExecutionException second) {
+                    throw unwrap(second);
+                }
+            }
+
+            long elapsed = System.nanoTime() - start;
+            (holdout ? holdoutLatencies : effectiveLatencies).record(elapsed);
+            if (hedged && winner == hedge.future) {
+                winsCounter.increment();
+            }
+            return result;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LlmProviderUnavailableException("Interrupted while waiting for LLM response", e);
+        } finally {
+            primary.cancel();
+            if (hedge != null) hedge.cancel();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private LlmTarget reserveNext(Iterator<LlmTarget> candidates) {
+        while (candidates.hasNext()) {
+            LlmTarget target = candidates.next();
+            if (routingPolicy.tryBegin(target)) return target;
+        }
+        return null;
+    }
+
+    private long hedgeDelayNanos(LlmTarget primary) {
+        if (!enabled) return 0;
+        double ms = routingPolicy.latencyPercentileMs(primary, percentile, minSamples);
+        if (Double.isNaN(ms)) return 0;
+        return Math.max(minDelayNanos, (long) (ms * 1_000_000));
+    }
+
+    private synchronized void depositCredit() {
+        credits = Math.min(maxBurst, credits + budgetRatio);
+    }
+
+    private synchronized boolean withdrawCredit() {
+        if (credits < 1.0) return false;
+        credits -= 1.0;
+        return true;
+    }
+
+    private synchronized void refundCredit() {
+        credits += 1.0;
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause() != null ? e.getCause() : e;
+        return cause instanceof RuntimeException re ? re : new RuntimeException(cause);
+    }
+
+    /**
+     * One routed call. Tracks whether it started so a cancellation before start
+     * still releases the in-flight slot reserved for the target.
+     */
+    private final class Attempt<T> implements Callable<T> {
+
+        private final LlmTarget target;
+        private final Function<LlmTarget, T> call;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private Future<T> future;
+
+        Attempt(LlmTarget target, Function<LlmTarget, T> call) {
+            this.target = target;
+            this.call = call;
+        }
+
+        @Override
+        public T call() {
+            if (!started.compareAndSet(false, true)) {
+                return null;
+            }
+            long start = System.nanoTime();
+            try {
+                T result = call.apply(target);
+                routingPolicy.complete(target, System.nanoTime() - start, true);
+                return result;
+            } catch (RuntimeException e) {
+                if (cancelled.get()) {
+                    routingPolicy.abandon(target);
+                } else {
+                    routingPolicy.complete(target, System.nanoTime() - start, false);
+                }
+                throw e;
+            }
+        }
+
+        void cancel() {
+            if (future == null || future.isDone()) return;
+            cancelled.set(true);
+            if (started.compareAndSet(false, true)) {
+                future.cancel(false);
+                routingPolicy.abandon(target);
+            } else {
+                future.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.aipaper.service.routing;
+
+/**
+ * Snapshot of hedging effectiveness. {@code p99HoldoutMs} comes from a random holdout
+ * of calls that were never hedged, so it is an unbiased estimate of primary-only tail
+ * latency; cancelled hedge losers would otherwise censor exactly the slow samples.
+ */
+public record HedgingReport(
+        long calls,
+        long hedged,
+        long hedgeWins,
+        double p99EffectiveMs,
+        double p99HoldoutMs
+) {
+
+    public double hedgeRate() {
+        return calls == 0 ? 0.0 : (double) hedged / calls;
+    }
+
+    public double p99ImprovementMs() {
+        return p99HoldoutMs - p99EffectiveMs;
+    }
+}
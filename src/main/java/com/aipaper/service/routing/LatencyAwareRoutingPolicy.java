@@ -0,0 +1,170 @@
+package com.aipaper.service.routing;
+
+import com.aipaper.service.LlmProvider;
+import com.aipaper.service.health.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Orders the configured equivalent targets by expected latency.
+ *
+ * <p>Score = EWMA latency x (1 + in-flight) / (1 - error rate), scaled up as the
+ * provider's rate-limit budget runs low. Targets without samples score 0 so each
+ * one gets explored. Targets whose recent error rate exceeds the threshold, or whose
+ * budget is exhausted, or whose circuit breaker is open, are moved behind all healthy targets and only serve as a
+ * last-resort fallback.
+ */
+@Component
+public class LatencyAwareRoutingPolicy {
+
+    private static final Logger log = LoggerFactory.getLogger(LatencyAwareRoutingPolicy.class);
+
+    private static final int OUTCOME_CAPACITY = 64;
+    private static final int LATENCY_CAPACITY = 256;
+
+    private final Map<LlmTarget, TargetStats> stats = new LinkedHashMap<>();
+    private final double maxErrorRate;
+    private final int minSamples;
+    private final CircuitBreakerRegistry breakers;
+
+    public LatencyAwareRoutingPolicy(
+            @Value("${llm.routing.targets:ollama/${llm.ollama.model}}") String targetsRaw,
+            @Value("${llm.routing.ewma-alpha:0.2}") double alpha,
+            @Value("${llm.routing.error-window-seconds:60}") long errorWindowSeconds,
+            @Value("${llm.routing.max-error-rate:0.5}") double maxErrorRate,
+            @Value("${llm.routing.min-samples:3}") int minSamples,
+            @Value("${llm.ollama.requests-per-minute:0}") int ollamaRpm,
+            @Value("${llm.gemini.requests-per-minute:0}") int geminiRpm,
+            @Value("${llm.groq.requests-per-minute:0}") int groqRpm,
+            CircuitBreakerRegistry breakers,
+            MeterRegistry meterRegistry) {
+
+        this.breakers = breakers;
+        this.maxErrorRate = maxErrorRate;
+        this.minSamples = minSamples;
+
+        Map<LlmProvider, Integer> rpm = new EnumMap<>(LlmProvider.class);
+        rpm.put(LlmProvider.OLLAMA, ollamaRpm);
+        rpm.put(LlmProvider.GEMINI, geminiRpm);
+        rpm.put(LlmProvider.GROQ, groqRpm);
+
+        // Providers share one budget across their models: the limit is per API key.
+        Map<LlmProvider, RateLimitBudget> budgets = new EnumMap<>(LlmProvider.class);
+        long windowNanos = TimeUnit.SECONDS.toNanos(errorWindowSeconds);
+
+        for (String spec : Arrays.stream(targetsRaw.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList()) {
+            LlmTarget target = LlmTarget.parse(spec);
+            RateLimitBudget budget = budgets.computeIfAbsent(target.provider(),
+                    p -> new RateLimitBudget(rpm.get(p)));
+            TargetStats s = new TargetStats(alpha, OUTCOME_CAPACITY, LATENCY_CAPACITY, windowNanos, budget);
+            stats.put(target, s);
+            registerGauges(meterRegistry, target, s);
+        }
+        if (stats.isEmpty()) {
+            throw new IllegalStateException("llm.routing.targets must list at least one provider/model");
+        }
+        log.info("LLM routing targets: {}", stats.keySet().stream().map(LlmTarget::label).toList());
+    }
+
+    public List<LlmTarget> targets() {
+        return List.copyOf(stats.keySet());
+    }
+
+    /**
+     * Returns all targets, best first. Degraded targets come last, ordered by error rate.
+     */
+    public List<LlmTarget> rank() {
+        List<Scored> healthy = new ArrayList<>();
+        List<Scored> degraded = new ArrayList<>();
+        for (var e : stats.entrySet()) {
+            TargetStats s = e.getValue();
+            double errorRate = s.errorRate();
+            double budget = s.budget().remainingRatio();
+            boolean isDegraded = !breakers.get(e.getKey()).isCallPermitted()
+                    || (s.recentSamples() >= minSamples && errorRate > maxErrorRate)
+                    || (!s.budget().isUnlimited() && budget <= 0.0);
+            if (isDegraded) {
+                degraded.add(new Scored(e.getKey(), errorRate));
+            } else {
+                healthy.add(new Scored(e.getKey(), score(s, errorRate, budget)));
+            }
+        }
+        healthy.sort(Comparator.comparingDouble(Scored::score));
+        degraded.sort(Comparator.comparingDouble(Scored::score));
+
+        List<LlmTarget> ranked = new ArrayList<>(healthy.size() + degraded.size());
+        healthy.forEach(s -> ranked.add(s.target()));
+        degraded.forEach(s -> ranked.add(s.target()));
+        return ranked;
+    }
+
+    /**
+     * Reserves rate-limit budget and marks a call in flight.
+     * Returns false when the provider has no budget left; the caller should try the next target.
+     */
+    public boolean tryBegin(LlmTarget target) {
+        TargetStats s = statsFor(target);
+        if (!s.budget().tryAcquire()) {
+            return false;
+        }
+        s.begin();
+        return true;
+    }
+
+    public void complete(LlmTarget target, long latencyNanos, boolean success) {
+        statsFor(target).complete(latencyNanos, success);
+    }
+
+    /** Releases the in-flight slot of a call whose outcome should not be scored. */
+    public void abandon(LlmTarget target) {
+        statsFor(target).abandon();
+    }
+
+    /** Percentile of recent successful call latencies, NaN until {@code minSamples} are available. */
+    public double latencyPercentileMs(LlmTarget target, double percentile, int minSamples) {
+        return statsFor(target).latencyPercentileMs(percentile, minSamples);
+    }
+
+    private TargetStats statsFor(LlmTarget target) {
+        TargetStats s = stats.get(target);
+        if (s == null) {
+            throw new IllegalArgumentException("Target is not configured for routing: " + target.label());
+        }
+        return s;
+    }
+
+    private static double score(TargetStats s, double errorRate, double budgetRatio) {
+        double ewma = s.ewmaMs();
+        if (Double.isNaN(ewma)) return 0.0;
+        double score = ewma * (1 + s.inFlight()) / Math.max(0.05, 1.0 - errorRate);
+        // Up to 2x penalty as the provider's remaining budget approaches zero.
+        return score * (2.0 - budgetRatio);
+    }
+
+    private static void registerGauges(MeterRegistry registry, LlmTarget target, TargetStats s) {
+        String label = target.label();
+        Gauge.builder("llm.routing.latency.ewma", s, TargetStats::ewmaMs)
+                .tag("target", label).baseUnit("milliseconds").register(registry);
+        Gauge.builder("llm.routing.in_flight", s, TargetStats::inFlight)
+                .tag("target", label).register(registry);
+        Gauge.builder("llm.routing.error_rate", s, TargetStats::errorRate)
+                .tag("target", label).register(registry);
+        Gauge.builder("llm.routing.rate_limit.remaining", s, st -> st.budget().remainingRatio())
+                .tag("target", label).register(registry);
+    }
+
+    private record Scored(LlmTarget target, double score) {}
+}
@@ -0,0 +1,36 @@
+package com.aipaper.service.routing;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size ring of recent latencies used for percentile estimates.
+ */
+final class LatencyWindow {
+
+    private final double[] samplesMs;
+    private int cursor;
+    private int size;
+
+    LatencyWindow(int capacity) {
+        this.samplesMs = new double[capacity];
+    }
+
+    synchronized void record(long nanos) {
+        samplesMs[cursor] = nanos / 1_000_000.0;
+        cursor = (cursor + 1) % samplesMs.length;
+        if (size < samplesMs.length) size++;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /** Nearest-rank percentile, or NaN when fewer than {@code minSamples} are recorded. */
+    synchronized double percentileMs(double p, int minSamples) {
+        if (size == 0 || size < minSamples) return Double.NaN;
+        double[] sorted = Arrays.copyOf(samplesMs, size);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(p * size) - 1;
+        return sorted[Math.max(0, Math.min(rank, size - 1))];
+    }
+}
@@ -0,0 +1,30 @@
+package com.aipaper.service.routing;
+
+import com.aipaper.service.LlmProvider;
+
+import java.util.Locale;
+
+/**
+ * A concrete provider/model pair that a request can be routed to.
+ */
+public record LlmTarget(LlmProvider provider, String model) {
+
+    /**
+     * Parses {@code provider/model}, e.g. {@code ollama/llama3.1:70b} or {@code groq/llama3-70b-8192}.
+     * Model names may contain ':' so only the first '/' separates the provider.
+     */
+    public static LlmTarget parse(String spec) {
+        String trimmed = spec.trim();
+        int slash = trimmed.indexOf('/');
+        if (slash <= 0 || slash == trimmed.length() - 1) {
+            throw new IllegalArgumentException("Expected provider/model but got: " + spec);
+        }
+        LlmProvider provider = LlmProvider.valueOf(trimmed.substring(0, slash).toUpperCase(Locale.ROOT));
+        return new LlmTarget(provider, trimmed.substring(slash + 1));
+    }
+
+    public String label() {
+        String name = provider.name();
+        return name.charAt(0) + name.substring(1).toLowerCase(Locale.ROOT) + "/" + model;
+    }
+}
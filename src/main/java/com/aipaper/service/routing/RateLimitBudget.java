@@ -0,0 +1,45 @@
+package com.aipaper.service.routing;
+
+/**
+ * Token bucket refilled continuously at {@code requestsPerMinute}.
+ * A non-positive limit means the provider is not rate limited.
+ */
+final class RateLimitBudget {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    RateLimitBudget(int requestsPerMinute) {
+        this.capacity = requestsPerMinute;
+        this.refillPerNano = requestsPerMinute / 60_000_000_000.0;
+        this.tokens = requestsPerMinute;
+        this.lastRefill = System.nanoTime();
+    }
+
+    boolean isUnlimited() {
+        return capacity <= 0;
+    }
+
+    synchronized boolean tryAcquire() {
+        if (isUnlimited()) return true;
+        refill();
+        if (tokens < 1) return false;
+        tokens -= 1;
+        return true;
+    }
+
+    /** Remaining requests as a fraction of capacity, 1.0 when unlimited. */
+    synchronized double remainingRatio() {
+        if (isUnlimited()) return 1.0;
+        refill();
+        return tokens / capacity;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+        lastRefill = now;
+    }
+}
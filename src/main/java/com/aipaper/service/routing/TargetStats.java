@@ -0,0 +1,88 @@
+package com.aipaper.service.routing;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live health and latency figures for one {@link LlmTarget}.
+ * Outcomes are kept in a fixed ring and only those newer than the error window
+ * count towards the error rate, so a degraded target heals once its failures age out.
+ */
+final class TargetStats {
+
+    private final double alpha;
+    private final long errorWindowNanos;
+    private final long[] outcomeTimes;
+    private final boolean[] outcomeFailed;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final RateLimitBudget budget;
+    private final LatencyWindow successLatencies;
+
+    private double ewmaMs = Double.NaN;
+    private int cursor;
+
+    TargetStats(double alpha, int outcomeCapacity, int latencyCapacity, long errorWindowNanos, RateLimitBudget budget) {
+        this.alpha = alpha;
+        this.errorWindowNanos = errorWindowNanos;
+        this.outcomeTimes = new long[outcomeCapacity];
+        this.outcomeFailed = new boolean[outcomeCapacity];
+        this.budget = budget;
+        this.successLatencies = new LatencyWindow(latencyCapacity);
+    }
+
+    void begin() {
+        inFlight.incrementAndGet();
+    }
+
+    synchronized void complete(long latencyNanos, boolean success) {
+        inFlight.decrementAndGet();
+        double ms = latencyNanos / 1_000_000.0;
+        // Failed calls still count towards latency: a provider that times out is slow.
+        ewmaMs = Double.isNaN(ewmaMs) ? ms : alpha * ms + (1 - alpha) * ewmaMs;
+        if (success) successLatencies.record(latencyNanos);
+        outcomeTimes[cursor] = System.nanoTime();
+        outcomeFailed[cursor] = !success;
+        cursor = (cursor + 1) % outcomeTimes.length;
+    }
+
+    /** Releases an in-flight slot without recording an outcome, e.g. for a cancelled hedge loser. */
+    void abandon() {
+        inFlight.decrementAndGet();
+    }
+
+    double latencyPercentileMs(double p, int minSamples) {
+        return successLatencies.percentileMs(p, minSamples);
+    }
+
+    synchronized double ewmaMs() {
+        return ewmaMs;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    synchronized int recentSamples() {
+        long cutoff = System.nanoTime() - errorWindowNanos;
+        int n = 0;
+        for (long t : outcomeTimes) {
+            if (t != 0 && t - cutoff > 0) n++;
+        }
+        return n;
+    }
+
+    synchronized double errorRate() {
+        long cutoff = System.nanoTime() - errorWindowNanos;
+        int samples = 0, failures = 0;
+        for (int i = 0; i < outcomeTimes.length; i++) {
+            if (outcomeTimes[i] != 0 && outcomeTimes[i] - cutoff > 0) {
+                samples++;
+                if (outcomeFailed[i]) failures++;
+            }
+        }
+        return samples == 0 ? 0.0 : (double) failures / samples;
+    }
+
+    RateLimitBudget budget() {
+        return budget;
+    }
+}
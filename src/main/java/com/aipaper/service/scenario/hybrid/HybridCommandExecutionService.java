@@ -0,0 +1,67 @@
+package com.aipaper.service.scenario.hybrid;
+
+import com.aipaper.dto.MeetingBookingRequest;
+import com.aipaper.dto.MeetingBookingResult;
+import com.aipaper.service.LlmProvider;
+import com.aipaper.service.scenario.llm.LlmCommandExecutionService;
+import com.aipaper.service.scenario.traditional.TraditionalCommandExecutionService;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+import static com.aipaper.service.scenario.hybrid.HybridMetrics.ESCALATED;
+import static com.aipaper.service.scenario.hybrid.HybridMetrics.FAILED;
+import static com.aipaper.service.scenario.hybrid.HybridMetrics.HANDLED;
+import static com.aipaper.service.scenario.hybrid.HybridMetrics.ns2ms;
+
+/**
+ * Books well-formed requests directly. Requests that fail the deterministic
+ * parameter checks (e.g. "9am", "next Tuesday") are handed to the LLM, which
+ * can interpret them or explain why the booking is invalid.
+ */
+@Service
+public class HybridCommandExecutionService {
+
+    private static final String SCENARIO = "CommandExecution";
+
+    private final TraditionalCommandExecutionService traditional;
+    private final LlmCommandExecutionService llm;
+    private final HybridMetrics metrics;
+
+    public HybridCommandExecutionService(TraditionalCommandExecutionService traditional,
+                                         LlmCommandExecutionService llm,
+                                         HybridMetrics metrics) {
+        this.traditional = traditional;
+        this.llm = llm;
+        this.metrics = metrics;
+    }
+
+    public HybridResult<MeetingBookingResult> bookMeeting(LlmProvider provider, MeetingBookingRequest request) {
+        long start = System.nanoTime();
+        List<String> errors = traditional.validate(request);
+
+        if (errors.isEmpty()) {
+            MeetingBookingResult result = traditional.bookMeeting(request);
+            long elapsed = System.nanoTime() - start;
+            metrics.recordPath(SCENARIO, ServedPath.DETERMINISTIC, elapsed, HANDLED);
+            metrics.recordServed(SCENARIO, ServedPath.DETERMINISTIC);
+            return HybridResult.deterministic(result, ns2ms(elapsed));
+        }
+
+        long deterministicNanos = System.nanoTime() - start;
+        metrics.recordPath(SCENARIO, ServedPath.DETERMINISTIC, deterministicNanos, ESCALATED);
+
+        long llmStart = System.nanoTime();
+        try {
+            MeetingBookingResult result = llm.bookMeeting(provider, request);
+            long llmNanos = System.nanoTime() - llmStart;
+            metrics.recordPath(SCENARIO, ServedPath.LLM, llmNanos, HANDLED);
+            metrics.recordServed(SCENARIO, ServedPath.LLM);
+            return HybridResult.escalated(result, ns2ms(deterministicNanos), ns2ms(llmNanos),
+                    String.join("; ", errors));
+        } catch (RuntimeException e) {
+            metrics.recordPath(SCENARIO, ServedPath.LLM, System.nanoTime() - llmStart, FAILED);
+            throw e;
+        }
+    }
+}
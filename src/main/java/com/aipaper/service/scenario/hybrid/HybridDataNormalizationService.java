@@ -0,0 +1,63 @@
+package com.aipaper.service.scenario.hybrid;
+
+import com.aipaper.dto.NormalizationRequest;
+import com.aipaper.dto.NormalizedDataResult;
+import com.aipaper.service.LlmProvider;
+import com.aipaper.service.scenario.llm.LlmDataNormalizationService;
+import com.aipaper.service.scenario.traditional.TraditionalDataNormalizationService;
+import org.springframework.stereotype.Service;
+
+import static com.aipaper.service.scenario.hybrid.HybridMetrics.ESCALATED;
+import static com.aipaper.service.scenario.hybrid.HybridMetrics.FAILED;
+import static com.aipaper.service.scenario.hybrid.HybridMetrics.HANDLED;
+import static com.aipaper.service.scenario.hybrid.HybridMetrics.ns2ms;
+
+/**
+ * Normalizes with the formatter chain first and only asks the LLM when the
+ * date or address cannot be parsed deterministically.
+ */
+@Service
+public class HybridDataNormalizationService {
+
+    private static final String SCENARIO = "DataNormalization";
+
+    private final TraditionalDataNormalizationService traditional;
+    private final LlmDataNormalizationService llm;
+    private final HybridMetrics metrics;
+
+    public HybridDataNormalizationService(TraditionalDataNormalizationService traditional,
+                                          LlmDataNormalizationService llm,
+                                          HybridMetrics metrics) {
+        this.traditional = traditional;
+        this.llm = llm;
+        this.metrics = metrics;
+    }
+
+    public HybridResult<NormalizedDataResult> normalize(LlmProvider provider, NormalizationRequest request) {
+        long start = System.nanoTime();
+        String reason;
+        try {
+            NormalizedDataResult result = traditional.normalize(request);
+            long elapsed = System.nanoTime() - start;
+            metrics.recordPath(SCENARIO, ServedPath.DETERMINISTIC, elapsed, HANDLED);
+            metrics.recordServed(SCENARIO, ServedPath.DETERMINISTIC);
+            return HybridResult.deterministic(result, ns2ms(elapsed));
+        } catch (IllegalArgumentException e) {
+            reason = e.getMessage();
+        }
+        long deterministicNanos = System.nanoTime() - start;
+        metrics.recordPath(SCENARIO, ServedPath.DETERMINISTIC, deterministicNanos, ESCALATED);
+
+        long llmStart = System.nanoTime();
+        try {
+            NormalizedDataResult result = llm.normalize(provider, request);
+            long llmNanos = System.nanoTime() - llmStart;
+            metrics.recordPath(SCENARIO, ServedPath.LLM, llmNanos, HANDLED);
+            metrics.recordServed(SCENARIO, ServedPath.LLM);
+            return HybridResult.escalated(result, ns2ms(deterministicNanos), ns2ms(llmNanos), reason);
+        } catch (RuntimeException e) {
+            metrics.recordPath(SCENARIO, ServedPath.LLM, System.nanoTime() - llmStart, FAILED);
+            throw e;
+        }
+    }
+}
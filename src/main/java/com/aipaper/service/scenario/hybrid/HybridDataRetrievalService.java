@@ -0,0 +1,76 @@
+package com.aipaper.service.scenario.hybrid;
+
+import com.aipaper.dto.UserProfileResult;
+import com.aipaper.service.LlmProvider;
+import com.aipaper.service.scenario.llm.LlmDataRetrievalService;
+import com.aipaper.service.scenario.traditional.TraditionalDataRetrievalService;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import static com.aipaper.service.scenario.hybrid.HybridMetrics.ESCALATED;
+import static com.aipaper.service.scenario.hybrid.HybridMetrics.FAILED;
+import static com.aipaper.service.scenario.hybrid.HybridMetrics.HANDLED;
+import static com.aipaper.service.scenario.hybrid.HybridMetrics.ns2ms;
+
+/**
+ * Looks the profile up directly when the input is a well-formed email address.
+ * Free-form lookups ("alice johnson's profile") are escalated to the LLM tool path.
+ * A well-formed address that is not in the database is reported as not found
+ * without escalating, since the tool would run the same query.
+ */
+@Service
+public class HybridDataRetrievalService {
+
+    private static final String SCENARIO = "DataRetrieval";
+
+    private static final Pattern EMAIL_PATTERN =
+            Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+
+    private final TraditionalDataRetrievalService traditional;
+    private final LlmDataRetrievalService llm;
+    private final HybridMetrics metrics;
+
+    public HybridDataRetrievalService(TraditionalDataRetrievalService traditional,
+                                      LlmDataRetrievalService llm,
+                                      HybridMetrics metrics) {
+        this.traditional = traditional;
+        this.llm = llm;
+        this.metrics = metrics;
+    }
+
+    public HybridResult<UserProfileResult> fetchUserByEmail(LlmProvider provider, String input) {
+        long start = System.nanoTime();
+        String candidate = input != null ? input.trim().toLowerCase(Locale.ROOT) : "";
+
+        if (EMAIL_PATTERN.matcher(candidate).matches()) {
+            try {
+                UserProfileResult result = traditional.fetchUserByEmail(candidate);
+                long elapsed = System.nanoTime() - start;
+                metrics.recordPath(SCENARIO, ServedPath.DETERMINISTIC, elapsed, HANDLED);
+                metrics.recordServed(SCENARIO, ServedPath.DETERMINISTIC);
+                return HybridResult.deterministic(result, ns2ms(elapsed));
+            } catch (RuntimeException e) {
+                metrics.recordPath(SCENARIO, ServedPath.DETERMINISTIC, System.nanoTime() - start, FAILED);
+                throw e;
+            }
+        }
+
+        long deterministicNanos = System.nanoTime() - start;
+        metrics.recordPath(SCENARIO, ServedPath.DETERMINISTIC, deterministicNanos, ESCALATED);
+
+        long llmStart = System.nanoTime();
+        try {
+            UserProfileResult result = llm.fetchUserByEmail(provider, input);
+            long llmNanos = System.nanoTime() - llmStart;
+            metrics.recordPath(SCENARIO, ServedPath.LLM, llmNanos, HANDLED);
+            metrics.recordServed(SCENARIO, ServedPath.LLM);
+            return HybridResult.escalated(result, ns2ms(deterministicNanos), ns2ms(llmNanos),
+                    "Input is not a well-formed email address");
+        } catch (RuntimeException e) {
+            metrics.recordPath(SCENARIO, ServedPath.LLM, System.nanoTime() - llmStart, FAILED);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.aipaper.service.scenario.hybrid;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records which path served each hybrid request and how long each path took.
+ * Meters: {@code hybrid.requests} (scenario, served_by) and
+ * {@code hybrid.path.latency} (scenario, path, outcome).
+ */
+@Component
+public class HybridMetrics {
+
+    private final MeterRegistry registry;
+
+    public HybridMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    void recordPath(String scenario, ServedPath path, long nanos, String outcome) {
+        Timer.builder("hybrid.path.latency")
+                .tag("scenario", scenario)
+                .tag("path", path.name())
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.99)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordServed(String scenario, ServedPath servedBy) {
+        Counter.builder("hybrid.requests")
+                .tag("scenario", scenario)
+                .tag("served_by", servedBy.name())
+                .register(registry)
+                .increment();
+    }
+
+    static final String HANDLED = "handled";
+    static final String ESCALATED = "escalated";
+    static final String FAILED = "failed";
+
+    static double ns2ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,26 @@
+package com.aipaper.service.scenario.hybrid;
+
+/**
+ * Result of a hybrid scenario call together with the path that produced it.
+ * {@code llmMs} is 0 when the deterministic path served the request.
+ */
+public record HybridResult<T>(
+        T result,
+        ServedPath servedBy,
+        double deterministicMs,
+        double llmMs,
+        String escalationReason
+) {
+
+    static <T> HybridResult<T> deterministic(T result, double deterministicMs) {
+        return new HybridResult<>(result, ServedPath.DETERMINISTIC, deterministicMs, 0, null);
+    }
+
+    static <T> HybridResult<T> escalated(T result, double deterministicMs, double llmMs, String reason) {
+        return new HybridResult<>(result, ServedPath.LLM, deterministicMs, llmMs, reason);
+    }
+
+    public double totalMs() {
+        return deterministicMs + llmMs;
+    }
+}
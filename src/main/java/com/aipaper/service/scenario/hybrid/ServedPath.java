@@ -0,0 +1,6 @@
+package com.aipaper.service.scenario.hybrid;
+
+public enum ServedPath {
+    DETERMINISTIC,
+    LLM
+}
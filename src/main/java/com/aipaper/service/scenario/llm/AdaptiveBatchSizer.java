@@ -0,0 +1,46 @@
+package com.aipaper.service.scenario.llm;
+
+/**
+ * AIMD batch size controller: grows by one item after a fast, clean batch and halves after a
+ * slow batch, a batch-level failure, or a batch where many items had to be retried.
+ * The context-window cap is applied by the caller per chunk, since it depends on item length.
+ */
+final class AdaptiveBatchSizer {
+
+    private static final double MAX_ITEM_FAILURE_RATIO = 0.25;
+
+    private final int minSize;
+    private final int maxSize;
+    private final long targetNanos;
+    private int size;
+
+    AdaptiveBatchSizer(int initialSize, int minSize, int maxSize, long targetNanos) {
+        this.minSize = Math.max(1, minSize);
+        this.maxSize = Math.max(this.minSize, maxSize);
+        this.targetNanos = targetNanos;
+        this.size = clamp(initialSize);
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized void onBatchCompleted(int batchSize, long nanos, int failedItems) {
+        boolean slow = nanos > targetNanos;
+        boolean lossy = failedItems > batchSize * MAX_ITEM_FAILURE_RATIO;
+        if (slow || lossy) {
+            size = clamp(size / 2);
+        } else if (batchSize >= size) {
+            // Only grow when the batch actually used the full size; short tail chunks say nothing.
+            size = clamp(size + 1);
+        }
+    }
+
+    synchronized void onBatchFailed() {
+        size = clamp(size / 2);
+    }
+
+    private int clamp(int value) {
+        return Math.max(minSize, Math.min(maxSize, value));
+    }
+}
@@ -0,0 +1,96 @@
+package com.aipaper.service.scenario.llm;
+
+import com.aipaper.exception.LlmProviderUnavailableException;
+import com.aipaper.exception.LlmResponseValidationException;
+import com.aipaper.exception.SchemaValidationException;
+import com.aipaper.parsing.StreamSchema;
+import com.aipaper.parsing.StreamingJsonParser;
+import com.aipaper.validation.LlmResponseValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Shared plumbing for the non-blocking variants of the LLM scenario services: incremental parsing of
+ * streamed content, deadlines, cancellation, and running blocking routed calls on the application task
+ * executor (virtual threads when {@code spring.threads.virtual.enabled} is set on JDK 21+).
+ */
+@Component
+public class LlmAsyncSupport {
+
+    private final LlmResponseValidator validator;
+    private final ObjectMapper objectMapper;
+    private final AsyncTaskExecutor executor;
+    private final int maxPreambleChars;
+
+    public LlmAsyncSupport(LlmResponseValidator validator,
+                           ObjectMapper objectMapper,
+                           @Qualifier("applicationTaskExecutor") AsyncTaskExecutor executor,
+                           @Value("${llm.stream.max-preamble-chars:256}") int maxPreambleChars) {
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.maxPreambleChars = maxPreambleChars;
+    }
+
+    /**
+     * Parses streamed content into {@code schema}'s type and validates it. The upstream is cancelled as soon as
+     * the object is complete or can no longer match, so the model stops generating.
+     */
+    public <T> Mono<T> parse(Flux<String> content, StreamSchema<T> schema, String failureContext) {
+        return Mono.defer(() -> {
+            StreamingJsonParser<T> parser = new StreamingJsonParser<>(schema, maxPreambleChars);
+            return content
+                    .takeUntil(chunk -> parser.feed(chunk) != StreamingJsonParser.Status.NEED_MORE)
+                    .then(Mono.fromCallable(() -> {
+                        parser.finish();
+                        T result = parser.result(objectMapper);
+                        validator.validate(result, schema.type());
+                        return result;
+                    }));
+        }).onErrorMap(e -> !isPassThrough(e),
+                e -> new SchemaValidationException(failureContext + ": " + e.getMessage(), e));
+    }
+
+    /** Subscribes with a deadline; cancelling the future cancels the underlying stream. */
+    public <T> CompletableFuture<T> toFuture(Mono<T> mono, Duration deadline) {
+        return mono.timeout(deadline).toFuture();
+    }
+
+    /**
+     * Runs a blocking call on the task executor under a deadline. Cancelling the future, or missing the
+     * deadline, interrupts the worker so the HTTP call and its circuit-breaker slot are released.
+     */
+    public <T> CompletableFuture<T> runBlocking(Supplier<T> call, Duration deadline) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try {
+                result.complete(call.get());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        result.orTimeout(deadline.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((value, error) -> {
+                    if (error != null) task.cancel(true);
+                });
+        return result;
+    }
+
+    private static boolean isPassThrough(Throwable e) {
+        return e instanceof LlmResponseValidationException
+                || e instanceof LlmProviderUnavailableException
+                || e instanceof TimeoutException;
+    }
+}
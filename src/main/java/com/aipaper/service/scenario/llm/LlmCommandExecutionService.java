@@ -3,61 +3,60 @@ package com.aipaper.service.scenario.llm;
 import com.aipaper.dto.MeetingBookingRequest;
 import com.aipaper.dto.MeetingBookingResult;
 import com.aipaper.exception.SchemaValidationException;
-import com.aipaper.repository.MeetingRepository;
+import com.aipaper.parsing.StreamSchemas;
+import com.aipaper.prompt.PromptIds;
+import com.aipaper.prompt.PromptRegistry;
+import com.aipaper.prompt.PromptTemplate;
 import com.aipaper.service.LlmProvider;
 import com.aipaper.service.LlmRoutingService;
-import com.aipaper.tools.MeetingBookingTool;
+import com.aipaper.tools.LlmTools;
 import com.aipaper.validation.LlmResponseValidator;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class LlmCommandExecutionService {
 
     private final LlmRoutingService routingService;
-    private final MeetingRepository meetingRepository;
+    private final LlmTools tools;
     private final LlmResponseValidator validator;
+    private final PromptTemplate prompt;
+    private final LlmAsyncSupport async;
 
     public LlmCommandExecutionService(LlmRoutingService routingService,
-                                      MeetingRepository meetingRepository,
-                                      LlmResponseValidator validator) {
+                                      LlmTools tools,
+                                      LlmResponseValidator validator,
+                                      PromptRegistry prompts,
+                                      LlmAsyncSupport async,
+                                      @Value("${llm.prompt.command-variant:v1-guarded}") String variant) {
         this.routingService = routingService;
-        this.meetingRepository = meetingRepository;
+        this.tools = tools;
         this.validator = validator;
+        this.prompt = prompts.get(PromptIds.COMMAND, variant);
+        this.async = async;
     }
 
     public MeetingBookingResult bookMeeting(LlmProvider provider, MeetingBookingRequest request) {
-        String participantsStr = request.participants() != null
-                ? String.join(", ", request.participants())
-                : "none";
-
-        String prompt = String.format(
-                "Book a meeting with the following details. Validate all parameters before booking. " +
-                "Use the bookMeeting tool to insert the meeting into the database.\n\n" +
-                "Title: %s\n" +
-                "Organizer email: %s\n" +
-                "Participants: %s\n" +
-                "Date: %s\n" +
-                "Start time: %s\n" +
-                "End time: %s\n" +
-                "Location: %s\n\n" +
-                "If any parameter is invalid (bad email, invalid date/time, end before start), " +
-                "do NOT call the tool — instead return a JSON object with " +
-                "{\"success\":false, \"meetingId\":null, \"message\":\"<reason>\"}.\n" +
-                "If the booking succeeds, return the tool's result as JSON with fields: " +
-                "success, meetingId, message.",
-                request.title(),
-                request.organizerEmail(),
-                participantsStr,
-                request.date(),
-                request.startTime(),
-                request.endTime(),
-                request.location());
+        return bookMeeting(routingService.getClient(provider), request);
+    }
+
+    /**
+     * Routes to the fastest healthy target. Only one attempt is made: the tool may already
+     * have inserted the meeting before a failure surfaces, so retrying elsewhere could double-book.
+     */
+    public MeetingBookingResult bookMeeting(MeetingBookingRequest request) {
+        return routingService.callBalanced(client -> bookMeeting(client, request), 1);
+    }
 
+    private MeetingBookingResult bookMeeting(ChatClient client, MeetingBookingRequest request) {
         try {
-            MeetingBookingResult result = routingService.getClient(provider)
-                    .prompt()
-                    .user(prompt)
-                    .tools(new MeetingBookingTool(meetingRepository))
+            MeetingBookingResult result = request(client, request)
                     .call()
                     .entity(MeetingBookingResult.class);
 
@@ -71,4 +70,40 @@ public class LlmCommandExecutionService {
                     "LLM command execution failed: " + e.getMessage(), e);
         }
     }
+
+    private ChatClient.ChatClientRequestSpec request(ChatClient client, MeetingBookingRequest request) {
+        String participants = request.participants() != null
+                ? String.join(", ", request.participants())
+                : null;
+        String text = prompt.render(request.title(), request.organizerEmail(), participants,
+                request.date(), request.startTime(), request.endTime(), request.location()).text();
+        return client.prompt()
+                .user(text)
+                .tools(tools.meetingBooking());
+    }
+
+    // ---------------------------------------------------------------
+    //  Non-blocking variants
+    //  Cancelling after the tool has run does not undo the booking.
+    // ---------------------------------------------------------------
+
+    /** Raw answer text as the model streams it. */
+    public Flux<String> bookMeetingStream(LlmProvider provider, MeetingBookingRequest request) {
+        return request(routingService.getClient(provider), request).stream().content();
+    }
+
+    public Mono<MeetingBookingResult> bookMeetingReactive(LlmProvider provider, MeetingBookingRequest request) {
+        return async.parse(bookMeetingStream(provider, request), StreamSchemas.MEETING_BOOKING,
+                "LLM command execution failed");
+    }
+
+    public CompletableFuture<MeetingBookingResult> bookMeetingAsync(LlmProvider provider, MeetingBookingRequest request,
+                                                                    Duration deadline) {
+        return async.toFuture(bookMeetingReactive(provider, request), deadline);
+    }
+
+    /** Routed like {@link #bookMeeting(MeetingBookingRequest)} (single attempt), without blocking the caller. */
+    public CompletableFuture<MeetingBookingResult> bookMeetingAsync(MeetingBookingRequest request, Duration deadline) {
+        return async.runBlocking(() -> bookMeeting(request), deadline);
+    }
 }
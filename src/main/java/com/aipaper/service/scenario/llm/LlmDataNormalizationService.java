@@ -1,42 +1,104 @@
 package com.aipaper.service.scenario.llm;
 
+import com.aipaper.dto.BatchItemResult;
 import com.aipaper.dto.NormalizationRequest;
 import com.aipaper.dto.NormalizedDataResult;
+import com.aipaper.exception.LlmResponseValidationException;
 import com.aipaper.exception.SchemaValidationException;
+import com.aipaper.parsing.StreamSchemas;
+import com.aipaper.prompt.PromptIds;
+import com.aipaper.prompt.PromptRegistry;
+import com.aipaper.prompt.PromptTemplate;
+import com.aipaper.prompt.TokenEstimator;
 import com.aipaper.service.LlmProvider;
 import com.aipaper.service.LlmRoutingService;
+import com.aipaper.service.routing.LlmTarget;
 import com.aipaper.validation.LlmResponseValidator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 @Service
 public class LlmDataNormalizationService {
 
+    private static final Logger log = LoggerFactory.getLogger(LlmDataNormalizationService.class);
+
     private final LlmRoutingService routingService;
     private final LlmResponseValidator validator;
+    private final ObjectMapper objectMapper;
+    private final PromptTemplate prompt;
+    private final PromptTemplate batchPrompt;
+    private final Map<LlmTarget, AdaptiveBatchSizer> sizers = new ConcurrentHashMap<>();
+    private final LlmAsyncSupport async;
+
+    private final int initialBatchSize;
+    private final int maxBatchSize;
+    private final long targetBatchNanos;
+    private final int contextWindowTokens;
+    private final Map<LlmTarget, Integer> contextWindows;
+    private final int outputTokensPerItem;
 
     public LlmDataNormalizationService(LlmRoutingService routingService,
-                                       LlmResponseValidator validator) {
+                                       LlmResponseValidator validator,
+                                       ObjectMapper objectMapper,
+                                       PromptRegistry prompts,
+                                       LlmAsyncSupport async,
+                                       @Value("${llm.prompt.normalization-variant:v1}") String variant,
+                                       @Value("${llm.batch.initial-size:8}") int initialBatchSize,
+                                       @Value("${llm.batch.max-size:50}") int maxBatchSize,
+                                       @Value("${llm.batch.target-latency-ms:15000}") long targetBatchLatencyMs,
+                                       @Value("${llm.batch.context-window-tokens:8192}") int contextWindowTokens,
+                                       @Value("${llm.batch.context-windows:}") String contextWindowsRaw,
+                                       @Value("${llm.batch.output-tokens-per-item:40}") int outputTokensPerItem) {
         this.routingService = routingService;
         this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.prompt = prompts.get(PromptIds.NORMALIZATION, variant);
+        this.batchPrompt = prompts.get(PromptIds.NORMALIZATION_BATCH, PromptIds.V1);
+        this.async = async;
+        this.initialBatchSize = initialBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.targetBatchNanos = TimeUnit.MILLISECONDS.toNanos(targetBatchLatencyMs);
+        this.contextWindowTokens = contextWindowTokens;
+        this.contextWindows = parseContextWindows(contextWindowsRaw);
+        this.outputTokensPerItem = outputTokensPerItem;
     }
 
     public NormalizedDataResult normalize(LlmProvider provider, NormalizationRequest request) {
-        String prompt = String.format(
-                "Normalize the following data and return a JSON object with exactly two fields: " +
-                "\"normalizedDate\" and \"normalizedAddress\".\n\n" +
-                "Rules:\n" +
-                "- normalizedDate: Convert the date to ISO-8601 format (yyyy-MM-dd).\n" +
-                "- normalizedAddress: Capitalize words properly, expand abbreviations " +
-                "(st→Street, ave→Avenue, blvd→Boulevard, dr→Drive, ln→Lane, rd→Road, " +
-                "apt→Apartment, ste→Suite), and keep state codes as 2-letter uppercase.\n\n" +
-                "Input date: %s\n" +
-                "Input address: %s",
-                request.rawDate(), request.rawAddress());
+        return normalize(routingService.getClient(provider), request);
+    }
 
+    /**
+     * Routes to the fastest healthy target; normalization is side-effect free so failed attempts fall back freely
+     * and slow ones may be hedged.
+     */
+    public NormalizedDataResult normalize(NormalizationRequest request) {
+        return routingService.callHedged(client -> normalize(client, request));
+    }
+
+    private NormalizedDataResult normalize(ChatClient client, NormalizationRequest request) {
         try {
-            NormalizedDataResult result = routingService.getClient(provider)
-                    .prompt()
-                    .user(prompt)
+            NormalizedDataResult result = request(client, request)
                     .call()
                     .entity(NormalizedDataResult.class);
 
@@ -50,4 +112,209 @@ public class LlmDataNormalizationService {
                     "LLM normalization failed: " + e.getMessage(), e);
         }
     }
+
+    private ChatClient.ChatClientRequestSpec request(ChatClient client, NormalizationRequest request) {
+        return client.prompt().user(prompt.render(request.rawDate(), request.rawAddress()).text());
+    }
+
+    // ---------------------------------------------------------------
+    //  Non-blocking variants
+    // ---------------------------------------------------------------
+
+    /** Raw answer text as the model streams it. */
+    public Flux<String> normalizeStream(LlmProvider provider, NormalizationRequest request) {
+        return request(routingService.getClient(provider), request).stream().content();
+    }
+
+    /** Streams and parses incrementally; generation is cancelled once the object is complete or invalid. */
+    public Mono<NormalizedDataResult> normalizeReactive(LlmProvider provider, NormalizationRequest request) {
+        return async.parse(normalizeStream(provider, request), StreamSchemas.NORMALIZED_DATA,
+                "LLM normalization failed");
+    }
+
+    public CompletableFuture<NormalizedDataResult> normalizeAsync(LlmProvider provider, NormalizationRequest request,
+                                                                  Duration deadline) {
+        return async.toFuture(normalizeReactive(provider, request), deadline);
+    }
+
+    /** Routed and hedged like {@link #normalize(NormalizationRequest)}, without blocking the caller. */
+    public CompletableFuture<NormalizedDataResult> normalizeAsync(NormalizationRequest request, Duration deadline) {
+        return async.runBlocking(() -> normalize(request), deadline);
+    }
+
+    // ---------------------------------------------------------------
+    //  Batched mode
+    // ---------------------------------------------------------------
+
+    public List<BatchItemResult<NormalizedDataResult>> normalizeBatch(LlmProvider provider,
+                                                                      List<NormalizationRequest> requests) {
+        LlmTarget target = routingService.targetFor(provider);
+        ChatClient client = routingService.getClient(target);
+        return normalizeBatch(requests, chunk -> chunk.apply(target, client), request -> normalize(client, request));
+    }
+
+    /**
+     * Packs requests into as few prompts as the context window and observed latency allow, asking for a JSON
+     * array per chunk. Each element is validated on its own; only elements that are missing or invalid are
+     * retried as single routed calls. Results are returned in input order.
+     * <p>
+     * Chunks are sized for the target the call actually lands on, so a fallback to a model with a smaller
+     * context window repacks the chunk instead of overflowing it.
+     */
+    public List<BatchItemResult<NormalizedDataResult>> normalizeBatch(List<NormalizationRequest> requests) {
+        return normalizeBatch(requests, chunk -> routingService.callRouted(chunk, Integer.MAX_VALUE), this::normalize);
+    }
+
+    private List<BatchItemResult<NormalizedDataResult>> normalizeBatch(
+            List<NormalizationRequest> requests,
+            Function<BiFunction<LlmTarget, ChatClient, BatchChunk>, BatchChunk> batchCall,
+            Function<NormalizationRequest, NormalizedDataResult> singleCall) {
+
+        List<BatchItemResult<NormalizedDataResult>> results = new ArrayList<>(requests.size());
+        int offset = 0;
+        while (offset < requests.size()) {
+            int from = offset;
+            int[] attempted = {1};
+            BatchChunk chunk = null;
+            NormalizedDataResult[] accepted = null;
+
+            try {
+                chunk = batchCall.apply((target, client) -> {
+                    AdaptiveBatchSizer sizer = sizer(target);
+                    List<String> lines = nextChunk(requests, from, sizer.size(), contextWindow(target));
+                    attempted[0] = lines.size();
+                    long start = System.nanoTime();
+                    try {
+                        String text = batchPrompt.render(lines.size(), String.join("\n", lines)).text();
+                        return new BatchChunk(sizer, lines.size(), start, client.prompt().user(text).call().content());
+                    } catch (RuntimeException e) {
+                        sizer.onBatchFailed();
+                        throw e;
+                    }
+                });
+                accepted = new NormalizedDataResult[chunk.size()];
+                int failed = acceptElements(chunk.content(), accepted);
+                chunk.sizer().onBatchCompleted(chunk.size(), System.nanoTime() - chunk.startNanos(), failed);
+            } catch (Exception e) {
+                // Call failures were already reported to the sizer of each target tried.
+                if (chunk != null) chunk.sizer().onBatchFailed();
+                if (accepted == null) accepted = new NormalizedDataResult[attempted[0]];
+                log.warn("Normalization batch of {} failed, retrying items individually: {}",
+                        accepted.length, e.getMessage());
+            }
+
+            for (int i = 0; i < accepted.length; i++) {
+                int index = offset + i;
+                if (accepted[i] != null) {
+                    results.add(BatchItemResult.success(index, accepted[i], 1));
+                    continue;
+                }
+                try {
+                    results.add(BatchItemResult.success(index, singleCall.apply(requests.get(index)), 2));
+                } catch (Exception e) {
+                    results.add(BatchItemResult.failure(index, e.getMessage(), 2));
+                }
+            }
+            offset += accepted.length;
+        }
+        return results;
+    }
+
+    /**
+     * Serializes up to {@code maxItems} requests starting at {@code offset}, stopping early when the estimated
+     * prompt plus answer would overflow {@code contextWindow}. Always takes at least one item.
+     */
+    private List<String> nextChunk(List<NormalizationRequest> requests, int offset, int maxItems, int contextWindow) {
+        int budget = contextWindow - batchPrompt.literalTokens();
+        List<String> lines = new ArrayList<>(Math.min(maxItems, requests.size() - offset));
+        for (int i = offset; i < requests.size() && lines.size() < maxItems; i++) {
+            NormalizationRequest request = requests.get(i);
+            String line = objectMapper.createObjectNode()
+                    .put("index", lines.size())
+                    .put("rawDate", request.rawDate())
+                    .put("rawAddress", request.rawAddress())
+                    .toString();
+            budget -= TokenEstimator.estimate(line) + outputTokensPerItem;
+            if (budget < 0 && !lines.isEmpty()) break;
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    /** Fills {@code accepted} with every valid element and returns how many slots are still empty. */
+    private int acceptElements(String content, NormalizedDataResult[] accepted) throws JsonProcessingException {
+        JsonNode array = extractArray(content);
+        int position = 0;
+        for (JsonNode node : array) {
+            int index = node.hasNonNull("index") ? node.get("index").asInt(-1) : position;
+            position++;
+            if (index < 0 || index >= accepted.length || accepted[index] != null) continue;
+
+            NormalizedDataResult result = new NormalizedDataResult(
+                    textOrNull(node, "normalizedDate"), textOrNull(node, "normalizedAddress"));
+            try {
+                validator.validate(result);
+                accepted[index] = result;
+            } catch (LlmResponseValidationException e) {
+                log.debug("Batch element {} rejected: {}", index, e.getMessage());
+            }
+        }
+        int missing = 0;
+        for (NormalizedDataResult r : accepted) {
+            if (r == null) missing++;
+        }
+        return missing;
+    }
+
+    /** Accepts a bare array, a fenced array, or an object wrapping a single array field. */
+    private JsonNode extractArray(String content) throws JsonProcessingException {
+        if (content == null || content.isBlank()) {
+            throw new SchemaValidationException("Empty batch response");
+        }
+        int start = content.indexOf('[');
+        int end = content.lastIndexOf(']');
+        int brace = content.indexOf('{');
+        if (start >= 0 && end > start && (brace < 0 || start < brace)) {
+            JsonNode node = objectMapper.readTree(content.substring(start, end + 1));
+            if (node.isArray()) return node;
+        }
+        int braceEnd = content.lastIndexOf('}');
+        if (brace >= 0 && braceEnd > brace) {
+            JsonNode node = objectMapper.readTree(content.substring(brace, braceEnd + 1));
+            for (Iterator<JsonNode> it = node.elements(); it.hasNext(); ) {
+                JsonNode child = it.next();
+                if (child.isArray()) return child;
+            }
+        }
+        throw new SchemaValidationException("Batch response is not a JSON array");
+    }
+
+    private static String textOrNull(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value != null && value.isTextual() ? value.asText() : null;
+    }
+
+    private AdaptiveBatchSizer sizer(LlmTarget target) {
+        return sizers.computeIfAbsent(target, k -> new AdaptiveBatchSizer(
+                initialBatchSize, 1, maxBatchSize, targetBatchNanos));
+    }
+
+    private int contextWindow(LlmTarget target) {
+        return contextWindows.getOrDefault(target, contextWindowTokens);
+    }
+
+    /** Parses {@code provider/model=tokens} pairs, comma separated. */
+    private static Map<LlmTarget, Integer> parseContextWindows(String raw) {
+        Map<LlmTarget, Integer> windows = new HashMap<>();
+        for (String entry : Arrays.stream(raw.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList()) {
+            int eq = entry.lastIndexOf('=');
+            if (eq <= 0 || eq == entry.length() - 1) {
+                throw new IllegalArgumentException("Expected provider/model=tokens but got: " + entry);
+            }
+            windows.put(LlmTarget.parse(entry.substring(0, eq)), Integer.parseInt(entry.substring(eq + 1).trim()));
+        }
+        return Map.copyOf(windows);
+    }
+
+    private record BatchChunk(AdaptiveBatchSizer sizer, int size, long startNanos, String content) {}
 }
@@ -2,39 +2,60 @@ package com.aipaper.service.scenario.llm;
 
 import com.aipaper.dto.UserProfileResult;
 import com.aipaper.exception.SchemaValidationException;
-import com.aipaper.repository.UserProfileRepository;
+import com.aipaper.parsing.StreamSchemas;
+import com.aipaper.prompt.PromptIds;
+import com.aipaper.prompt.PromptRegistry;
+import com.aipaper.prompt.PromptTemplate;
 import com.aipaper.service.LlmProvider;
 import com.aipaper.service.LlmRoutingService;
-import com.aipaper.tools.UserProfileQueryTool;
+import com.aipaper.tools.LlmTools;
 import com.aipaper.validation.LlmResponseValidator;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class LlmDataRetrievalService {
 
     private final LlmRoutingService routingService;
-    private final UserProfileRepository userProfileRepository;
+    private final LlmTools tools;
     private final LlmResponseValidator validator;
+    private final PromptTemplate prompt;
+    private final LlmAsyncSupport async;
 
     public LlmDataRetrievalService(LlmRoutingService routingService,
-                                   UserProfileRepository userProfileRepository,
-                                   LlmResponseValidator validator) {
+                                   LlmTools tools,
+                                   LlmResponseValidator validator,
+                                   PromptRegistry prompts,
+                                   LlmAsyncSupport async,
+                                   @Value("${llm.prompt.retrieval-variant:v1}") String variant) {
         this.routingService = routingService;
-        this.userProfileRepository = userProfileRepository;
+        this.tools = tools;
         this.validator = validator;
+        this.prompt = prompts.get(PromptIds.RETRIEVAL, variant);
+        this.async = async;
     }
 
     public UserProfileResult fetchUserByEmail(LlmProvider provider, String email) {
-        String prompt = String.format(
-                "Look up the user profile for email address: %s. " +
-                "Use the findUserByEmail tool to query the database, then return the result as JSON " +
-                "with exactly these fields: email, firstName, lastName, phone, address.", email);
+        return fetchUserByEmail(routingService.getClient(provider), email);
+    }
+
+    /**
+     * Routes to the fastest healthy target; lookups are read-only so failed attempts fall back freely
+     * and slow ones may be hedged.
+     */
+    public UserProfileResult fetchUserByEmail(String email) {
+        return routingService.callHedged(client -> fetchUserByEmail(client, email));
+    }
 
+    private UserProfileResult fetchUserByEmail(ChatClient client, String email) {
         try {
-            UserProfileResult result = routingService.getClient(provider)
-                    .prompt()
-                    .user(prompt)
-                    .tools(new UserProfileQueryTool(userProfileRepository))
+            UserProfileResult result = request(client, email)
                     .call()
                     .entity(UserProfileResult.class);
 
@@ -48,4 +69,35 @@ public class LlmDataRetrievalService {
                     "LLM data retrieval failed for email " + email + ": " + e.getMessage(), e);
         }
     }
+
+    private ChatClient.ChatClientRequestSpec request(ChatClient client, String email) {
+        return client.prompt()
+                .user(prompt.render(email).text())
+                .tools(tools.profileQuery());
+    }
+
+    // ---------------------------------------------------------------
+    //  Non-blocking variants
+    // ---------------------------------------------------------------
+
+    /** Raw answer text as the model streams it. */
+    public Flux<String> fetchUserByEmailStream(LlmProvider provider, String email) {
+        return request(routingService.getClient(provider), email).stream().content();
+    }
+
+    /** Streams and parses incrementally; generation is cancelled once the object is complete or invalid. */
+    public Mono<UserProfileResult> fetchUserByEmailReactive(LlmProvider provider, String email) {
+        return async.parse(fetchUserByEmailStream(provider, email), StreamSchemas.USER_PROFILE,
+                "LLM data retrieval failed for email " + email);
+    }
+
+    public CompletableFuture<UserProfileResult> fetchUserByEmailAsync(LlmProvider provider, String email,
+                                                                      Duration deadline) {
+        return async.toFuture(fetchUserByEmailReactive(provider, email), deadline);
+    }
+
+    /** Routed and hedged like {@link #fetchUserByEmail(String)}, without blocking the caller. */
+    public CompletableFuture<UserProfileResult> fetchUserByEmailAsync(String email, Duration deadline) {
+        return async.runBlocking(() -> fetchUserByEmail(email), deadline);
+    }
 }
@@ -0,0 +1,51 @@
+package com.aipaper.service.scenario.llm;
+
+import com.aipaper.dto.NormalizationRequest;
+import com.aipaper.dto.ProfileNormalizationResult;
+import com.aipaper.service.LlmProvider;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Composes the async scenario calls: looks a user up while normalizing an address and date in parallel,
+ * so the total latency is the slower of the two rather than their sum.
+ */
+@Service
+public class LlmProfileNormalizationService {
+
+    private final LlmDataRetrievalService retrieval;
+    private final LlmDataNormalizationService normalization;
+
+    public LlmProfileNormalizationService(LlmDataRetrievalService retrieval,
+                                          LlmDataNormalizationService normalization) {
+        this.retrieval = retrieval;
+        this.normalization = normalization;
+    }
+
+    /** Both calls share the deadline; if either fails, or the result is cancelled, the other is cancelled too. */
+    public CompletableFuture<ProfileNormalizationResult> fetchAndNormalize(String email, NormalizationRequest request,
+                                                                           Duration deadline) {
+        var profile = retrieval.fetchUserByEmailAsync(email, deadline);
+        var normalized = normalization.normalizeAsync(request, deadline);
+        CompletableFuture<ProfileNormalizationResult> combined =
+                profile.thenCombine(normalized, ProfileNormalizationResult::new);
+        combined.whenComplete((result, error) -> {
+            if (error != null) {
+                profile.cancel(true);
+                normalized.cancel(true);
+            }
+        });
+        return combined;
+    }
+
+    /** Non-blocking on a pinned provider; {@code Mono.zip} cancels the other stream when one fails. */
+    public Mono<ProfileNormalizationResult> fetchAndNormalizeReactive(LlmProvider provider, String email,
+                                                                      NormalizationRequest request) {
+        return Mono.zip(retrieval.fetchUserByEmailReactive(provider, email),
+                        normalization.normalizeReactive(provider, request))
+                .map(t -> new ProfileNormalizationResult(t.getT1(), t.getT2()));
+    }
+}
@@ -4,7 +4,11 @@ import com.aipaper.dto.MeetingBookingRequest;
 import com.aipaper.dto.MeetingBookingResult;
 import com.aipaper.entity.Meeting;
 import com.aipaper.repository.MeetingRepository;
+import com.aipaper.repository.backend.DataAccessBackend;
+import com.aipaper.repository.backend.DataAccessBackends;
+import com.aipaper.service.booking.MeetingConflictIndex;
 import com.aipaper.service.scenario.CommandExecutionService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,14 +27,123 @@ public class TraditionalCommandExecutionService implements CommandExecutionServi
             Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
 
     private final MeetingRepository meetingRepository;
-
-    public TraditionalCommandExecutionService(MeetingRepository meetingRepository) {
+    private final MeetingConflictIndex conflicts;
+    private final DataAccessBackends backends;
+    private final int batchSize;
+
+    public TraditionalCommandExecutionService(MeetingRepository meetingRepository,
+                                              MeetingConflictIndex conflicts,
+                                              DataAccessBackends backends,
+                                              @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
         this.meetingRepository = meetingRepository;
+        this.conflicts = conflicts;
+        this.backends = backends;
+        this.batchSize = Math.max(1, batchSize);
     }
 
+    /** Inserts through the backend selected by {@code traditional.data-access}. */
     @Override
     @Transactional
     public MeetingBookingResult bookMeeting(MeetingBookingRequest request) {
+        return bookMeeting(backends.defaultBackend(), request);
+    }
+
+    @Transactional
+    public MeetingBookingResult bookMeeting(DataAccessBackend backend, MeetingBookingRequest request) {
+        ParsedBooking parsed = parse(request);
+        if (!parsed.errors().isEmpty()) {
+            return new MeetingBookingResult(false, null, String.join("; ", parsed.errors()));
+        }
+
+        Meeting meeting = toEntity(request, parsed);
+        MeetingConflictIndex.Reservation reservation = conflicts.reserve(meeting);
+        if (reservation.hasConflicts()) {
+            return new MeetingBookingResult(false, null, reservation.describeConflicts());
+        }
+        long id = backend.insertMeeting(meeting);
+        reservation.bind(id);
+        return new MeetingBookingResult(true, id, "Meeting booked successfully");
+    }
+
+    /**
+     * Validates every request and inserts the valid ones in JDBC batches of
+     * {@code hibernate.jdbc.batch_size}, flushing and clearing the persistence context per batch.
+     * Results are in input order; invalid or conflicting items (including conflicts with earlier
+     * items of the same list) carry their errors and are not inserted.
+     * All inserts share one transaction, so a database error rolls back the whole import.
+     */
+    @Transactional
+    public List<MeetingBookingResult> bookMeetings(List<MeetingBookingRequest> requests) {
+        MeetingBookingResult[] results = new MeetingBookingResult[requests.size()];
+        List<Meeting> pending = new ArrayList<>(Math.min(batchSize, requests.size()));
+        List<Integer> pendingIndexes = new ArrayList<>(Math.min(batchSize, requests.size()));
+        List<MeetingConflictIndex.Reservation> pendingReservations = new ArrayList<>(Math.min(batchSize, requests.size()));
+
+        for (int i = 0; i < requests.size(); i++) {
+            MeetingBookingRequest request = requests.get(i);
+            ParsedBooking parsed = request == null
+                    ? new ParsedBooking(null, null, null, List.of("Request is empty"))
+                    : parse(request);
+            if (!parsed.errors().isEmpty()) {
+                results[i] = new MeetingBookingResult(false, null, String.join("; ", parsed.errors()));
+                continue;
+            }
+            Meeting meeting = toEntity(request, parsed);
+            MeetingConflictIndex.Reservation reservation = conflicts.reserve(meeting);
+            if (reservation.hasConflicts()) {
+                results[i] = new MeetingBookingResult(false, null, reservation.describeConflicts());
+                continue;
+            }
+            pending.add(meeting);
+            pendingReservations.add(reservation);
+            pendingIndexes.add(i);
+            if (pending.size() == batchSize) {
+                flushBatch(pending, pendingReservations, pendingIndexes, results);
+            }
+        }
+        if (!pending.isEmpty()) {
+            flushBatch(pending, pendingReservations, pendingIndexes, results);
+        }
+        return List.of(results);
+    }
+
+    private void flushBatch(List<Meeting> pending, List<MeetingConflictIndex.Reservation> reservations,
+                            List<Integer> indexes, MeetingBookingResult[] results) {
+        List<Meeting> saved = meetingRepository.saveAll(pending);
+        for (int j = 0; j < saved.size(); j++) {
+            reservations.get(j).bind(saved.get(j).getId());
+        }
+        meetingRepository.flushAndClear();
+        for (int j = 0; j < saved.size(); j++) {
+            results[indexes.get(j)] = new MeetingBookingResult(true, saved.get(j).getId(), "Meeting booked successfully");
+        }
+        pending.clear();
+        reservations.clear();
+        indexes.clear();
+    }
+
+    private static Meeting toEntity(MeetingBookingRequest request, ParsedBooking parsed) {
+        return new Meeting(
+                request.title(),
+                request.organizerEmail(),
+                String.join(",", request.participants()),
+                parsed.date(),
+                parsed.startTime(),
+                parsed.endTime(),
+                request.location());
+    }
+
+    /**
+     * Runs the deterministic parameter checks without touching the database.
+     * Returns an empty list when the request is well-formed.
+     */
+    public List<String> validate(MeetingBookingRequest request) {
+        return parse(request).errors();
+    }
+
+    private record ParsedBooking(LocalDate date, LocalTime startTime, LocalTime endTime, List<String> errors) {}
+
+    private ParsedBooking parse(MeetingBookingRequest request) {
         List<String> errors = new ArrayList<>();
 
         if (request.title() == null || request.title().isBlank()) {
@@ -79,21 +192,6 @@ public class TraditionalCommandExecutionService implements CommandExecutionServi
             errors.add("End time must be after start time");
         }
 
-        if (!errors.isEmpty()) {
-            return new MeetingBookingResult(false, null, String.join("; ", errors));
-        }
-
-        String participantsCsv = String.join(",", request.participants());
-        Meeting meeting = new Meeting(
-                request.title(),
-                request.organizerEmail(),
-                participantsCsv,
-                meetingDate,
-                startTime,
-                endTime,
-                request.location());
-
-        Meeting saved = meetingRepository.save(meeting);
-        return new MeetingBookingResult(true, saved.getId(), "Meeting booked successfully");
+        return new ParsedBooking(meetingDate, startTime, endTime, errors);
     }
 }
@@ -90,7 +90,11 @@ public class TraditionalDataNormalizationService implements DataNormalizationSer
         return new NormalizedDataResult(normalizedDate, normalizedAddress);
     }
 
-    private String normalizeDate(String raw) {
+    /**
+     * Coerces any of the supported date spellings to {@code yyyy-MM-dd}.
+     * Throws {@link IllegalArgumentException} when none matches.
+     */
+    public String normalizeDate(String raw) {
         if (raw == null || raw.isBlank()) {
             throw new IllegalArgumentException("Date input is empty");
         }
@@ -1,30 +1,29 @@
 package com.aipaper.service.scenario.traditional;
 
 import com.aipaper.dto.UserProfileResult;
-import com.aipaper.entity.UserProfile;
-import com.aipaper.repository.UserProfileRepository;
+import com.aipaper.exception.UserNotFoundException;
+import com.aipaper.repository.backend.DataAccessBackend;
+import com.aipaper.repository.backend.DataAccessBackends;
 import com.aipaper.service.scenario.DataRetrievalService;
 import org.springframework.stereotype.Service;
 
 @Service
 public class TraditionalDataRetrievalService implements DataRetrievalService {
 
-    private final UserProfileRepository repository;
+    private final DataAccessBackends backends;
 
-    public TraditionalDataRetrievalService(UserProfileRepository repository) {
-        this.repository = repository;
+    public TraditionalDataRetrievalService(DataAccessBackends backends) {
+        this.backends = backends;
     }
 
+    /** Reads through the backend selected by {@code traditional.data-access}. */
     @Override
     public UserProfileResult fetchUserByEmail(String email) {
-        UserProfile user = repository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException("User not found: " + email));
+        return fetchUserByEmail(backends.defaultBackend(), email);
+    }
 
-        return new UserProfileResult(
-                user.getEmail(),
-                user.getFirstName(),
-                user.getLastName(),
-                user.getPhone(),
-                user.getAddress());
+    public UserProfileResult fetchUserByEmail(DataAccessBackend backend, String email) {
+        return backend.findProfile(email)
+                .orElseThrow(() -> new UserNotFoundException(email));
     }
 }
@@ -0,0 +1,55 @@
+package com.aipaper.tools;
+
+import com.aipaper.repository.MeetingRepository;
+import com.aipaper.repository.UserProfileRepository;
+import com.aipaper.repository.reactive.ReactiveMeetingRepository;
+import com.aipaper.repository.reactive.ReactiveUserProfileRepository;
+import com.aipaper.service.booking.MeetingConflictIndex;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * The tool objects handed to the model, backed by JPA or R2DBC according to
+ * {@code llm.tools.persistence}. Tools are stateless, so one instance of each is shared. The
+ * R2DBC repositories are only resolved when selected; the {@code inmemory} profile has none.
+ */
+@Component
+public class LlmTools {
+
+    public enum Persistence { JPA, R2DBC }
+
+    private final Persistence persistence;
+    private final Object profileQuery;
+    private final Object meetingBooking;
+
+    public LlmTools(UserProfileRepository profiles,
+                    MeetingRepository meetings,
+                    ObjectProvider<ReactiveUserProfileRepository> reactiveProfiles,
+                    ObjectProvider<ReactiveMeetingRepository> reactiveMeetings,
+                    MeetingConflictIndex conflicts,
+                    @Value("${llm.tools.persistence:jpa}") String persistence) {
+        this.persistence = Persistence.valueOf(persistence.trim().toUpperCase(Locale.ROOT));
+        if (this.persistence == Persistence.R2DBC) {
+            this.profileQuery = new ReactiveUserProfileQueryTool(reactiveProfiles.getObject());
+            this.meetingBooking = new ReactiveMeetingBookingTool(reactiveMeetings.getObject(), conflicts);
+        } else {
+            this.profileQuery = new UserProfileQueryTool(profiles);
+            this.meetingBooking = new MeetingBookingTool(meetings, conflicts);
+        }
+    }
+
+    public Persistence persistence() {
+        return persistence;
+    }
+
+    public Object profileQuery() {
+        return profileQuery;
+    }
+
+    public Object meetingBooking() {
+        return meetingBooking;
+    }
+}
@@ -1,7 +1,9 @@
 package com.aipaper.tools;
 
 import com.aipaper.entity.Meeting;
+import com.aipaper.jfr.ToolInvocationEvent;
 import com.aipaper.repository.MeetingRepository;
+import com.aipaper.service.booking.MeetingConflictIndex;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
 
@@ -12,10 +14,16 @@ import java.time.format.DateTimeParseException;
 
 public class MeetingBookingTool {
 
+    static final String BOOK_MEETING = "bookMeeting";
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+
     private final MeetingRepository repository;
+    private final MeetingConflictIndex conflicts;
 
-    public MeetingBookingTool(MeetingRepository repository) {
+    public MeetingBookingTool(MeetingRepository repository, MeetingConflictIndex conflicts) {
         this.repository = repository;
+        this.conflicts = conflicts;
     }
 
     @Tool(description = "Book a new meeting by inserting it into the database. " +
@@ -30,28 +38,54 @@ public class MeetingBookingTool {
             @ToolParam(description = "End time in HH:mm format") String endTime,
             @ToolParam(description = "Meeting location or room name") String location) {
 
+        ToolInvocationEvent event = ToolInvocationEvent.start(BOOK_MEETING, LlmTools.Persistence.JPA.name());
+        MeetingConflictIndex.Reservation reservation = null;
         try {
-            LocalDate meetingDate = LocalDate.parse(date, DateTimeFormatter.ISO_LOCAL_DATE);
-            LocalTime start = LocalTime.parse(startTime, DateTimeFormatter.ofPattern("HH:mm"));
-            LocalTime end = LocalTime.parse(endTime, DateTimeFormatter.ofPattern("HH:mm"));
-
-            if (!end.isAfter(start)) {
-                return "{\"success\":false,\"meetingId\":null,\"message\":\"End time must be after start time\"}";
+            Meeting meeting = toMeeting(title, organizerEmail, participants, date, startTime, endTime, location);
+            if (meeting == null) {
+                return failure("End time must be after start time");
             }
-
-            Meeting meeting = new Meeting(title, organizerEmail, participants, meetingDate, start, end, location);
+            reservation = conflicts.reserve(meeting);
+            if (reservation.hasConflicts()) {
+                return failure(reservation.describeConflicts());
+            }
+            long dbStart = System.nanoTime();
             Meeting saved = repository.save(meeting);
+            event.addDbTime(System.nanoTime() - dbStart);
+            reservation.bind(saved.getId());
 
-            return String.format(
-                    "{\"success\":true,\"meetingId\":%d,\"message\":\"Meeting booked successfully\"}",
-                    saved.getId());
+            event.succeeded();
+            return booked(saved.getId());
 
         } catch (DateTimeParseException e) {
-            return "{\"success\":false,\"meetingId\":null,\"message\":\"Invalid date/time format: " +
-                    e.getMessage().replace("\"", "'") + "\"}";
+            return failure("Invalid date/time format: " + e.getMessage());
         } catch (Exception e) {
-            return "{\"success\":false,\"meetingId\":null,\"message\":\"Booking failed: " +
-                    e.getMessage().replace("\"", "'") + "\"}";
+            if (reservation != null) reservation.release();
+            return failure("Booking failed: " + e.getMessage());
+        } finally {
+            event.finish();
+        }
+    }
+
+    /** Parses the tool arguments; {@code null} when the end time is not after the start time. */
+    static Meeting toMeeting(String title, String organizerEmail, String participants,
+                             String date, String startTime, String endTime, String location) {
+        LocalDate meetingDate = LocalDate.parse(date, DateTimeFormatter.ISO_LOCAL_DATE);
+        LocalTime start = LocalTime.parse(startTime, TIME_FORMAT);
+        LocalTime end = LocalTime.parse(endTime, TIME_FORMAT);
+        if (!end.isAfter(start)) {
+            return null;
         }
+        return new Meeting(title, organizerEmail, participants, meetingDate, start, end, location);
+    }
+
+    static String booked(long meetingId) {
+        return String.format(
+                "{\"success\":true,\"meetingId\":%d,\"message\":\"Meeting booked successfully\"}", meetingId);
+    }
+
+    static String failure(String message) {
+        return "{\"success\":false,\"meetingId\":null,\"message\":\"" +
+                String.valueOf(message).replace("\"", "'") + "\"}";
     }
 }
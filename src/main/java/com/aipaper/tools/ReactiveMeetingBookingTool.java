@@ -0,0 +1,82 @@
+package com.aipaper.tools;
+
+import com.aipaper.entity.Meeting;
+import com.aipaper.jfr.ToolInvocationEvent;
+import com.aipaper.repository.reactive.ReactiveMeetingRepository;
+import com.aipaper.service.booking.MeetingConflictIndex;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
+import reactor.core.publisher.Mono;
+
+import java.time.format.DateTimeParseException;
+
+/**
+ * {@link MeetingBookingTool} over R2DBC, with the same conflict checks and JSON replies.
+ * As in {@link ReactiveUserProfileQueryTool}, only the {@code @Tool} adapter blocks.
+ */
+public class ReactiveMeetingBookingTool {
+
+    private final ReactiveMeetingRepository repository;
+    private final MeetingConflictIndex conflicts;
+
+    public ReactiveMeetingBookingTool(ReactiveMeetingRepository repository, MeetingConflictIndex conflicts) {
+        this.repository = repository;
+        this.conflicts = conflicts;
+    }
+
+    @Tool(description = "Book a new meeting by inserting it into the database. " +
+            "All parameters must be validated before calling. " +
+            "Returns a JSON object with success status and the meeting ID.")
+    public String bookMeeting(
+            @ToolParam(description = "Meeting title") String title,
+            @ToolParam(description = "Organizer's email address") String organizerEmail,
+            @ToolParam(description = "Comma-separated list of participant email addresses") String participants,
+            @ToolParam(description = "Meeting date in yyyy-MM-dd format") String date,
+            @ToolParam(description = "Start time in HH:mm format") String startTime,
+            @ToolParam(description = "End time in HH:mm format") String endTime,
+            @ToolParam(description = "Meeting location or room name") String location) {
+        ToolInvocationEvent event = ToolInvocationEvent.start(
+                MeetingBookingTool.BOOK_MEETING, LlmTools.Persistence.R2DBC.name());
+        try {
+            return book(title, organizerEmail, participants, date, startTime, endTime, location, event).block();
+        } finally {
+            event.finish();
+        }
+    }
+
+    public Mono<String> book(String title, String organizerEmail, String participants,
+                             String date, String startTime, String endTime, String location) {
+        return book(title, organizerEmail, participants, date, startTime, endTime, location, null);
+    }
+
+    /**
+     * {@code event}, when given, gets the insert's DB time and is marked on a successful booking.
+     * Like the blocking tool, any failure (a missing date included) becomes a JSON reply rather than an error.
+     */
+    private Mono<String> book(String title, String organizerEmail, String participants,
+                              String date, String startTime, String endTime, String location,
+                              ToolInvocationEvent event) {
+        return Mono.defer(() -> {
+            Meeting meeting = MeetingBookingTool.toMeeting(title, organizerEmail, participants, date, startTime,
+                    endTime, location);
+            if (meeting == null) {
+                return Mono.just(MeetingBookingTool.failure("End time must be after start time"));
+            }
+
+            MeetingConflictIndex.Reservation reservation = conflicts.reserve(meeting);
+            if (reservation.hasConflicts()) {
+                return Mono.just(MeetingBookingTool.failure(reservation.describeConflicts()));
+            }
+            Mono<Long> insert = repository.insert(meeting);
+            if (event != null) {
+                insert = event.timeDb(insert).doOnNext(id -> event.succeeded());
+            }
+            return insert
+                    .doOnNext(reservation::bind)
+                    .map(MeetingBookingTool::booked)
+                    .doOnError(e -> reservation.release());
+        }).onErrorResume(e -> Mono.just(e instanceof DateTimeParseException
+                ? MeetingBookingTool.failure("Invalid date/time format: " + e.getMessage())
+                : MeetingBookingTool.failure("Booking failed: " + e.getMessage())));
+    }
+}
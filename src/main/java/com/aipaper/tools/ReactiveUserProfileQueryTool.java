@@ -0,0 +1,47 @@
+package com.aipaper.tools;
+
+import com.aipaper.dto.UserProfileResult;
+import com.aipaper.jfr.ToolInvocationEvent;
+import com.aipaper.repository.reactive.ReactiveUserProfileRepository;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link UserProfileQueryTool} over R2DBC. {@link #lookup} never blocks; the {@code @Tool} adapter
+ * waits on it because Spring AI invokes tool callbacks synchronously (on a bounded-elastic worker
+ * when the model is streamed), so only that worker is parked while the query runs.
+ */
+public class ReactiveUserProfileQueryTool {
+
+    private final ReactiveUserProfileRepository repository;
+
+    public ReactiveUserProfileQueryTool(ReactiveUserProfileRepository repository) {
+        this.repository = repository;
+    }
+
+    @Tool(description = "Look up a user profile in the database by their email address. " +
+            "Returns the user's email, first name, last name, phone number, and address.")
+    public String findUserByEmail(
+            @ToolParam(description = "The exact email address to search for") String email) {
+        ToolInvocationEvent event = ToolInvocationEvent.start(
+                UserProfileQueryTool.FIND_USER_BY_EMAIL, LlmTools.Persistence.R2DBC.name());
+        try {
+            return reply(email, event.timeDb(repository.findResultByEmail(email))
+                    .doOnNext(u -> event.succeeded())).block();
+        } finally {
+            event.finish();
+        }
+    }
+
+    public Mono<String> lookup(String email) {
+        return reply(email, repository.findResultByEmail(email));
+    }
+
+    private static Mono<String> reply(String email, Mono<UserProfileResult> profile) {
+        return profile
+                .map(u -> UserProfileQueryTool.formatProfile(
+                        u.email(), u.firstName(), u.lastName(), u.phone(), u.address()))
+                .defaultIfEmpty(UserProfileQueryTool.notFound(email));
+    }
+}
@@ -1,12 +1,17 @@
 package com.aipaper.tools;
 
 import com.aipaper.entity.UserProfile;
+import com.aipaper.jfr.ToolInvocationEvent;
 import com.aipaper.repository.UserProfileRepository;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
 
+import java.util.Optional;
+
 public class UserProfileQueryTool {
 
+    static final String FIND_USER_BY_EMAIL = "findUserByEmail";
+
     private final UserProfileRepository repository;
 
     public UserProfileQueryTool(UserProfileRepository repository) {
@@ -17,16 +22,29 @@ public class UserProfileQueryTool {
             "Returns the user's email, first name, last name, phone number, and address.")
     public String findUserByEmail(
             @ToolParam(description = "The exact email address to search for") String email) {
-        return repository.findByEmail(email)
-                .map(this::formatProfile)
-                .orElse("{\"error\": \"User not found for email: " + email + "\"}");
+        ToolInvocationEvent event = ToolInvocationEvent.start(FIND_USER_BY_EMAIL, LlmTools.Persistence.JPA.name());
+        try {
+            long dbStart = System.nanoTime();
+            Optional<UserProfile> profile = repository.findByEmail(email);
+            event.addDbTime(System.nanoTime() - dbStart);
+            if (profile.isPresent()) event.succeeded();
+            return profile
+                    .map(u -> formatProfile(u.getEmail(), u.getFirstName(), u.getLastName(), u.getPhone(), u.getAddress()))
+                    .orElse(notFound(email));
+        } finally {
+            event.finish();
+        }
     }
 
-    private String formatProfile(UserProfile u) {
+    static String formatProfile(String email, String firstName, String lastName, String phone, String address) {
         return String.format(
                 "{\"email\":\"%s\",\"firstName\":\"%s\",\"lastName\":\"%s\",\"phone\":\"%s\",\"address\":\"%s\"}",
-                u.getEmail(), u.getFirstName(), u.getLastName(),
-                u.getPhone() != null ? u.getPhone() : "",
-                u.getAddress() != null ? u.getAddress() : "");
+                email, firstName, lastName,
+                phone != null ? phone : "",
+                address != null ? address : "");
+    }
+
+    static String notFound(String email) {
+        return "{\"error\": \"User not found for email: " + email + "\"}";
     }
 }
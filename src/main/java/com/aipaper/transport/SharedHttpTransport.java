@@ -0,0 +1,152 @@
+package com.aipaper.transport;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.reactive.JdkClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One pooled JDK {@link HttpClient} per origin (scheme, host, port), shared by every
+ * RestClient/WebClient that talks to that origin: the Spring AI provider APIs and the
+ * health probes. Connections are kept alive between calls, so repeated requests to
+ * Gemini/Groq skip the TCP and TLS handshake. HTTPS origins negotiate HTTP/2 via ALPN
+ * and multiplex concurrent calls over one connection; plain-HTTP origins (local Ollama)
+ * use HTTP/1.1 to avoid an h2c upgrade round trip.
+ *
+ * <p>Meters per origin: {@code llm.http.in_flight} (requests awaiting a response) and
+ * {@code llm.http.requests} (time to response headers, by status). The JDK pool does not
+ * expose connection counts, so in-flight requests are the pool pressure signal.
+ */
+@Component
+public class SharedHttpTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(SharedHttpTransport.class);
+
+    private static final String KEEP_ALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
+
+    private final ConcurrentMap<String, HttpClient> clients = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final Duration connectTimeout;
+    private final MeterRegistry meterRegistry;
+
+    public SharedHttpTransport(@Value("${llm.transport.connect-timeout-seconds:5}") long connectTimeoutSeconds,
+                               MeterRegistry meterRegistry) {
+        this.connectTimeout = Duration.ofSeconds(connectTimeoutSeconds);
+        this.meterRegistry = meterRegistry;
+        // The JDK pool reads this once, possibly before any bean exists, so it can only be set at launch.
+        String keepAlive = System.getProperty(KEEP_ALIVE_PROPERTY);
+        if (keepAlive != null) {
+            log.info("HTTP keep-alive timeout: {}s (-D{})", keepAlive, KEEP_ALIVE_PROPERTY);
+        } else {
+            log.info("HTTP keep-alive timeout: JDK default; launch with -D{}=<seconds> to change it",
+                    KEEP_ALIVE_PROPERTY);
+        }
+        Gauge.builder("llm.http.clients", clients, ConcurrentMap::size).register(meterRegistry);
+    }
+
+    /** The shared client for the origin of {@code baseUrl}. */
+    public HttpClient httpClient(String baseUrl) {
+        return clients.computeIfAbsent(origin(baseUrl), this::createClient);
+    }
+
+    public RestClient.Builder restClientBuilder(String baseUrl, Duration readTimeout) {
+        String origin = origin(baseUrl);
+        var requestFactory = new JdkClientHttpRequestFactory(httpClient(baseUrl));
+        requestFactory.setReadTimeout(readTimeout);
+        return RestClient.builder()
+                .requestFactory(requestFactory)
+                .requestInterceptor(metricsInterceptor(origin));
+    }
+
+    public WebClient.Builder webClientBuilder(String baseUrl, Duration readTimeout) {
+        String origin = origin(baseUrl);
+        var connector = new JdkClientHttpConnector(httpClient(baseUrl));
+        connector.setReadTimeout(readTimeout);
+        return WebClient.builder()
+                .clientConnector(connector)
+                .filter(metricsFilter(origin));
+    }
+
+    private HttpClient createClient(String origin) {
+        HttpClient.Version version = origin.startsWith("https:")
+                ? HttpClient.Version.HTTP_2
+                : HttpClient.Version.HTTP_1_1;
+        log.info("Creating pooled HTTP client for {} ({})", origin, version);
+        Gauge.builder("llm.http.in_flight", counter(origin), AtomicInteger::get)
+                .tag("origin", origin)
+                .register(meterRegistry);
+        return HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    private ClientHttpRequestInterceptor metricsInterceptor(String origin) {
+        AtomicInteger active = counter(origin);
+        return (request, body, execution) -> {
+            long start = System.nanoTime();
+            active.incrementAndGet();
+            String status = "IO_ERROR";
+            try {
+                var response = execution.execute(request, body);
+                status = Integer.toString(response.getStatusCode().value());
+                return response;
+            } finally {
+                active.decrementAndGet();
+                requestTimer(origin, status).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    private ExchangeFilterFunction metricsFilter(String origin) {
+        AtomicInteger active = counter(origin);
+        return (request, next) -> {
+            long start = System.nanoTime();
+            active.incrementAndGet();
+            return next.exchange(request)
+                    .doOnNext(response -> requestTimer(origin, Integer.toString(response.statusCode().value()))
+                            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .doOnError(e -> requestTimer(origin, "IO_ERROR")
+                            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .doFinally(signal -> active.decrementAndGet());
+        };
+    }
+
+    private Timer requestTimer(String origin, String status) {
+        return Timer.builder("llm.http.requests")
+                .tag("origin", origin)
+                .tag("status", status)
+                .register(meterRegistry);
+    }
+
+    private AtomicInteger counter(String origin) {
+        return inFlight.computeIfAbsent(origin, o -> new AtomicInteger());
+    }
+
+    static String origin(String baseUrl) {
+        URI uri = URI.create(baseUrl);
+        int port = uri.getPort();
+        if (port < 0) {
+            port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        }
+        return uri.getScheme().toLowerCase() + "://" + uri.getHost() + ":" + port;
+    }
+}
@@ -0,0 +1,155 @@
+package com.aipaper.validation;
+
+import com.aipaper.exception.ParameterMismatchException;
+import com.aipaper.exception.SchemaValidationException;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Validator compiled once per record type from its component annotations:
+ * {@code @JsonProperty(required = true)}, {@link Format} and {@link RequiredWhen}.
+ * Components are read through {@link MethodHandle}s and every check runs; violations are only
+ * allocated once something fails, so a valid object costs no allocation.
+ * Missing required fields raise {@link SchemaValidationException}; otherwise format and conditional
+ * violations raise {@link ParameterMismatchException}. Either way the message lists every violation.
+ */
+public final class CompiledValidator<T> {
+
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private enum Rule { REQUIRED, FORMAT, REQUIRED_WHEN }
+
+    private record Check(Rule rule, String field, MethodHandle accessor, Format.Kind format,
+                         MethodHandle conditionAccessor, String conditionProperty, String conditionValue) {}
+
+    private final Class<T> type;
+    private final Check[] checks;
+
+    private CompiledValidator(Class<T> type, Check[] checks) {
+        this.type = type;
+        this.checks = checks;
+    }
+
+    public static <T> CompiledValidator<T> compile(Class<T> type) {
+        if (!type.isRecord()) {
+            throw new IllegalArgumentException(type.getName() + " is not a record");
+        }
+        RecordComponent[] components = type.getRecordComponents();
+        List<Check> checks = new ArrayList<>();
+        for (RecordComponent c : components) {
+            String field = jsonName(c);
+            MethodHandle accessor = accessor(c);
+
+            JsonProperty property = jsonProperty(c);
+            if (property != null && property.required() && !c.getType().isPrimitive()) {
+                checks.add(new Check(Rule.REQUIRED, field, accessor, null, null, null, null));
+            }
+            Format format = c.getAnnotation(Format.class);
+            if (format != null) {
+                checks.add(new Check(Rule.FORMAT, field, accessor, format.value(), null, null, null));
+            }
+            RequiredWhen when = c.getAnnotation(RequiredWhen.class);
+            if (when != null) {
+                RecordComponent condition = find(components, when.property(), type);
+                checks.add(new Check(Rule.REQUIRED_WHEN, field, accessor, null,
+                        accessor(condition), when.property(), when.equalTo()));
+            }
+        }
+        return new CompiledValidator<>(type, checks.toArray(Check[]::new));
+    }
+
+    public Class<T> type() {
+        return type;
+    }
+
+    public void validate(T value) {
+        if (value == null) {
+            throw new SchemaValidationException("LLM returned null " + type.getSimpleName());
+        }
+        List<String> violations = null;
+        boolean missingRequired = false;
+        for (Check check : checks) {
+            Object fieldValue = read(check.accessor(), value);
+            switch (check.rule()) {
+                case REQUIRED -> {
+                    if (isAbsent(fieldValue)) {
+                        violations = add(violations, "Missing or blank required field: " + check.field());
+                        missingRequired = true;
+                    }
+                }
+                case FORMAT -> {
+                    if (fieldValue instanceof CharSequence s && !s.isEmpty()
+                            && !FormatScanners.matches(check.format(), s)) {
+                        violations = add(violations, check.field() + " is not a valid "
+                                + check.format().name().toLowerCase(Locale.ROOT).replace('_', '-') + ": " + s);
+                    }
+                }
+                case REQUIRED_WHEN -> {
+                    Object condition = read(check.conditionAccessor(), value);
+                    if (condition != null && check.conditionValue().equals(String.valueOf(condition))
+                            && isAbsent(fieldValue)) {
+                        violations = add(violations, check.field() + " is required when "
+                                + check.conditionProperty() + " is " + check.conditionValue());
+                    }
+                }
+            }
+        }
+        if (violations == null) return;
+
+        String message = type.getSimpleName() + ": " + String.join("; ", violations);
+        if (missingRequired) throw new SchemaValidationException(message);
+        throw new ParameterMismatchException(message);
+    }
+
+    private static boolean isAbsent(Object value) {
+        return value == null || (value instanceof String s && s.isBlank());
+    }
+
+    private static List<String> add(List<String> violations, String message) {
+        List<String> list = violations != null ? violations : new ArrayList<>(2);
+        list.add(message);
+        return list;
+    }
+
+    private static Object read(MethodHandle accessor, Object target) {
+        try {
+            return (Object) accessor.invokeExact(target);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /** {@code @JsonProperty} does not target record components; it propagates to the accessor instead. */
+    private static JsonProperty jsonProperty(RecordComponent c) {
+        return c.getAccessor().getAnnotation(JsonProperty.class);
+    }
+
+    private static String jsonName(RecordComponent c) {
+        JsonProperty property = jsonProperty(c);
+        return property != null && !property.value().isEmpty() ? property.value() : c.getName();
+    }
+
+    private static RecordComponent find(RecordComponent[] components, String name, Class<?> type) {
+        for (RecordComponent c : components) {
+            if (c.getName().equals(name) || jsonName(c).equals(name)) return c;
+        }
+        throw new IllegalArgumentException("@RequiredWhen refers to unknown property " + name + " on " + type.getName());
+    }
+
+    private static MethodHandle accessor(RecordComponent c) {
+        try {
+            return MethodHandles.publicLookup().unreflect(c.getAccessor()).asType(ACCESSOR_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Record component " + c.getName() + " is not accessible", e);
+        }
+    }
+}
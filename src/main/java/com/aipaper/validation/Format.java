@@ -0,0 +1,23 @@
+package com.aipaper.validation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Format constraint on a string record component, checked when the value is present.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.RECORD_COMPONENT, ElementType.FIELD})
+public @interface Format {
+
+    Kind value();
+
+    enum Kind {
+        /** Same language as {@code ^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\.[A-Za-z]{2,}$}. */
+        EMAIL,
+        /** {@code yyyy-MM-dd} naming a real calendar day. */
+        ISO_DATE
+    }
+}
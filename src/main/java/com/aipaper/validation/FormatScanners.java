@@ -0,0 +1,76 @@
+package com.aipaper.validation;
+
+/**
+ * Single-pass, allocation-free replacements for the validator's regex and {@code LocalDate.parse} checks.
+ */
+public final class FormatScanners {
+
+    private FormatScanners() {}
+
+    public static boolean matches(Format.Kind kind, CharSequence s) {
+        return switch (kind) {
+            case EMAIL -> isEmail(s);
+            case ISO_DATE -> isIsoDate(s);
+        };
+    }
+
+    public static boolean isEmail(CharSequence s) {
+        int n = s.length();
+        int at = -1;
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c == '@') {
+                if (at >= 0) return false;
+                at = i;
+            } else if (!isAsciiAlnum(c) && c != '.' && c != '-' && (at >= 0 || (c != '+' && c != '_'))) {
+                return false;
+            }
+        }
+        if (at <= 0) return false;
+        // The TLD after the last dot must be 2+ letters with at least one domain character before the dot.
+        int dot = -1;
+        for (int i = n - 1; i > at; i--) {
+            if (s.charAt(i) == '.') { dot = i; break; }
+        }
+        if (dot <= at + 1 || n - dot - 1 < 2) return false;
+        for (int i = dot + 1; i < n; i++) {
+            if (!isAsciiLetter(s.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    public static boolean isIsoDate(CharSequence s) {
+        if (s.length() != 10 || s.charAt(4) != '-' || s.charAt(7) != '-') return false;
+        int year = digits(s, 0, 4);
+        int month = digits(s, 5, 7);
+        int day = digits(s, 8, 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1) return false;
+        return day <= daysInMonth(year, month);
+    }
+
+    private static int digits(CharSequence s, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static boolean isAsciiAlnum(char c) {
+        return isAsciiLetter(c) || (c >= '0' && c <= '9');
+    }
+}
@@ -3,80 +3,61 @@ package com.aipaper.validation;
 import com.aipaper.dto.MeetingBookingResult;
 import com.aipaper.dto.NormalizedDataResult;
 import com.aipaper.dto.UserProfileResult;
-import com.aipaper.exception.ParameterMismatchException;
 import com.aipaper.exception.SchemaValidationException;
+import com.aipaper.jfr.ResponseValidationEvent;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.util.regex.Pattern;
-
+/**
+ * Validates LLM responses against their DTO annotations. Any record can be validated; its
+ * {@link CompiledValidator} is built on first use and cached per class. Every check is recorded
+ * as a {@link ResponseValidationEvent}.
+ */
 @Component
 public class LlmResponseValidator {
 
-    private static final Pattern EMAIL_PATTERN =
-            Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
-
-    private static final Pattern ISO_DATE_PATTERN =
-            Pattern.compile("^\\d{4}-\\d{2}-\\d{2}$");
-
-    public void validate(UserProfileResult result) {
-        if (result == null) {
-            throw new SchemaValidationException("LLM returned null UserProfileResult");
+    private static final ClassValue<CompiledValidator<?>> VALIDATORS = new ClassValue<>() {
+        @Override
+        protected CompiledValidator<?> computeValue(Class<?> type) {
+            return CompiledValidator.compile(type);
         }
-        requireField("email", result.email());
-        requireField("firstName", result.firstName());
-        requireField("lastName", result.lastName());
+    };
 
-        if (!EMAIL_PATTERN.matcher(result.email()).matches()) {
-            throw new ParameterMismatchException(
-                    "Invalid email format in LLM response: " + result.email());
-        }
+    public void validate(UserProfileResult result) {
+        validate(result, UserProfileResult.class);
     }
 
     public void validate(NormalizedDataResult result) {
-        if (result == null) {
-            throw new SchemaValidationException("LLM returned null NormalizedDataResult");
-        }
-        requireField("normalizedDate", result.normalizedDate());
-        requireField("normalizedAddress", result.normalizedAddress());
-
-        if (!ISO_DATE_PATTERN.matcher(result.normalizedDate()).matches()) {
-            throw new ParameterMismatchException(
-                    "normalizedDate is not in ISO-8601 format (yyyy-MM-dd): " + result.normalizedDate());
-        }
+        validate(result, NormalizedDataResult.class);
+    }
 
-        try {
-            LocalDate.parse(result.normalizedDate(), DateTimeFormatter.ISO_LOCAL_DATE);
-        } catch (DateTimeParseException e) {
-            throw new ParameterMismatchException(
-                    "normalizedDate is not a valid date: " + result.normalizedDate(), e);
-        }
+    public void validate(MeetingBookingResult result) {
+        validate(result, MeetingBookingResult.class);
+    }
 
-        if (result.normalizedAddress().isBlank()) {
-            throw new ParameterMismatchException("normalizedAddress is blank");
-        }
+    @SuppressWarnings("unchecked")
+    public <T> void validate(T result, Class<T> type) {
+        check(type, result, (CompiledValidator<T>) VALIDATORS.get(type));
     }
 
-    public void validate(MeetingBookingResult result) {
+    /** Validates by the runtime type, for callers that only hold an {@code Object}. */
+    @SuppressWarnings("unchecked")
+    public void validateAny(Object result) {
         if (result == null) {
-            throw new SchemaValidationException("LLM returned null MeetingBookingResult");
-        }
-        if (result.success() && result.meetingId() == null) {
-            throw new ParameterMismatchException(
-                    "Successful booking must include a non-null meetingId");
-        }
-        if (!result.success() && (result.message() == null || result.message().isBlank())) {
-            throw new ParameterMismatchException(
-                    "Failed booking must include an error message");
+            SchemaValidationException e = new SchemaValidationException("LLM returned null response");
+            ResponseValidationEvent.start(null).finish(e);
+            throw e;
         }
+        check(result.getClass(), result, (CompiledValidator<Object>) VALIDATORS.get(result.getClass()));
     }
 
-    private void requireField(String fieldName, String value) {
-        if (value == null || value.isBlank()) {
-            throw new SchemaValidationException(
-                    "Missing or blank required field: " + fieldName);
+    private static <T> void check(Class<?> type, T result, CompiledValidator<T> validator) {
+        ResponseValidationEvent event = ResponseValidationEvent.start(type);
+        try {
+            validator.validate(result);
+        } catch (RuntimeException e) {
+            event.finish(e);
+            throw e;
         }
+        event.finish(null);
     }
 }
@@ -0,0 +1,19 @@
+package com.aipaper.validation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Makes a record component required (non-null, non-blank for strings) when another component's
+ * value renders as {@link #equalTo()}, e.g. {@code meetingId} when {@code success} is {@code true}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.RECORD_COMPONENT, ElementType.FIELD})
+public @interface RequiredWhen {
+
+    String property();
+
+    String equalTo();
+}